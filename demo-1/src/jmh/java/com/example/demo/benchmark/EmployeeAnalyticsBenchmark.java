@@ -0,0 +1,103 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+import com.example.demo.dto.WorkforceStats;
+import com.example.demo.service.EmployeeColumnStore;
+import com.example.demo.service.EmployeeService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a headcount, salary, age and tenure report per city, computed by a GROUP BY query in
+ * the database and by a scan of the columnar replica. {@code all} aggregates every employee;
+ * {@code filtered} only active employees hired since 2010 earning at least 60000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeAnalyticsBenchmark {
+
+    private static final EmployeeColumnStore.Filter FILTER = new EmployeeColumnStore.Filter("Active", null, null,
+            60000.0, null, LocalDate.of(2010, 1, 1), null, null, null);
+
+    // The same figures as WorkforceStats
+    private static final String SQL = "SELECT location_city, COUNT(*), AVG(salary), MIN(salary), MAX(salary), "
+            + "AVG(DATEDIFF(DAY, date_of_birth, CURRENT_DATE)), AVG(DATEDIFF(DAY, hire_date, CURRENT_DATE)) "
+            + "FROM employees %s GROUP BY location_city ORDER BY location_city";
+
+    private static final String ALL_SQL = SQL.formatted("");
+    private static final String FILTERED_SQL = SQL.formatted(
+            "WHERE status = 'Active' AND salary >= 60000 AND hire_date >= DATE '2010-01-01'");
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(Demo1Application.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, which override application.properties
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--employee.columnar.enabled=true");
+        service = context.getBean(EmployeeService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        EmployeeDatabaseState.seed(jdbcTemplate, rows);
+        context.getBean(EmployeeColumnStore.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> databaseAll() {
+        return jdbcTemplate.queryForList(ALL_SQL);
+    }
+
+    @Benchmark
+    public List<WorkforceStats> columnarAll() {
+        return service.getWorkforceStats("locationCity", EmployeeColumnStore.Filter.NONE).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> databaseFiltered() {
+        return jdbcTemplate.queryForList(FILTERED_SQL);
+    }
+
+    @Benchmark
+    public List<WorkforceStats> columnarFiltered() {
+        return service.getWorkforceStats("locationCity", FILTER).orElseThrow();
+    }
+}
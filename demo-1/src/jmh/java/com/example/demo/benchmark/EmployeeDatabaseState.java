@@ -0,0 +1,90 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+import com.example.demo.model.Employee;
+import com.example.demo.service.EmployeeService;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark state: the application context on an embedded H2 database seeded with {@link #rows} employees.
+ * The seeded employees have the IDs {@code FIRST_ID} to {@code FIRST_ID + rows - 1}.
+ */
+@State(Scope.Benchmark)
+public class EmployeeDatabaseState {
+
+    // Seeded IDs start above the block of IDs already reserved by DatabaseInitializer
+    static final long FIRST_ID = 1_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    ConfigurableApplicationContext context;
+    EmployeeService service;
+
+    // Distinguishes the emails of employees created by the benchmarks
+    private final AtomicLong created = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(Demo1Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        service = context.getBean(EmployeeService.class);
+        seed(context.getBean(JdbcTemplate.class), rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * @return the ID of a random seeded employee
+     */
+    public long randomId() {
+        return FIRST_ID + ThreadLocalRandom.current().nextInt(rows);
+    }
+
+    /**
+     * @return a new, unsaved employee with a unique email
+     */
+    public Employee newEmployee() {
+        long n = created.incrementAndGet();
+        return new Employee("Bench", null, "Created" + n, "City7", "1 Benchmark Street",
+                LocalDate.of(1990, 1, 1), "555-0100", "Title3", LocalDate.of(2020, 1, 1),
+                "created" + n + "@benchmark.example.com", 65000.0, "Active");
+    }
+
+    // Inserts the rows with one INSERT ... SELECT, then moves the ID sequence past them
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, middle_name, last_name, location_city, address, "
+                + "date_of_birth, telephone, position_title, hire_date, email, salary, status, version, last_modified) "
+                + "SELECT ? + X - 1, 'First' || MOD(X, 997), NULL, 'Last' || MOD(X, 4999), 'City' || MOD(X, 50), "
+                + "X || ' Benchmark Street', DATEADD(DAY, MOD(X, 15000), DATE '1960-01-01'), '555-' || X, "
+                + "'Title' || MOD(X, 20), DATEADD(DAY, MOD(X, 7000), DATE '2000-01-01'), "
+                + "'seed' || X || '@benchmark.example.com', 40000 + MOD(X * 7919, 80000), "
+                + "CASE WHEN MOD(X, 10) = 0 THEN 'Inactive' ELSE 'Active' END, 0, CURRENT_TIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, ?)", FIRST_ID, rows);
+        jdbcTemplate.execute("ALTER SEQUENCE employee_sequence RESTART WITH " + (FIRST_ID + rows));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the REST layer over HTTP, comparing thread-per-request on the Tomcat pool
+ * with the virtual-threads profile, and the blocking API (JPA/JDBC) with the reactive one (R2DBC).
+ * More clients run concurrently than the Tomcat pool has threads.
+ * <p>
+ * Run on Java 21 or later: on older runtimes both modes use platform threads.
+ * Throughput and sampled latency (including p99) are reported per mode. The peak number of
+ * live threads and the heap in use after the run are printed per trial; add {@code -prof gc}
+ * for the bytes allocated per request ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djdk.tracePinnedThreads=short"})
+@Threads(400)
+public class EmployeeHttpBenchmark {
+
+    // Pool size used in both modes, so that only the threading model differs
+    private static final String MAX_CONNECTIONS = "20";
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"blocking", "reactive"})
+    public String api;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Demo1Application.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "employee.db.max-connections=" + MAX_CONNECTIONS,
+                        "spring.datasource.hikari.maximum-pool-size=" + MAX_CONNECTIONS,
+                        "employee.reactive.url=r2dbc:pool:h2:mem:///benchmark?maxSize=" + MAX_CONNECTIONS);
+        if (threads.equals("virtual")) {
+            builder.profiles("virtual-threads");
+        }
+        context = builder.run();
+        EmployeeDatabaseState.seed(context.getBean(JdbcTemplate.class), rows);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + (api.equals("reactive") ? "/reactive/employees/" : "/employees/");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        System.out.printf("%n[%s, %s threads] peak live threads: %d, heap used: %d MB%n", api, threads,
+                ManagementFactory.getThreadMXBean().getPeakThreadCount(), heap.getUsed() / (1024 * 1024));
+        context.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int getEmployeeById() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + randomId())).GET());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int getPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "?limit=50&after=" + randomId())).GET());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int updateEmployee() throws IOException, InterruptedException {
+        long id = randomId();
+        String body = "{\"firstName\":\"First" + id + "\",\"lastName\":\"Last" + id + "\","
+                + "\"locationCity\":\"City\",\"address\":\"Street\",\"dateOfBirth\":\"1990-01-01\","
+                + "\"telephone\":\"555-" + ThreadLocalRandom.current().nextInt(10_000) + "\","
+                + "\"positionTitle\":\"Developer\",\"hireDate\":\"2020-01-01\","
+                + "\"email\":\"employee" + id + "@example.com\",\"salary\":60000,\"status\":\"Active\"}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private long randomId() {
+        return EmployeeDatabaseState.FIRST_ID + ThreadLocalRandom.current().nextInt(rows);
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 500) {
+            throw new IllegalStateException("HTTP " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+import com.example.demo.model.Employee;
+import com.example.demo.service.EmployeeService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts per second with employee IDs reserved from the sequence one at a time
+ * ({@code blockSize=1}, one sequence call per insert) or in blocks of 50.
+ * {@code saveAll} inserts {@link #BATCH} employees per call and reports inserts, not calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeIdBlockBenchmark {
+
+    private static final int BATCH = 50;
+
+    @Param({"1", "50"})
+    public int blockSize;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+
+    // Distinguishes the emails of employees created by the benchmark
+    private long created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(Demo1Application.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, which override application.properties
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.jpa.properties.employee.id.block-size=" + blockSize);
+        service = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee createEmployee() {
+        return service.createEmployee(newEmployee());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<Employee> saveAll() {
+        List<Employee> employees = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            employees.add(newEmployee());
+        }
+        return service.saveAll(employees);
+    }
+
+    private Employee newEmployee() {
+        long n = ++created;
+        return new Employee("Bench", null, "Created" + n, "City7", "1 Benchmark Street",
+                LocalDate.of(1990, 1, 1), "555-0100", "Title3", LocalDate.of(2020, 1, 1),
+                "created" + n + "@benchmark.example.com", 65000.0, "Active");
+    }
+}
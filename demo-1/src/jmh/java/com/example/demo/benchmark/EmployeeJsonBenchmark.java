@@ -0,0 +1,84 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing employees to JSON the way the REST endpoints do, for one employee
+ * and for a page of full employees versus a page of three-field projections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    // Page size of the page benchmarks
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private Employee employee;
+    private List<Employee> page;
+    private List<Map<String, Object>> projectedPage;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the mapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new ArrayList<>(PAGE_SIZE);
+        projectedPage = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Employee e = new Employee("First" + i, "M", "Last" + i, "City" + i % 50, i + " Benchmark Street",
+                    LocalDate.of(1990, 1, 1).plusDays(i), "555-" + i, "Title" + i % 20,
+                    LocalDate.of(2020, 1, 1).plusDays(i), "employee" + i + "@benchmark.example.com",
+                    40000.0 + i * 100, "Active");
+            e.setId((long) i + 1);
+            e.setVersion(0L);
+            page.add(e);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", e.getId());
+            row.put("firstName", e.getFirstName());
+            row.put("lastName", e.getLastName());
+            row.put("positionTitle", e.getPositionTitle());
+            projectedPage.add(row);
+        }
+        employee = page.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeProjectedPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projectedPage);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+import com.example.demo.model.Employee;
+import com.example.demo.service.EmployeeService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of lookups by ID from 32 threads with the employee cache disabled, so every lookup is
+ * a cache miss. IDs are drawn from {@link #hotIds} employees: a few popular records, or the whole
+ * table. {@code findById} issues one query per lookup; {@code getEmployeeById} goes through the
+ * coalescing loader with a batch window of {@link #batchWindow}. {@code getEmployeesByIds} and
+ * {@code findByIdEach} read 100 random employees with one multi-get or 100 lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeLookupBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"10", "100000"})
+    public int hotIds;
+
+    @Param({"PT0S", "PT0.002S"})
+    public String batchWindow;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(Demo1Application.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, which override application.properties
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--employee.cache.max-size=0",
+                        "--employee.loader.batch-window=" + batchWindow);
+        service = context.getBean(EmployeeService.class);
+        EmployeeDatabaseState.seed(context.getBean(JdbcTemplate.class), ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Optional<Employee> findById() {
+        return service.findById(randomId(hotIds));
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Employee getEmployeeById() {
+        return service.getEmployeeById(randomId(hotIds));
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByIds() {
+        return service.getEmployeesByIds(randomIds());
+    }
+
+    @Benchmark
+    public List<Employee> findByIdEach() {
+        List<Employee> employees = new ArrayList<>(100);
+        for (Long id : randomIds()) {
+            service.findById(id).ifPresent(employees::add);
+        }
+        return employees;
+    }
+
+    private static long randomId(int bound) {
+        return EmployeeDatabaseState.FIRST_ID + ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private static List<Long> randomIds() {
+        List<Long> ids = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            ids.add(randomId(ROWS));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+import com.example.demo.dto.SalaryAdjustmentRequest;
+import com.example.demo.dto.SalaryAdjustmentRule;
+import com.example.demo.dto.SalaryAdjustmentStatus;
+import com.example.demo.model.Employee;
+import com.example.demo.service.EmployeeSalaryAdjuster;
+import com.example.demo.service.EmployeeService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to give every active employee a 3% raise: one {@code updateEmployee} call per employee, or one
+ * bulk adjustment in ranges of {@link #partitionSize} IDs. 10,000,000 IDs per range is a single
+ * transaction over the whole table. {@code perEmployee} does not depend on the partition size;
+ * run it with {@code -p partitionSize=10000} only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeSalaryAdjustmentBenchmark {
+
+    private static final SalaryAdjustmentRequest RAISE = new SalaryAdjustmentRequest(
+            List.of(new SalaryAdjustmentRule("Active", null, null, 3.0, null)), null, null);
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    @Param({"1000", "10000", "10000000"})
+    public int partitionSize;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+    private EmployeeSalaryAdjuster adjuster;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(Demo1Application.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, which override application.properties
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--employee.salary-adjustment.partition-size=" + partitionSize);
+        service = context.getBean(EmployeeService.class);
+        adjuster = context.getBean(EmployeeSalaryAdjuster.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        EmployeeDatabaseState.seed(jdbcTemplate, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int perEmployee() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM employees WHERE status = 'Active'", Long.class);
+        for (Long id : ids) {
+            Employee employee = service.findById(id).orElseThrow();
+            employee.setSalary(Math.round(employee.getSalary() * 103) / 100.0);
+            service.updateEmployee(id, employee);
+        }
+        return ids.size();
+    }
+
+    @Benchmark
+    public SalaryAdjustmentStatus bulk() {
+        return adjuster.adjust(RAISE, false);
+    }
+}
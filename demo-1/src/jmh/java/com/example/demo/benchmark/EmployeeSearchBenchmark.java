@@ -0,0 +1,91 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+import com.example.demo.service.EmployeeNameIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a top-10 name search against the trigram index and against a {@code LIKE} scan of the
+ * table. The seeded last names are {@code Last0} to {@code Last4998}, so {@code exact} matches about
+ * 200 employees, {@code substring} about 22,000 and {@code prefix} every employee, which is the
+ * worst case for the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeSearchBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeNameIndex index;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(Demo1Application.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, which override application.properties
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        EmployeeDatabaseState.seed(jdbcTemplate, rows);
+        index = context.getBean(EmployeeNameIndex.class);
+        index.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeNameIndex.Hit> indexExact() {
+        return index.search("last4998", LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeNameIndex.Hit> indexSubstring() {
+        return index.search("ast49", LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeNameIndex.Hit> indexPrefix() {
+        return index.search("la", LIMIT);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> databaseSubstring() {
+        return jdbcTemplate.queryForList("SELECT id, first_name, middle_name, last_name FROM employees "
+                + "WHERE LOWER(last_name) LIKE '%ast49%' ORDER BY id LIMIT ?", LIMIT);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.EmployeePage;
+import com.example.demo.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the {@code EmployeeService} hot paths against the embedded H2 database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeServiceBenchmark {
+
+    // Page size of the listing benchmarks
+    private static final int PAGE_SIZE = 100;
+
+    // Fields read by the projected listing
+    private static final List<String> LIST_FIELDS = List.of("firstName", "lastName", "positionTitle");
+
+    @Benchmark
+    public Employee createEmployee(EmployeeDatabaseState state) {
+        return state.service.createEmployee(state.newEmployee());
+    }
+
+    /**
+     * Read through the cache: mostly hits at 10k rows, mostly misses at 1M rows.
+     */
+    @Benchmark
+    public Employee getEmployeeById(EmployeeDatabaseState state) {
+        return state.service.getEmployeeById(state.randomId());
+    }
+
+    /**
+     * Same lookup straight from the repository, for comparison with the cached path.
+     */
+    @Benchmark
+    public Optional<Employee> findById(EmployeeDatabaseState state) {
+        return state.service.findById(state.randomId());
+    }
+
+    @Benchmark
+    public Employee updateEmployee(EmployeeDatabaseState state) {
+        Employee changes = state.newEmployee();
+        return state.service.updateEmployee(state.randomId(), changes);
+    }
+
+    /**
+     * Offset pagination at a random page, including its count query.
+     */
+    @Benchmark
+    public Page<Employee> findAllPageable(EmployeeDatabaseState state) {
+        int page = ThreadLocalRandom.current().nextInt(state.rows / PAGE_SIZE);
+        return state.service.findAll(PageRequest.of(page, PAGE_SIZE));
+    }
+
+    /**
+     * Keyset pagination of full entities from a random cursor.
+     */
+    @Benchmark
+    public EmployeePage<Employee> findPage(EmployeeDatabaseState state) {
+        return state.service.findPage(state.randomId(), PAGE_SIZE);
+    }
+
+    /**
+     * Keyset pagination reading only three fields, without managed entities.
+     */
+    @Benchmark
+    public EmployeePage<Map<String, Object>> findPageProjected(EmployeeDatabaseState state) {
+        return state.service.findPage(state.randomId(), PAGE_SIZE, LIST_FIELDS);
+    }
+}
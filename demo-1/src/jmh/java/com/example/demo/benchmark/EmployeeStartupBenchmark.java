@@ -0,0 +1,105 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from launch until the application is ready, with {@link #rows} employees.
+ * <p>
+ * {@code memory} is the default in-memory database, which has to be seeded on every start.
+ * {@code file} is the file profile on a database file seeded once before the trial: each start
+ * only opens the file and validates the schema, so its time should not grow with {@link #rows}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeStartupBenchmark {
+
+    @Param({"memory", "file"})
+    public String storage;
+
+    @Param({"0", "100000", "1000000"})
+    public int rows;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        directory = Files.createTempDirectory("employee-startup-");
+        if (storage.equals("file")) {
+            // Creates the schema and seeds the file; later starts find the employees and skip seeding
+            start().close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext startApplication() {
+        context = start();
+        return context;
+    }
+
+    private ConfigurableApplicationContext start() {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "employee.seed.mode=synthetic",
+                "employee.seed.rows=" + rows,
+                "employee.db.directory=" + directory.toAbsolutePath()));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Demo1Application.class);
+        if (storage.equals("file")) {
+            builder.profiles("file");
+        } else {
+            // A new database per start, like a restart of the process
+            properties.add("spring.datasource.url=jdbc:h2:mem:startup" + System.nanoTime() + ";DB_CLOSE_ON_EXIT=FALSE");
+        }
+        return builder.run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Demo1Application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the REST layer with the default settings, the prod profile, and the prod profile
+ * with one setting changed: {@code prod-show-sql} and {@code prod-open-in-view} turn one of its
+ * settings back to the default, the others add a setting it leaves out. Each {@code prod-*} result
+ * next to {@code prod} shows what that one setting is worth; {@code default} shows all of prod together.
+ * <p>
+ * With {@code show-sql} on, statements are printed to a discarded stream, so the cost of formatting
+ * and writing them is measured without flooding the benchmark output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(64)
+public class EmployeeTuningBenchmark {
+
+    // Employees per import request, inserted in JDBC batches
+    private static final int IMPORT_SIZE = 100;
+
+    // Two connections per core plus one, since H2 runs on the same cores as the requests
+    private static final int FIXED_POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors() + 1;
+
+    @Param({"default", "prod", "prod-show-sql", "prod-open-in-view", "prod-fixed-pool", "prod-statement-cache",
+            "prod-fetch-size"})
+    public String settings;
+
+    @Param({"100000"})
+    public int rows;
+
+    private final AtomicLong imported = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        stdout = System.out;
+        System.setOut(new PrintStream(new FileOutputStream("/dev/null"), false));
+
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+                        + "${employee.db.url-options:}",
+                "employee.reactive.url=r2dbc:h2:mem:///benchmark"));
+        switch (settings) {
+            case "prod-show-sql" -> properties.add("spring.jpa.show-sql=true");
+            case "prod-open-in-view" -> properties.add("spring.jpa.open-in-view=true");
+            case "prod-fixed-pool" -> properties.addAll(List.of(
+                    "spring.datasource.hikari.maximum-pool-size=" + FIXED_POOL_SIZE,
+                    "spring.datasource.hikari.minimum-idle=" + FIXED_POOL_SIZE));
+            case "prod-statement-cache" -> properties.add("employee.db.url-options=;QUERY_CACHE_SIZE=256");
+            case "prod-fetch-size" -> properties.addAll(List.of(
+                    "spring.jpa.properties.hibernate.jdbc.fetch_size=500", "spring.jdbc.template.fetch-size=500"));
+            default -> {
+            }
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Demo1Application.class);
+        if (settings.startsWith("prod")) {
+            builder.profiles("prod");
+        }
+        // Passed as command-line arguments so that they override the profile's properties
+        context = builder.run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+        EmployeeDatabaseState.seed(context.getBean(JdbcTemplate.class), rows);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/employees/";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int getEmployeeById() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + randomId())).GET());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int getPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "?limit=50&after=" + randomId())).GET());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int patchEmployee() throws IOException, InterruptedException {
+        String body = "{\"telephone\":\"555-" + ThreadLocalRandom.current().nextInt(10_000) + "\"}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + randomId()))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int importEmployees() throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < IMPORT_SIZE; i++) {
+            long n = imported.incrementAndGet();
+            body.append("{\"firstName\":\"First").append(n).append("\",\"lastName\":\"Last").append(n)
+                    .append("\",\"locationCity\":\"City\",\"address\":\"Street\",\"dateOfBirth\":\"1990-01-01\",")
+                    .append("\"telephone\":\"555\",\"positionTitle\":\"Developer\",\"hireDate\":\"2020-01-01\",")
+                    .append("\"email\":\"imported").append(n).append("@example.com\",\"salary\":60000,")
+                    .append("\"status\":\"Active\"}\n");
+        }
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())));
+    }
+
+    private long randomId() {
+        return EmployeeDatabaseState.FIRST_ID + ThreadLocalRandom.current().nextInt(rows);
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 500) {
+            throw new IllegalStateException("HTTP " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Creates a missing schema in a database whose schema is otherwise only validated.
+ * <p>
+ * With {@code employee.db.create-missing-schema} and {@code spring.jpa.hibernate.ddl-auto=validate},
+ * a database without an "employees" table (the first start on a new database file) gets its schema
+ * created by Hibernate. Every later start only validates it, so existing data is never dropped.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Bean
+    public HibernatePropertiesCustomizer missingSchemaCreator(
+            DataSource dataSource,
+            @Value("${employee.db.create-missing-schema:false}") boolean createMissingSchema) {
+        return properties -> {
+            if (createMissingSchema && "validate".equals(properties.get("hibernate.hbm2ddl.auto"))
+                    && !hasEmployeesTable(dataSource)) {
+                log.info("No employees table found, creating the schema");
+                // Creates what is missing and never drops anything
+                properties.put("hibernate.hbm2ddl.auto", "update");
+            }
+        };
+    }
+
+    private static boolean hasEmployeesTable(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, null, "EMPLOYEES", new String[] {"TABLE"})) {
+            return tables.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the database schema", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Metrics that Spring Boot does not record by itself: SQL statements and written rows,
+ * overall and per request, and the slow-query log. Endpoint and service timers, and the
+ * connection pool metrics, are configured in application.properties.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Bean
+    public SqlStatementMetrics sqlStatementMetrics(MeterRegistry registry) {
+        return new SqlStatementMetrics(registry);
+    }
+
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${employee.sql.slow-threshold:PT1S}") Duration threshold,
+                                     @Value("${employee.sql.sample-rate:0}") double sampleRate) {
+        return new SlowQueryLog(threshold, sampleRate);
+    }
+
+    /**
+     * Wraps the data source so that every statement is reported to {@link SqlStatementMetrics}
+     * and {@link SlowQueryLog}. The proxy unwraps to the pool, so the pool metrics still bind to it.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementMetricsDataSourceWrapper(ObjectProvider<SqlStatementMetrics> metrics,
+                                                                         ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(metrics.getObject())
+                            .listener(slowQueryLog.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new SqlStatementsPerRequestInterceptor(registry.getObject()));
+    }
+}
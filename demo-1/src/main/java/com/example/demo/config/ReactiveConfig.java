@@ -0,0 +1,57 @@
+package com.example.demo.config;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access for the reactive API.
+ * The connection factory is kept private to this configuration rather than exposed as a bean:
+ * Spring Boot skips the JDBC DataSource (and with it JPA) when a ConnectionFactory bean exists.
+ * For the same reason its transaction manager is only reachable through {@link #reactiveTransactionalOperator()},
+ * so that {@code @Transactional} keeps using the JPA one.
+ */
+@Configuration
+public class ReactiveConfig implements DisposableBean {
+
+    // Pooled when the URL uses the r2dbc:pool: driver
+    private final ConnectionFactory connectionFactory;
+
+    public ReactiveConfig(@Value("${employee.reactive.url}") String url,
+                          @Value("${employee.reactive.username:sa}") String username,
+                          @Value("${employee.reactive.password:}") String password) {
+        this.connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Runs reactive writes in R2DBC transactions; statements of the {@link #databaseClient()} take part in them.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Closeable closeable) {
+            Mono.from(closeable.close()).block();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs SQL statements that take longer than a threshold, and a random sample of the others,
+ * in place of {@code spring.jpa.show-sql}, which prints every statement.
+ * <p>
+ * Slow statements are logged at WARN, sampled ones at INFO, each with its elapsed time.
+ * A statement that is neither slow nor sampled costs one comparison and, with a non-zero
+ * sample rate, one random number.
+ */
+public class SlowQueryLog implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    // Longer statements are cut in the log, e.g. chunked IN lists
+    private static final int MAX_LOGGED_LENGTH = 1000;
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    /**
+     * @param threshold  statements at least this long are always logged
+     * @param sampleRate the fraction of faster statements that are logged, from 0 (none) to 1 (all)
+     */
+    public SlowQueryLog(Duration threshold, double sampleRate) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed >= thresholdMillis) {
+            if (log.isWarnEnabled()) {
+                log.warn("Slow statement ({} ms{}): {}", elapsed, batchInfo(execInfo), sql(queryInfoList));
+            }
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+            log.info("Sampled statement ({} ms{}): {}", elapsed, batchInfo(execInfo), sql(queryInfoList));
+        }
+    }
+
+    private static String batchInfo(ExecutionInfo execInfo) {
+        return execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "";
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        return sql.length() > MAX_LOGGED_LENGTH ? sql.substring(0, MAX_LOGGED_LENGTH) + "..." : sql;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements executed through the application's data source, and the rows they wrote.
+ * <p>
+ * Statements are also counted per thread, so that {@link SqlStatementsPerRequestInterceptor}
+ * can tell how many statements one request executed. Recording costs a few counter increments
+ * per statement.
+ */
+public class SqlStatementMetrics implements QueryExecutionListener {
+
+    // Statement kinds used as the "statement" tag
+    private static final List<String> KINDS = List.of("select", "insert", "update", "delete", "merge", "other");
+
+    // Statements executed by each thread since it started; only ever grows
+    private static final ThreadLocal<long[]> THREAD_STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Counter[] statements = new Counter[KINDS.size()];
+    private final Counter[] rowsWritten = new Counter[KINDS.size()];
+
+    public SqlStatementMetrics(MeterRegistry registry) {
+        for (int i = 0; i < KINDS.size(); i++) {
+            statements[i] = Counter.builder("db.statements")
+                    .description("SQL statements executed, batched statements counted individually")
+                    .tag("statement", KINDS.get(i))
+                    .register(registry);
+            rowsWritten[i] = Counter.builder("db.rows.written")
+                    .description("Rows inserted, updated or deleted")
+                    .tag("statement", KINDS.get(i))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @return the number of statements the current thread has executed so far
+     */
+    public static long currentThreadStatements() {
+        return THREAD_STATEMENTS.get()[0];
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        int kind = kindOf(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery());
+        int count = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), 1) : queryInfoList.size();
+        statements[kind].increment(count);
+        THREAD_STATEMENTS.get()[0] += count;
+
+        Object result = execInfo.getResult();
+        long written = 0;
+        if (result instanceof Integer rows) {
+            written = rows;
+        } else if (result instanceof Long rows) {
+            written = rows;
+        } else if (result instanceof int[] batch) {
+            for (int rows : batch) {
+                written += Math.max(rows, 0);
+            }
+        }
+        if (written > 0) {
+            rowsWritten[kind].increment(written);
+        }
+    }
+
+    // Classifies a statement by its first keyword
+    private static int kindOf(String sql) {
+        int start = 0;
+        while (start < sql.length() && !Character.isLetter(sql.charAt(start))) {
+            start++;
+        }
+        int end = Math.min(start + 6, sql.length());
+        String keyword = sql.substring(start, end).toLowerCase(Locale.ROOT);
+        int kind = KINDS.indexOf(keyword);
+        return kind >= 0 ? kind : KINDS.size() - 1;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how many SQL statements each request executed, tagged like {@code http.server.requests}
+ * with the HTTP method and URI pattern. A request that runs more statements than expected
+ * (N+1 selects, a read before every update) shows up as a higher count for its endpoint.
+ * <p>
+ * Only statements executed on the request thread are counted; rows streamed to the client
+ * asynchronously after the handler returned are not.
+ */
+public class SqlStatementsPerRequestInterceptor implements HandlerInterceptor {
+
+    // Request attribute holding the thread's statement count when the request started
+    private static final String START_ATTRIBUTE = SqlStatementsPerRequestInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry registry;
+
+    // Summaries by method and URI pattern, so a request does not rebuild and look up its meter
+    private final ConcurrentMap<Key, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public SqlStatementsPerRequestInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, SqlStatementMetrics.currentThreadStatements());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startCount)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Key key = new Key(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN");
+        summaries.computeIfAbsent(key, this::summary)
+                .record(SqlStatementMetrics.currentThreadStatements() - startCount);
+    }
+
+    private DistributionSummary summary(Key key) {
+        return DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("method", key.method())
+                .tag("uri", key.uri())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private record Key(String method, String uri) {
+    }
+}
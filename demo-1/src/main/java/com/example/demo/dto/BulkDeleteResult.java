@@ -0,0 +1,10 @@
+package com.example.demo.dto;
+
+/**
+ * Outcome of a bulk delete by ID list.
+ *
+ * @param requested the number of distinct IDs requested
+ * @param deleted   the number of employees actually deleted
+ */
+public record BulkDeleteResult(int requested, int deleted) {
+}
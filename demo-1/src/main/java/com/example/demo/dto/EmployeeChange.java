@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/**
+ * One entry of the employee change stream.
+ *
+ * @param offset     the position of the change in the stream; offsets increase but may have gaps
+ * @param type       CREATED, UPDATED, PATCHED, DELETED, or RESET when consumers must re-read all employees
+ * @param employeeId the ID of the employee changed (null for RESET)
+ * @param data       the employee after a CREATED or UPDATED change, or the changed fields of a PATCHED change
+ * @param timestamp  when the change was recorded
+ */
+public record EmployeeChange(long offset, String type, Long employeeId, @JsonRawValue String data,
+                             Instant timestamp) {
+}
@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * A batch of changes read from the employee change stream.
+ *
+ * @param changes    the changes, in offset order
+ * @param nextOffset the offset to pass as `after` to read the following changes
+ */
+public record EmployeeChangeBatch(List<EmployeeChange> changes, long nextOffset) {
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Employee;
+import com.example.demo.model.EmployeeTombstone;
+
+import java.util.List;
+
+/**
+ * The employees inserted, updated or deleted since a watermark, for pull-based incremental sync.
+ *
+ * @param modified  the employees inserted or updated, in (lastModified, id) order
+ * @param deleted   the deletions, in (deletedAt, employeeId) order
+ * @param watermark the value to pass as `since` to fetch the following changes
+ * @param hasMore   true if more changes follow the watermark already
+ */
+public record EmployeeChanges(List<Employee> modified, List<EmployeeTombstone> deleted, String watermark,
+                              boolean hasMore) {
+}
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * A page of results from a keyset (cursor) paginated listing.
+ *
+ * @param items      the items in this page, ordered by ID
+ * @param nextCursor the value to pass as `after` to fetch the next page, or null if this is the last page
+ * @param <T>        the item type
+ */
+public record EmployeePage<T>(List<T> items, Long nextCursor) {
+}
@@ -0,0 +1,24 @@
+package com.example.demo.dto;
+
+/**
+ * Progress of an employee creation accepted in write-behind mode.
+ *
+ * @param trackingId the ID returned when the write was accepted
+ * @param state      whether the write is still queued, committed or failed
+ * @param employeeId the ID of the created employee once committed, otherwise null
+ * @param error      a description of the failure if the write failed, otherwise null
+ */
+public record EmployeeWriteStatus(String trackingId, State state, Long employeeId, String error) {
+
+    /**
+     * States of a queued write.
+     */
+    public enum State {
+        // Waiting in the queue or being flushed
+        QUEUED,
+        // Inserted and committed
+        COMMITTED,
+        // Rejected by the database; the employee was not created
+        FAILED
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+/**
+ * Outcome of a bulk employee export.
+ *
+ * @param file          the name of the file written, or null when the export was streamed
+ * @param rowsExported  the number of employees exported
+ * @param bytesWritten  the number of (compressed) bytes written
+ * @param elapsedMillis the wall-clock duration of the export
+ * @param rowsPerSecond the export throughput
+ */
+public record ExportReport(String file, long rowsExported, long bytesWritten, long elapsedMillis,
+                           double rowsPerSecond) {
+}
@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk employee import.
+ *
+ * @param rowsRead        the number of data rows read from the input
+ * @param rowsImported    the number of employees written to the database
+ * @param rowsRejected    the number of rows that failed parsing, validation or insertion
+ * @param errors          the per-row errors, capped at the configured maximum
+ * @param errorsTruncated true if more errors occurred than are listed
+ * @param elapsedMillis   the wall-clock duration of the import
+ * @param rowsPerSecond   the import throughput
+ */
+public record ImportReport(long rowsRead, long rowsImported, long rowsRejected, List<RowError> errors,
+                           boolean errorsTruncated, long elapsedMillis, double rowsPerSecond) {
+
+    /**
+     * An error attached to one input row.
+     *
+     * @param line    the line number in the input (1-based, the CSV header is line 1)
+     * @param message a description of the problem
+     */
+    public record RowError(long line, String message) {
+    }
+}
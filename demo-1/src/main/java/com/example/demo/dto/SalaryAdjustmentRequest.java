@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * A bulk salary adjustment. Each employee gets the first rule it matches, if any.
+ *
+ * @param rules  the rules, in order of precedence
+ * @param fromId if not null, only employees with this ID or above are adjusted
+ * @param toId   if not null, only employees with this ID or below are adjusted
+ */
+public record SalaryAdjustmentRequest(List<SalaryAdjustmentRule> rules, Long fromId, Long toId) {
+}
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+/**
+ * A salary adjustment applied to the employees matching all of its conditions.
+ * Null conditions match any value; exactly one of {@code percent} and {@code amount} is set.
+ * For example, {@code {"status": "Active", "positionTitle": "Developer", "locationCity": "Chicago", "percent": 3}}
+ * raises every active developer in Chicago by 3%.
+ *
+ * @param status        only employees with this status
+ * @param locationCity  only employees in this city
+ * @param positionTitle only employees with this position title
+ * @param percent       the change in percent of the current salary (e.g. 3 or -1.5), rounded to cents
+ * @param amount        the fixed amount added to the salary (negative to lower it); salaries do not go below 0
+ */
+public record SalaryAdjustmentRule(String status, String locationCity, String positionTitle, Double percent,
+                                   Double amount) {
+}
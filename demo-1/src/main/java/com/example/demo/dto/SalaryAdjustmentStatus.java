@@ -0,0 +1,58 @@
+package com.example.demo.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a bulk salary adjustment. The totals only count partitions that are done.
+ *
+ * @param jobId         the ID under which the adjustment reports progress
+ * @param dryRun        true if salaries are only projected, not changed
+ * @param state         whether the adjustment is still running, completed or had failed partitions
+ * @param employees     the number of employees adjusted (or that would be adjusted)
+ * @param payrollDelta  the sum of the salary changes
+ * @param rules         the number of employees and salary change per rule, in the order of the request
+ * @param partitions    the progress of each range of IDs, in ID order
+ * @param startedAt     when the adjustment started
+ * @param elapsedMillis the duration of the adjustment once it finished, otherwise null
+ */
+public record SalaryAdjustmentStatus(String jobId, boolean dryRun, State state, long employees, double payrollDelta,
+                                     List<RuleTotal> rules, List<Partition> partitions, Instant startedAt,
+                                     Long elapsedMillis) {
+
+    /**
+     * States of an adjustment and of its partitions.
+     */
+    public enum State {
+        // Not started yet (partitions only)
+        PENDING,
+        // Being adjusted
+        RUNNING,
+        // Adjusted and committed
+        COMPLETED,
+        // Failed after all retries; for an adjustment, at least one partition failed and the others completed
+        FAILED
+    }
+
+    /**
+     * @param employees    the number of employees that matched the rule first
+     * @param payrollDelta the sum of their salary changes
+     */
+    public record RuleTotal(long employees, double payrollDelta) {
+    }
+
+    /**
+     * One range of employee IDs, adjusted in its own transaction.
+     *
+     * @param fromId       the first ID of the range
+     * @param toId         the last ID of the range
+     * @param state        whether the range is waiting, running, committed or failed
+     * @param attempts     the number of times the range was tried
+     * @param employees    the number of employees adjusted in the range, once completed
+     * @param payrollDelta the sum of their salary changes, once completed
+     * @param error        the cause of the last failure, or null
+     */
+    public record Partition(long fromId, long toId, State state, int attempts, long employees, double payrollDelta,
+                            String error) {
+    }
+}
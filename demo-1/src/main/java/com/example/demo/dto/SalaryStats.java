@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+/**
+ * Salary and headcount figures of one group of employees.
+ *
+ * @param group         the value of the grouping field shared by the employees of the group
+ * @param headcount     the number of employees in the group
+ * @param averageSalary the average salary
+ * @param minSalary     the lowest salary
+ * @param maxSalary     the highest salary
+ * @param medianSalary  the median (50th percentile) salary, or null when read from the summary table
+ * @param p90Salary     the 90th percentile salary, or null when read from the summary table
+ */
+public record SalaryStats(String group, Long headcount, Double averageSalary, Double minSalary, Double maxSalary,
+                          Double medianSalary, Double p90Salary) {
+}
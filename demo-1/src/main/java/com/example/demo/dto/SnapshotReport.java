@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+/**
+ * Outcome of taking or restoring a snapshot of the "employees" table.
+ *
+ * @param file          the name of the snapshot file
+ * @param rows          the number of employees written to or restored from the snapshot
+ * @param rowsDeleted   the number of employees deleted because they were not in the snapshot (0 for a snapshot)
+ * @param bytes         the size of the (compressed) snapshot file
+ * @param elapsedMillis the wall-clock duration of the operation
+ */
+public record SnapshotReport(String file, long rows, long rowsDeleted, long bytes, long elapsedMillis) {
+}
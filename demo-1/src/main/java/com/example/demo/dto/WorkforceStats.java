@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+/**
+ * Headcount, salary, age and tenure figures of one group of employees.
+ *
+ * @param group           the value of the grouping field shared by the employees of the group, or null if not grouped
+ * @param headcount       the number of employees in the group
+ * @param averageSalary   the average salary, or null if the group is empty
+ * @param minSalary       the lowest salary, or null if the group is empty
+ * @param maxSalary       the highest salary, or null if the group is empty
+ * @param averageAge      the average age in years, or null if the group is empty
+ * @param averageTenure   the average time since hiring in years, or null if the group is empty
+ */
+public record WorkforceStats(String group, long headcount, Double averageSalary, Double minSalary, Double maxSalary,
+                             Double averageAge, Double averageTenure) {
+}
@@ -1,31 +1,111 @@
 package com.example.demo.initializer;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Locale;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import com.example.demo.model.Employee;
+import com.example.demo.service.EmployeeChangedEvent;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import com.example.demo.repository.EmployeeRepository;
 
+/**
+ * Seeds the database at startup, as selected by {@code employee.seed.mode}:
+ * <ul>
+ *     <li>{@code demo}: two sample employees, saved through the repository</li>
+ *     <li>{@code synthetic}: {@code employee.seed.rows} generated employees, inserted by {@link EmployeeSeeder}</li>
+ *     <li>{@code none}: nothing</li>
+ * </ul>
+ * With {@code employee.seed.skip-if-present}, nothing is seeded if the table already holds employees,
+ * so restarting against a populated database costs one query.
+ */
 @Component
 public class DatabaseInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DatabaseInitializer.class);
+
+    public enum Mode {
+        DEMO, SYNTHETIC, NONE
+    }
+
     private final EmployeeRepository repository;
+    private final EmployeeSeeder seeder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Mode mode;
+    private final long rows;
+    private final int threads;
+    private final int batchSize;
+    private final long randomSeed;
+    private final boolean skipIfPresent;
+    private final Duration progressInterval;
 
-    public DatabaseInitializer(@Qualifier("employeeRepository") EmployeeRepository repository) {
+    public DatabaseInitializer(@Qualifier("employeeRepository") EmployeeRepository repository,
+                               EmployeeSeeder seeder,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${employee.seed.mode:demo}") Mode mode,
+                               @Value("${employee.seed.rows:1000000}") long rows,
+                               @Value("${employee.seed.threads:0}") int threads,
+                               @Value("${employee.seed.batch-size:1000}") int batchSize,
+                               @Value("${employee.seed.random-seed:42}") long randomSeed,
+                               @Value("${employee.seed.skip-if-present:true}") boolean skipIfPresent,
+                               @Value("${employee.seed.progress-interval:PT5S}") Duration progressInterval) {
+        if (rows < 0 || threads < 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("employee.seed.rows and threads must not be negative, "
+                    + "and batch-size must be positive");
+        }
         this.repository = repository;
+        this.seeder = seeder;
+        this.eventPublisher = eventPublisher;
+        this.mode = mode;
+        this.rows = rows;
+        // 0 means one producer per core
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.randomSeed = randomSeed;
+        this.skipIfPresent = skipIfPresent;
+        this.progressInterval = progressInterval;
     }
 
     @Override
     public void run(String... args) throws Exception {
+        if (mode == Mode.NONE) {
+            return;
+        }
+        if (skipIfPresent && seeder.hasEmployees()) {
+            log.info("Employees already present, skipping {} seeding", mode.name().toLowerCase(Locale.ROOT));
+            return;
+        }
+        if (mode == Mode.DEMO) {
+            seedDemo();
+        } else {
+            seedSynthetic();
+        }
+    }
+
+    private void seedDemo() {
         repository.save(new Employee("John", "A", "Doe", "New York", "123 Street",
                 LocalDate.of(1990, 1, 1), "1234567890", "Developer",
                 LocalDate.of(2020, 1, 1), "john.doe@example.com", 60000.0, "Active"));
         repository.save(new Employee("Jane", "B", "Smith", "Chicago", "456 Avenue",
                 LocalDate.of(1985, 2, 2), "0987654321", "Manager",
                 LocalDate.of(2015, 2, 2), "jane.smith@example.com", 75000.0, "Active"));
-        
+    }
+
+    private void seedSynthetic() {
+        log.info("Seeding {} synthetic employees with {} threads in batches of {}", rows, threads, batchSize);
+        EmployeeSeeder.SeedReport report = seeder.seed(rows, threads, batchSize, randomSeed, progressInterval);
+        log.info("Seeded {} employees (IDs from {}) in {} ms, {} rows/s", report.rows(), report.firstId(),
+                report.elapsedMillis(), Math.round(report.rowsPerSecond()));
+        if (report.rows() > 0) {
+            // The rows bypassed EmployeeService, so derived views rebuild from the table
+            eventPublisher.publishEvent(EmployeeChangedEvent.reset());
+        }
     }
 }
@@ -0,0 +1,179 @@
+package com.example.demo.initializer;
+
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeRowMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Inserts large numbers of synthetic employees directly with JDBC.
+ * <p>
+ * Blocks of IDs are reserved from "employee_sequence" up front, with one statement that takes as
+ * many sequence values as needed; each value starts a block of {@code employee.id.block-size} IDs,
+ * as for JPA. The blocks are contiguous unless other writers take sequence values at the same time.
+ * Producer threads then claim batches of IDs, generate their employees with {@link SyntheticEmployeeGenerator} and insert
+ * each batch with one multi-row INSERT, committed on its own. Progress and throughput are logged
+ * periodically. Rows are written without going through {@code EmployeeService}, so callers must
+ * tell derived views that the table changed.
+ */
+@Component
+public class EmployeeSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSeeder.class);
+
+    private static final int COLUMN_COUNT = EmployeeRowMapper.COLUMNS.split(",").length;
+
+    /**
+     * Outcome of a seeding run.
+     *
+     * @param rows          the number of employees inserted
+     * @param firstId       the ID of the first employee inserted
+     * @param elapsedMillis the wall-clock duration of the run
+     * @param rowsPerSecond the insert throughput
+     */
+    public record SeedReport(long rows, long firstId, long elapsedMillis, double rowsPerSecond) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // IDs per sequence value: the sequence is created with INCREMENT BY this size
+    private final int blockSize;
+
+    public EmployeeSeeder(JdbcTemplate jdbcTemplate,
+                          @Value("${spring.jpa.properties.employee.id.block-size:50}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return true if the "employees" table holds at least one row
+     */
+    public boolean hasEmployees() {
+        return !jdbcTemplate.queryForList("SELECT id FROM employees LIMIT 1", Long.class).isEmpty();
+    }
+
+    /**
+     * Inserts synthetic employees with new IDs.
+     *
+     * @param rows             the number of employees to insert
+     * @param threads          the number of producer threads
+     * @param batchSize        the number of employees per INSERT statement and transaction
+     * @param seed             the random seed of the generated data
+     * @param progressInterval how often progress is logged
+     * @return the number of rows inserted and the throughput
+     * @throws IllegalStateException if an insert fails; batches already committed are kept
+     */
+    public SeedReport seed(long rows, int threads, int batchSize, long seed, Duration progressInterval) {
+        if (rows <= 0) {
+            return new SeedReport(0, 0, 0, 0);
+        }
+        long start = System.nanoTime();
+        IdBlocks ids = reserveIds(rows);
+        long batches = (rows + batchSize - 1) / batchSize;
+        SyntheticEmployeeGenerator generator = new SyntheticEmployeeGenerator(seed);
+        AtomicLong nextBatch = new AtomicLong();
+        AtomicLong inserted = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        String fullBatchSql = insertSql(batchSize);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService producers = Executors.newFixedThreadPool(threads,
+                task -> new Thread(task, "employee-seeder-" + threadNumber.incrementAndGet()));
+        Runnable producer = () -> {
+            long batch;
+            while (failure.get() == null && (batch = nextBatch.getAndIncrement()) < batches) {
+                long from = batch * batchSize;
+                long to = Math.min(from + batchSize, rows);
+                try {
+                    insert(to - from == batchSize ? fullBatchSql : insertSql((int) (to - from)), generator, ids,
+                            from, to);
+                    inserted.addAndGet(to - from);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+        for (int i = 0; i < threads; i++) {
+            producers.execute(producer);
+        }
+        producers.shutdown();
+        try {
+            while (!producers.awaitTermination(progressInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                long done = inserted.get();
+                log.info("Seeded {} of {} employees ({}%), {} rows/s", done, rows, done * 100 / rows,
+                        Math.round(rowsPerSecond(done, System.nanoTime() - start)));
+            }
+        } catch (InterruptedException e) {
+            producers.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding interrupted after " + inserted.get() + " employees", e);
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Seeding failed after " + inserted.get() + " employees", failure.get());
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        return new SeedReport(inserted.get(), ids.id(0), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rowsPerSecond(inserted.get(), elapsedNanos));
+    }
+
+    // Reserves blocks for at least the given number of IDs. Each sequence value is taken atomically,
+    // so concurrent writers only ever get other blocks
+    private IdBlocks reserveIds(long rows) {
+        long blocks = (rows + blockSize - 1) / blockSize;
+        List<Long> firstIds = jdbcTemplate.queryForList(
+                "SELECT NEXT VALUE FOR employee_sequence FROM SYSTEM_RANGE(1, ?)", Long.class, blocks);
+        return new IdBlocks(firstIds.stream().mapToLong(Long::longValue).sorted().toArray(), blockSize);
+    }
+
+    // The first ID of each reserved block, in ascending order; seeded employee i gets id(i)
+    private record IdBlocks(long[] firstIds, int blockSize) {
+
+        long id(long index) {
+            return firstIds[(int) (index / blockSize)] + index % blockSize;
+        }
+    }
+
+    // A multi-row INSERT of the given number of employees
+    private static String insertSql(int rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(COLUMN_COUNT, "?")) + ")";
+        return "INSERT INTO employees (" + EmployeeRowMapper.COLUMNS + ") VALUES "
+                + String.join(", ", Collections.nCopies(rows, row));
+    }
+
+    // Inserts the employees [from, to) of the run with one statement
+    private void insert(String sql, SyntheticEmployeeGenerator generator, IdBlocks ids, long from, long to) {
+        List<Object> args = new ArrayList<>((int) (to - from) * COLUMN_COUNT);
+        OffsetDateTime lastModified = Employee.now().atOffset(ZoneOffset.UTC);
+        for (long i = from; i < to; i++) {
+            Employee employee = generator.generate(ids.id(i));
+            // In the order of EmployeeRowMapper.COLUMNS
+            Collections.addAll(args, employee.getId(), employee.getFirstName(), employee.getMiddleName(),
+                    employee.getLastName(), employee.getLocationCity(), employee.getAddress(),
+                    employee.getDateOfBirth(), employee.getTelephone(), employee.getPositionTitle(),
+                    employee.getHireDate(), employee.getEmail(), employee.getSalary(), employee.getStatus(),
+                    0L, lastModified);
+        }
+        jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private static double rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos > 0 ? rows * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+}
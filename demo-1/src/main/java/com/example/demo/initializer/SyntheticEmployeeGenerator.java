@@ -0,0 +1,115 @@
+package com.example.demo.initializer;
+
+import com.example.demo.model.Employee;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates realistic, synthetic employees for load testing and staging.
+ * <p>
+ * The employee with a given ID depends only on the ID and the random seed, so any range of IDs
+ * can be generated by any thread in any order, and two runs with the same seed produce the same data.
+ * Emails embed the ID and are therefore unique. Cities, positions and statuses are skewed the way
+ * real head counts are, and salaries follow a band per position.
+ */
+public final class SyntheticEmployeeGenerator {
+
+    // Ages and tenures are computed relative to this date rather than today, so the output never changes
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark", "Ashley", "Wei", "Priya",
+            "Carlos", "Sofia", "Ahmed", "Fatima", "Hiroshi", "Yuki", "Olga", "Ivan", "Aisha", "Mateo"};
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Nguyen", "Patel", "Kim", "Chen", "Singh", "Tanaka", "Ivanova", "Khan", "Silva", "Cohen"};
+
+    private static final String[] STREETS = {
+            "Main Street", "Oak Avenue", "Maple Drive", "Cedar Lane", "Elm Street", "Pine Road", "Lakeview Drive",
+            "Hillcrest Avenue", "Park Place", "Sunset Boulevard", "River Road", "King Street", "Queen Street"};
+
+    // Cities and their relative head counts
+    private static final String[] CITIES = {
+            "Toronto", "New York", "Chicago", "Mexico City", "Los Angeles", "Vancouver", "Houston", "Montreal",
+            "Boston", "Santiago", "Lima", "Bogota"};
+    private static final int[] CITY_WEIGHTS = {30, 20, 12, 8, 7, 6, 5, 4, 3, 2, 2, 1};
+
+    // Positions, their relative head counts and median salaries
+    private static final String[] POSITIONS = {
+            "Developer", "Analyst", "Support Specialist", "Sales Representative", "QA Engineer", "Designer",
+            "HR Specialist", "Manager", "Director", "Intern"};
+    private static final int[] POSITION_WEIGHTS = {25, 15, 14, 12, 8, 6, 5, 10, 2, 3};
+    private static final double[] POSITION_SALARIES = {
+            95_000, 75_000, 52_000, 62_000, 78_000, 80_000, 60_000, 120_000, 175_000, 35_000};
+
+    // Share of employees that are not active, in percent
+    private static final int INACTIVE_PERCENT = 8;
+
+    private static final int[] CITY_TABLE = expand(CITY_WEIGHTS);
+    private static final int[] POSITION_TABLE = expand(POSITION_WEIGHTS);
+
+    private final long seed;
+
+    /**
+     * @param seed the random seed; the same seed always produces the same employees
+     */
+    public SyntheticEmployeeGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the employee with the given ID.
+     *
+     * @param id the ID of the employee; it is also set on the returned employee
+     * @return a new employee with every field filled in
+     */
+    public Employee generate(long id) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + id);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String middleName = random.nextInt(100) < 30 ? String.valueOf((char) ('A' + random.nextInt(26))) : null;
+        String city = CITIES[CITY_TABLE[random.nextInt(CITY_TABLE.length)]];
+        int position = POSITION_TABLE[random.nextInt(POSITION_TABLE.length)];
+
+        int age = 20 + random.nextInt(46);
+        LocalDate dateOfBirth = REFERENCE_DATE.minusYears(age).minusDays(random.nextInt(365));
+        // Hired at 20 or later, and not after the reference date
+        LocalDate earliestHire = dateOfBirth.plusYears(20);
+        long tenureDays = Math.max(1, REFERENCE_DATE.toEpochDay() - earliestHire.toEpochDay());
+        LocalDate hireDate = REFERENCE_DATE.minusDays(random.nextLong(Math.min(tenureDays, 40L * 365)));
+
+        // Salary within -25% / +35% of the position's median, rounded to hundreds
+        double salary = Math.round(POSITION_SALARIES[position] * (0.75 + 0.6 * random.nextDouble()) / 100) * 100.0;
+
+        Employee employee = new Employee(firstName, middleName, lastName, city,
+                (1 + random.nextInt(9999)) + " " + STREETS[random.nextInt(STREETS.length)],
+                dateOfBirth, String.format("555-%07d", random.nextInt(10_000_000)), POSITIONS[position], hireDate,
+                (firstName + "." + lastName + "." + id + "@example.com").toLowerCase(Locale.ROOT), salary,
+                random.nextInt(100) < INACTIVE_PERCENT ? "Inactive" : "Active");
+        employee.setId(id);
+        return employee;
+    }
+
+    // Turns relative weights into a lookup table of indexes, e.g. {2, 1} into {0, 0, 1}
+    private static int[] expand(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int[] table = new int[total];
+        int next = 0;
+        for (int i = 0; i < weights.length; i++) {
+            for (int j = 0; j < weights[i]; j++) {
+                table[next++] = i;
+            }
+        }
+        return table;
+    }
+}
@@ -1,20 +1,30 @@
 package com.example.demo.model;
 
 import jakarta.persistence.*;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Entity class representing an Employee.
  * Maps to the "employees" table in the database.
+ * Secondary indexes back the lookups by last name, city, status and position title;
+ * the composite (status, locationCity) index also serves lookups by status alone.
+ * The (lastModified, id) index backs incremental sync of the employees changed since a point in time.
  */
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_last_name", columnList = "lastName"),
+        @Index(name = "idx_employees_location_city", columnList = "locationCity"),
+        @Index(name = "idx_employees_status_city", columnList = "status, locationCity"),
+        @Index(name = "idx_employees_position_title", columnList = "positionTitle"),
+        @Index(name = "idx_employees_last_modified", columnList = "lastModified, id")
+})
 public class Employee {
 
-    // Primary key for the Employee entity, with auto-generated value
+    // Primary key for the Employee entity, allocated from the sequence in pooled blocks
 	@Id
-	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
-	@SequenceGenerator(name = "employee_seq", sequenceName = "employee_sequence", allocationSize = 1)
+	@PooledSequenceId(sequenceName = "employee_sequence")
 	private Long id;
 
 
@@ -65,6 +75,14 @@ public class Employee {
     @Column(nullable = false)
     private String status;
 
+    // Version for optimistic concurrency, incremented on every update
+    @Version
+    private Long version;
+
+    // When the employee was last inserted or updated, in microseconds
+    @Column(nullable = false)
+    private Instant lastModified;
+
     /**
      * Default constructor.
      * Required by JPA for entity instantiation.
@@ -209,5 +227,34 @@ public class Employee {
     public void setStatus(String status) {
         this.status = status;
     }
-}
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    // Stamps every insert and update made through JPA; JDBC writes set the column themselves
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        lastModified = now();
+    }
+
+    /**
+     * @return the current time at the precision of the lastModified column
+     */
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
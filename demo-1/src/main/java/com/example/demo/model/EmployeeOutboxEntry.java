@@ -0,0 +1,59 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Entity class for one change in the employee outbox.
+ * Maps to the "employee_outbox" table, which consumers read in offset order to sync incrementally.
+ * Written and read with JDBC (or R2DBC for reactive writes) by {@link com.example.demo.service.EmployeeOutbox}.
+ */
+@Entity
+@Table(name = "employee_outbox")
+public class EmployeeOutboxEntry {
+
+    // Position of the change in the outbox, assigned by EmployeeOutbox
+    @Id
+    private Long eventOffset;
+
+    // CREATED, UPDATED, PATCHED, DELETED or RESET
+    @Column(nullable = false, length = 16)
+    private String type;
+
+    // ID of the employee written, or null for RESET
+    private Long employeeId;
+
+    // The new employee or the changed fields as JSON, or null
+    @Column(columnDefinition = "CHARACTER VARYING")
+    private String payload;
+
+    // When the change was appended, in microseconds
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Default constructor.
+     * Required by JPA for entity instantiation.
+     */
+    public EmployeeOutboxEntry() {}
+
+    public Long getEventOffset() {
+        return eventOffset;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
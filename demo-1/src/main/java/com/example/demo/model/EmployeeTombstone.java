@@ -0,0 +1,47 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Entity class recording that an Employee was deleted.
+ * Maps to the "employee_tombstones" table, which incremental sync reads to report deletions.
+ * Written and read with JDBC; the (deletedAt, employeeId) index backs reads of the deletions since a point in time.
+ */
+@Entity
+@Table(name = "employee_tombstones", indexes = {
+        @Index(name = "idx_employee_tombstones_deleted_at", columnList = "deletedAt, employeeId")
+})
+public class EmployeeTombstone {
+
+    // ID of the deleted employee
+    @Id
+    private Long employeeId;
+
+    // When the employee was deleted, in microseconds
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+    /**
+     * Default constructor.
+     * Required by JPA for entity instantiation.
+     */
+    public EmployeeTombstone() {}
+
+    /**
+     * @param employeeId the ID of the deleted employee
+     * @param deletedAt  when the employee was deleted
+     */
+    public EmployeeTombstone(Long employeeId, Instant deletedAt) {
+        this.employeeId = employeeId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
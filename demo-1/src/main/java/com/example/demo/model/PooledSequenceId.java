@@ -0,0 +1,25 @@
+package com.example.demo.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an identifier generated from a database sequence in pooled blocks.
+ * The block size is read from the `employee.id.block-size` setting at startup.
+ *
+ * @see PooledSequenceIdGenerator
+ */
+@IdGeneratorType(PooledSequenceIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequenceId {
+
+    /**
+     * @return the name of the database sequence
+     */
+    String sequenceName();
+}
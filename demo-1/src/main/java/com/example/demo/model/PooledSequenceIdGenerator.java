@@ -0,0 +1,94 @@
+package com.example.demo.model;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serial;
+import java.lang.reflect.Field;
+import java.util.Properties;
+
+/**
+ * Sequence generator that reserves IDs in blocks with the pooled-lo optimizer.
+ * <p>
+ * Each call to the database sequence reserves a whole block of IDs for this instance, so
+ * only one in every `block-size` inserts needs a sequence round-trip. The sequence is
+ * created with `INCREMENT BY block-size`; because every instance (and every restart)
+ * reserves its blocks from the sequence itself, two instances never hand out the same ID.
+ * Unused IDs of a block are lost on shutdown, which leaves gaps but never duplicates.
+ * <p>
+ * If the configured block size no longer matches the increment of an existing sequence,
+ * startup fails rather than risk overlapping blocks (see
+ * `hibernate.id.sequence.increment_size_mismatch_strategy`).
+ * <p>
+ * A restore can insert rows with IDs from the block in use; {@link #discardBlock()} then makes the
+ * next insert reserve a new block.
+ */
+public class PooledSequenceIdGenerator extends SequenceStyleGenerator {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // Hibernate setting holding the number of IDs reserved per sequence call
+    public static final String BLOCK_SIZE_SETTING = "employee.id.block-size";
+
+    // Block size used when the setting is absent
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private String sequenceName;
+
+    // Replaces the optimizer configured by Hibernate once a block was discarded
+    private transient volatile Optimizer blocks;
+
+    @Override
+    public void create(GeneratorCreationContext context) throws MappingException {
+        // The generator is instantiated by the bean container, so read the annotation from the id field
+        String fieldName = context.getProperty().getName();
+        try {
+            Field field = context.getPersistentClass().getMappedClass().getDeclaredField(fieldName);
+            this.sequenceName = field.getAnnotation(PooledSequenceId.class).sequenceName();
+        } catch (NoSuchFieldException e) {
+            throw new MappingException("@PooledSequenceId must be placed on field " + fieldName, e);
+        }
+        super.create(context);
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int blockSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE);
+        if (blockSize < 1) {
+            throw new MappingException(BLOCK_SIZE_SETTING + " must be at least 1 but was " + blockSize);
+        }
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(INCREMENT_PARAM, String.valueOf(blockSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner) throws HibernateException {
+        Optimizer current = blocks;
+        if (current == null) {
+            return super.generate(session, owner);
+        }
+        return current.generate(getDatabaseStructure().buildCallback(session));
+    }
+
+    /**
+     * Discards the rest of the current block of IDs. The next insert reserves a new block from the sequence.
+     */
+    public void discardBlock() {
+        // A new optimizer holds no block
+        blocks = new PooledLoOptimizer(getIdentifierType().getReturnedClass(), getOptimizer().getIncrementSize());
+    }
+}
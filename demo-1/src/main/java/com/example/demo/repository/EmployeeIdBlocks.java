@@ -0,0 +1,54 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+import com.example.demo.model.PooledSequenceIdGenerator;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The blocks of employee IDs reserved from employee_sequence: each sequence value starts a block of
+ * {@code employee.id.block-size} IDs. JPA ({@link PooledSequenceIdGenerator}) and
+ * {@link EmployeeReactiveRepository} each hand out the IDs of the block they hold in memory.
+ */
+@Repository
+public class EmployeeIdBlocks {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EmployeeReactiveRepository reactiveRepository;
+    private final int blockSize;
+
+    public EmployeeIdBlocks(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                            EmployeeReactiveRepository reactiveRepository,
+                            @Value("${spring.jpa.properties.employee.id.block-size:50}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.reactiveRepository = reactiveRepository;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Makes sure that no ID up to the given one is handed out again, e.g. after rows were inserted with
+     * IDs that did not come from the sequence. Advances the sequence past the ID and discards the blocks
+     * held in memory, which were reserved before and may contain it.
+     *
+     * @param id the highest ID that must not be handed out
+     */
+    public void skipPast(long id) {
+        long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR employee_sequence", Long.class);
+        if (next < id) {
+            // All in one statement, as EmployeeSeeder does: concurrent inserts can only take later values,
+            // and the last value taken here is at least the ID
+            long values = (id - next + blockSize - 1) / blockSize;
+            jdbcTemplate.queryForList("SELECT NEXT VALUE FOR employee_sequence FROM SYSTEM_RANGE(1, ?)",
+                    Long.class, values);
+        }
+        ((PooledSequenceIdGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(Employee.class).getGenerator()).discardBlock();
+        reactiveRepository.discardIdBlock();
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+import com.example.demo.model.EmployeeTombstone;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository for the "employees" table.
+ * Provides streaming and set-based operations that do not need managed entities.
+ */
+@Repository
+public class EmployeeJdbcRepository {
+
+    private static final EmployeeRowMapper ROW_MAPPER = new EmployeeRowMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Number of rows the driver fetches per round-trip when streaming
+    private final int fetchSize;
+
+    // Maximum number of bind parameters in one IN list
+    private final int inClauseLimit;
+
+    public EmployeeJdbcRepository(JdbcTemplate jdbcTemplate,
+                                  @Value("${employee.jdbc.fetch-size:500}") int fetchSize,
+                                  @Value("${employee.jdbc.in-clause-limit:1000}") int inClauseLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        this.inClauseLimit = inClauseLimit;
+    }
+
+    /**
+     * Streams employees ordered by ID through a forward-only cursor.
+     * Each row is handed to the consumer as soon as it is read, so memory stays flat.
+     *
+     * @param afterId  only rows with an ID greater than this are read (null for all rows)
+     * @param consumer receives each employee in ID order
+     */
+    public void streamAll(Long afterId, Consumer<Employee> consumer) {
+        streamRows(afterId, rs -> consumer.accept(ROW_MAPPER.mapRow(rs, 0)));
+    }
+
+    /**
+     * Streams the raw rows of the "employees" table ordered by ID through a forward-only cursor.
+     * The handler reads the columns of {@link EmployeeRowMapper#COLUMNS} straight from the result set,
+     * without creating an entity per row.
+     *
+     * @param afterId only rows with an ID greater than this are read (null for all rows)
+     * @param handler called once per row, positioned on that row
+     */
+    public void streamRows(Long afterId, RowCallbackHandler handler) {
+        stream("SELECT " + EmployeeRowMapper.COLUMNS + " FROM employees WHERE id > ? ORDER BY id", afterId, handler);
+    }
+
+    /**
+     * Streams the ID and name columns (id, first_name, middle_name, last_name) of every employee
+     * through a forward-only cursor.
+     *
+     * @param handler called once per row, positioned on that row
+     */
+    public void streamNames(RowCallbackHandler handler) {
+        stream("SELECT id, first_name, middle_name, last_name FROM employees WHERE id > ?", null, handler);
+    }
+
+    private void stream(String sql, Long afterId, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, afterId != null ? afterId : 0L);
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Retrieves the employees with the given IDs.
+     * Issues one SELECT per chunk of {@code in-clause-limit} distinct IDs.
+     *
+     * @param ids the IDs to look up
+     * @return the employees found, in no particular order
+     */
+    public List<Employee> findAllById(Collection<Long> ids) {
+        List<Employee> employees = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunk(ids)) {
+            employees.addAll(jdbcTemplate.query("SELECT " + EmployeeRowMapper.COLUMNS
+                    + " FROM employees WHERE id IN (" + placeholders(chunk.size()) + ")", ROW_MAPPER, chunk.toArray()));
+        }
+        return employees;
+    }
+
+    /**
+     * Reads one employee and locks its row until the current transaction ends.
+     *
+     * @param id the ID of the employee
+     * @return the employee, or empty if it does not exist
+     */
+    public Optional<Employee> findByIdForUpdate(Long id) {
+        return jdbcTemplate.query("SELECT " + EmployeeRowMapper.COLUMNS + " FROM employees WHERE id = ? FOR UPDATE",
+                ROW_MAPPER, id).stream().findFirst();
+    }
+
+    /**
+     * Deletes one employee with a single statement, reading back the row it removed from the
+     * statement's OLD TABLE.
+     *
+     * @param id the ID of the employee to delete
+     * @return the employee as it was before the delete, or empty if it does not exist
+     */
+    public Optional<Employee> deleteById(Long id) {
+        return jdbcTemplate.query("SELECT " + EmployeeRowMapper.COLUMNS
+                + " FROM OLD TABLE (DELETE FROM employees WHERE id = ?)", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    /**
+     * Deletes the employees with the given IDs.
+     * Issues one DELETE per chunk of {@code in-clause-limit} distinct IDs, reading back the rows
+     * it removed from the statement's OLD TABLE.
+     *
+     * @param ids the IDs of the employees to delete
+     * @return the employees deleted, as they were before the delete; IDs without an employee are left out
+     */
+    public List<Employee> deleteAllById(Collection<Long> ids) {
+        List<Employee> deleted = new ArrayList<>();
+        for (List<Long> chunk : chunk(ids)) {
+            deleted.addAll(jdbcTemplate.query("SELECT " + EmployeeRowMapper.COLUMNS
+                    + " FROM OLD TABLE (DELETE FROM employees WHERE id IN (" + placeholders(chunk.size()) + "))",
+                    ROW_MAPPER, chunk.toArray()));
+        }
+        return deleted;
+    }
+
+    /**
+     * Updates only the given columns of one employee with a single UPDATE statement,
+     * incrementing its version. The row as it was before the update is read back from the
+     * statement's OLD TABLE.
+     *
+     * @param id              the ID of the employee to update
+     * @param columnValues    the new values by column name; column names must come from a fixed whitelist
+     * @param expectedVersion if not null, the update only applies if the row still has this version
+     * @return the employee as it was before the update, or empty if the row is missing or its version differs
+     */
+    public Optional<Employee> updateColumns(Long id, Map<String, Object> columnValues, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("SELECT " + EmployeeRowMapper.COLUMNS
+                + " FROM OLD TABLE (UPDATE employees SET ");
+        List<Object> args = new ArrayList<>(columnValues.size() + 2);
+        columnValues.forEach((column, value) -> {
+            sql.append(column).append(" = ?, ");
+            args.add(value);
+        });
+        sql.append("last_modified = ?, version = version + 1 WHERE id = ?");
+        args.add(utc(Employee.now()));
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        sql.append(")");
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray()).stream().findFirst();
+    }
+
+    /**
+     * Checks whether an employee exists without loading it.
+     *
+     * @param id the ID of the employee
+     * @return true if the employee exists
+     */
+    public boolean existsById(Long id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) > 0 FROM employees WHERE id = ?", Boolean.class, id));
+    }
+
+    /**
+     * Deletes every employee with a single statement, first recording a tombstone for each.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteAll() {
+        jdbcTemplate.update("MERGE INTO employee_tombstones (employee_id, deleted_at) KEY (employee_id) "
+                + "SELECT id, ? FROM employees", utc(Employee.now()));
+        return jdbcTemplate.update("DELETE FROM employees");
+    }
+
+    /**
+     * Records that employees were deleted, so incremental sync reports the deletions.
+     *
+     * @param ids the IDs of the deleted employees
+     */
+    public void insertTombstones(Collection<Long> ids) {
+        OffsetDateTime deletedAt = utc(Employee.now());
+        for (List<Long> chunk : chunk(ids)) {
+            jdbcTemplate.batchUpdate("MERGE INTO employee_tombstones (employee_id, deleted_at) KEY (employee_id) "
+                    + "VALUES (?, ?)", chunk.stream().map(id -> new Object[] {id, deletedAt}).toList());
+        }
+    }
+
+    /**
+     * Retrieves the employees inserted or updated after a position, ordered by (lastModified, id).
+     *
+     * @param since   only employees modified at or after this time are read
+     * @param afterId of the employees modified exactly at {@code since}, only those with a greater ID are read
+     * @param until   only employees modified at or before this time are read
+     * @param limit   the maximum number of employees to read
+     * @return the employees in (lastModified, id) order
+     */
+    public List<Employee> findModifiedSince(Instant since, long afterId, Instant until, int limit) {
+        return jdbcTemplate.query("SELECT " + EmployeeRowMapper.COLUMNS + " FROM employees "
+                        + "WHERE last_modified >= ? AND (last_modified > ? OR id > ?) AND last_modified <= ? "
+                        + "ORDER BY last_modified, id LIMIT ?",
+                ROW_MAPPER, utc(since), utc(since), afterId, utc(until), limit);
+    }
+
+    /**
+     * Retrieves the tombstones of the employees deleted after a position, ordered by (deletedAt, employeeId).
+     *
+     * @param since   only deletions at or after this time are read
+     * @param afterId of the deletions exactly at {@code since}, only those of a greater ID are read
+     * @param until   only deletions at or before this time are read
+     * @param limit   the maximum number of tombstones to read
+     * @return the tombstones in (deletedAt, employeeId) order
+     */
+    public List<EmployeeTombstone> findTombstonesSince(Instant since, long afterId, Instant until, int limit) {
+        return jdbcTemplate.query("SELECT employee_id, deleted_at FROM employee_tombstones "
+                        + "WHERE deleted_at >= ? AND (deleted_at > ? OR employee_id > ?) AND deleted_at <= ? "
+                        + "ORDER BY deleted_at, employee_id LIMIT ?",
+                (rs, rowNum) -> new EmployeeTombstone(rs.getLong(1),
+                        EmployeeRowMapper.toInstant(rs.getObject(2, OffsetDateTime.class))),
+                utc(since), utc(since), afterId, utc(until), limit);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    // Splits the distinct, non-null IDs into chunks that fit in one IN list
+    private List<List<Long>> chunk(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(id -> id == null);
+        if (distinct.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += inClauseLimit) {
+            chunks.add(distinct.subList(from, Math.min(from + inClauseLimit, distinct.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository fragment for reading selected fields of employees without loading entities.
+ */
+public interface EmployeeProjectionRepository {
+
+    // Fields a projection may read. Kept apart from the fields a partial update may change, so that
+    // making a field writable or read-only does not change what listings expose
+    Set<String> SELECTABLE_FIELDS = Set.of("id", "firstName", "middleName", "lastName", "locationCity", "address",
+            "dateOfBirth", "telephone", "positionTitle", "hireDate", "email", "salary", "status", "version",
+            "lastModified");
+
+    /**
+     * Keyset pagination over a projection: retrieves only the given fields of the employees
+     * whose ID is greater than the cursor. The SELECT lists just these columns and the rows
+     * are returned as plain maps, outside the persistence context.
+     *
+     * @param id     the cursor; only employees with a greater ID are returned
+     * @param limit  the maximum number of employees to return
+     * @param fields the names of the {@link com.example.demo.model.Employee} fields to read, out of
+     *               {@link #SELECTABLE_FIELDS}; the ID is always read
+     * @return the field values of each employee by field name, ordered by ID
+     * @throws IllegalArgumentException if a field is not selectable
+     */
+    List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, int limit, List<String> fields);
+}
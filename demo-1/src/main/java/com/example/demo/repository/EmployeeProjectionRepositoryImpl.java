@@ -0,0 +1,58 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JPQL implementation of {@link EmployeeProjectionRepository}.
+ * Field names are checked against {@link #SELECTABLE_FIELDS} before they are put into the query.
+ */
+public class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, int limit, List<String> fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields) {
+            if (!SELECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            selected.add(field);
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (String field : selected) {
+            jpql.append("e.").append(field).append(" AS ").append(field).append(", ");
+        }
+        jpql.setLength(jpql.length() - 2);
+        jpql.append(" FROM Employee e WHERE e.id > :id ORDER BY e.id");
+
+        List<Tuple> tuples = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Non-blocking repository for the "employees" table, over R2DBC.
+ * Statements are executed when the returned publishers are subscribed to; no thread waits for a result.
+ */
+@Repository
+public class EmployeeReactiveRepository {
+
+    private static final String INSERT = "INSERT INTO employees (id, first_name, middle_name, last_name, "
+            + "location_city, address, date_of_birth, telephone, position_title, hire_date, email, salary, status, "
+            + "version, last_modified) VALUES (:id, :firstName, :middleName, :lastName, :locationCity, :address, "
+            + ":dateOfBirth, :telephone, :positionTitle, :hireDate, :email, :salary, :status, 0, :lastModified)";
+
+    private static final String UPDATE = "UPDATE employees SET first_name = :firstName, middle_name = :middleName, "
+            + "last_name = :lastName, location_city = :locationCity, address = :address, "
+            + "date_of_birth = :dateOfBirth, telephone = :telephone, position_title = :positionTitle, "
+            + "hire_date = :hireDate, email = :email, salary = :salary, status = :status, version = version + 1, "
+            + "last_modified = :lastModified WHERE id = :id";
+
+    private final DatabaseClient client;
+
+    // IDs per sequence value, as for JPA: the sequence is created with INCREMENT BY this size
+    private final int blockSize;
+
+    // Guards the current block of IDs: the next ID to hand out, the first one past the block,
+    // and how many blocks were discarded
+    private final ReentrantLock idLock = new ReentrantLock();
+    private long nextId;
+    private long blockEnd;
+    private long discarded;
+
+    public EmployeeReactiveRepository(DatabaseClient client,
+                                      @Value("${spring.jpa.properties.employee.id.block-size:50}") int blockSize) {
+        this.client = client;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @param id the ID of the employee
+     * @return the employee, or empty if it does not exist
+     */
+    public Mono<Employee> findById(Long id) {
+        return client.sql("SELECT " + EmployeeRowMapper.COLUMNS + " FROM employees WHERE id = :id")
+                .bind("id", id)
+                .map(EmployeeReactiveRepository::toEmployee)
+                .one();
+    }
+
+    /**
+     * Streams employees ordered by ID. Rows are emitted as the subscriber requests them.
+     *
+     * @param afterId only employees with a greater ID are emitted
+     * @param limit   the maximum number of employees to emit
+     * @return the employees in ID order
+     */
+    public Flux<Employee> findAfter(Long afterId, long limit) {
+        return client.sql("SELECT " + EmployeeRowMapper.COLUMNS
+                        + " FROM employees WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", afterId)
+                .bind("limit", limit)
+                .map(EmployeeReactiveRepository::toEmployee)
+                .all();
+    }
+
+    /**
+     * @param id the ID of the employee
+     * @return true if the employee exists
+     */
+    public Mono<Boolean> existsById(Long id) {
+        return client.sql("SELECT COUNT(*) > 0 FROM employees WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    /**
+     * Inserts a new employee. The ID is taken from a block reserved from employee_sequence.
+     *
+     * @param employee the employee to insert; its ID and version are set on success
+     * @return the inserted employee
+     */
+    public Mono<Employee> insert(Employee employee) {
+        return nextId()
+                .flatMap(id -> {
+                    Instant lastModified = Employee.now();
+                    return bindFields(client.sql(INSERT).bind("id", id), employee)
+                            .bind("lastModified", lastModified.atOffset(ZoneOffset.UTC))
+                            .fetch()
+                            .rowsUpdated()
+                            .map(rows -> {
+                                employee.setId(id);
+                                employee.setVersion(0L);
+                                employee.setLastModified(lastModified);
+                                return employee;
+                            });
+                });
+    }
+
+    /**
+     * Replaces all fields of an employee and increments its version.
+     *
+     * @param id              the ID of the employee
+     * @param employee        the new field values
+     * @param expectedVersion if not null, the update only applies if the employee still has this version
+     * @return the number of rows updated (0 if the employee does not exist or has another version)
+     */
+    public Mono<Long> update(Long id, Employee employee, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = expectedVersion != null
+                ? client.sql(UPDATE + " AND version = :version").bind("version", expectedVersion)
+                : client.sql(UPDATE);
+        return bindFields(spec.bind("id", id), employee)
+                .bind("lastModified", Employee.now().atOffset(ZoneOffset.UTC))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Deletes an employee and records a tombstone for it, so incremental sync reports the deletion.
+     * The deleted row is read back from the statement's OLD TABLE.
+     *
+     * @param id the ID of the employee to delete
+     * @return the employee as it was before the delete, or empty if it does not exist
+     */
+    public Mono<Employee> deleteById(Long id) {
+        return client.sql("SELECT " + EmployeeRowMapper.COLUMNS + " FROM OLD TABLE (DELETE FROM employees WHERE id = :id)")
+                .bind("id", id)
+                .map(EmployeeReactiveRepository::toEmployee)
+                .one()
+                .flatMap(deleted -> client.sql("MERGE INTO employee_tombstones (employee_id, deleted_at) "
+                                + "KEY (employee_id) VALUES (:id, :deletedAt)")
+                        .bind("id", id)
+                        .bind("deletedAt", Employee.now().atOffset(ZoneOffset.UTC))
+                        .then()
+                        .thenReturn(deleted));
+    }
+
+    /**
+     * Discards the rest of the current block of IDs, e.g. after a restore inserted rows with IDs from it.
+     * The next insert reserves a new block from the sequence.
+     */
+    public void discardIdBlock() {
+        idLock.lock();
+        try {
+            discarded++;
+            nextId = blockEnd;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    // Hands out the IDs of a block, reserving a new block with one sequence call when it is used up. A sequence
+    // value starts a block reserved by this caller, so it never collides with IDs that JPA hands out from its own
+    private Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            long generation;
+            idLock.lock();
+            try {
+                if (nextId < blockEnd) {
+                    return Mono.just(nextId++);
+                }
+                generation = discarded;
+            } finally {
+                idLock.unlock();
+            }
+            // A value taken before the block was discarded may start a block that is no longer free
+            return client.sql("SELECT NEXT VALUE FOR employee_sequence")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .flatMap(first -> startBlock(first, generation) ? Mono.just(first) : nextId());
+        });
+    }
+
+    private boolean startBlock(long first, long generation) {
+        idLock.lock();
+        try {
+            if (generation != discarded) {
+                return false;
+            }
+            // Blocks reserved concurrently replace each other; the rest of the older block is skipped
+            nextId = first + 1;
+            blockEnd = first + blockSize;
+            return true;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFields(DatabaseClient.GenericExecuteSpec spec,
+                                                                Employee employee) {
+        spec = bind(spec, "firstName", employee.getFirstName(), String.class);
+        spec = bind(spec, "middleName", employee.getMiddleName(), String.class);
+        spec = bind(spec, "lastName", employee.getLastName(), String.class);
+        spec = bind(spec, "locationCity", employee.getLocationCity(), String.class);
+        spec = bind(spec, "address", employee.getAddress(), String.class);
+        spec = bind(spec, "dateOfBirth", employee.getDateOfBirth(), LocalDate.class);
+        spec = bind(spec, "telephone", employee.getTelephone(), String.class);
+        spec = bind(spec, "positionTitle", employee.getPositionTitle(), String.class);
+        spec = bind(spec, "hireDate", employee.getHireDate(), LocalDate.class);
+        spec = bind(spec, "email", employee.getEmail(), String.class);
+        spec = bind(spec, "salary", employee.getSalary(), Double.class);
+        return bind(spec, "status", employee.getStatus(), String.class);
+    }
+
+    // R2DBC needs the type of a null value to bind it
+    private static <T> DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                              T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static Employee toEmployee(Readable row) {
+        Employee employee = new Employee(
+                row.get("first_name", String.class),
+                row.get("middle_name", String.class),
+                row.get("last_name", String.class),
+                row.get("location_city", String.class),
+                row.get("address", String.class),
+                row.get("date_of_birth", LocalDate.class),
+                row.get("telephone", String.class),
+                row.get("position_title", String.class),
+                row.get("hire_date", LocalDate.class),
+                row.get("email", String.class),
+                row.get("salary", Double.class),
+                row.get("status", String.class));
+        employee.setId(row.get("id", Long.class));
+        employee.setVersion(row.get("version", Long.class));
+        OffsetDateTime lastModified = row.get("last_modified", OffsetDateTime.class);
+        employee.setLastModified(lastModified != null ? lastModified.toInstant() : null);
+        return employee;
+    }
+}
@@ -1,11 +1,117 @@
 package com.example.demo.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import com.example.demo.dto.SalaryStats;
 import com.example.demo.model.Employee;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for Employee entity.
  * Provides CRUD operations and query methods for Employee data.
  */
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeProjectionRepository {
+
+    /**
+     * Keyset pagination: retrieves the employees whose ID is greater than the given cursor.
+     *
+     * @param id    the cursor; only employees with a greater ID are returned
+     * @param limit the maximum number of employees to return
+     * @return the employees ordered by ID
+     */
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Retrieves an employee by email, using the unique index on email.
+     *
+     * @param email the email of the employee
+     * @return the employee, if any
+     */
+    Optional<Employee> findByEmail(String email);
+
+    /**
+     * Retrieves one page of employees with the given last name, using idx_employees_last_name.
+     *
+     * @param lastName the last name to match
+     * @param pageable the page to retrieve
+     * @return the matching employees
+     */
+    List<Employee> findByLastName(String lastName, Pageable pageable);
+
+    /**
+     * Retrieves one page of employees located in the given city, using idx_employees_location_city.
+     *
+     * @param locationCity the city to match
+     * @param pageable     the page to retrieve
+     * @return the matching employees
+     */
+    List<Employee> findByLocationCity(String locationCity, Pageable pageable);
+
+    /**
+     * Retrieves one page of employees with the given status, using the leading column of idx_employees_status_city.
+     *
+     * @param status   the status to match
+     * @param pageable the page to retrieve
+     * @return the matching employees
+     */
+    List<Employee> findByStatus(String status, Pageable pageable);
+
+    /**
+     * Retrieves one page of employees with the given status and city, using idx_employees_status_city.
+     *
+     * @param status       the status to match
+     * @param locationCity the city to match
+     * @param pageable     the page to retrieve
+     * @return the matching employees
+     */
+    List<Employee> findByStatusAndLocationCity(String status, String locationCity, Pageable pageable);
+
+    /**
+     * Retrieves one page of employees with the given position title, using idx_employees_position_title.
+     *
+     * @param positionTitle the position title to match
+     * @param pageable      the page to retrieve
+     * @return the matching employees
+     */
+    List<Employee> findByPositionTitle(String positionTitle, Pageable pageable);
+
+    /**
+     * Computes salary and headcount statistics per city with a single GROUP BY query.
+     * Rows are aggregated in the database; no employee entity is loaded.
+     *
+     * @return one row per city, ordered by city
+     */
+    @Query("SELECT new com.example.demo.dto.SalaryStats(e.locationCity, COUNT(e), AVG(e.salary), MIN(e.salary), "
+            + "MAX(e.salary), PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY e.salary), "
+            + "PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY e.salary)) "
+            + "FROM Employee e GROUP BY e.locationCity ORDER BY e.locationCity")
+    List<SalaryStats> salaryStatsByLocationCity();
+
+    /**
+     * Computes salary and headcount statistics per position title with a single GROUP BY query.
+     * Rows are aggregated in the database; no employee entity is loaded.
+     *
+     * @return one row per position title, ordered by position title
+     */
+    @Query("SELECT new com.example.demo.dto.SalaryStats(e.positionTitle, COUNT(e), AVG(e.salary), MIN(e.salary), "
+            + "MAX(e.salary), PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY e.salary), "
+            + "PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY e.salary)) "
+            + "FROM Employee e GROUP BY e.positionTitle ORDER BY e.positionTitle")
+    List<SalaryStats> salaryStatsByPositionTitle();
+
+    /**
+     * Computes salary and headcount statistics per status with a single GROUP BY query.
+     * Rows are aggregated in the database; no employee entity is loaded.
+     *
+     * @return one row per status, ordered by status
+     */
+    @Query("SELECT new com.example.demo.dto.SalaryStats(e.status, COUNT(e), AVG(e.salary), MIN(e.salary), "
+            + "MAX(e.salary), PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY e.salary), "
+            + "PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY e.salary)) "
+            + "FROM Employee e GROUP BY e.status ORDER BY e.status")
+    List<SalaryStats> salaryStatsByStatus();
 }
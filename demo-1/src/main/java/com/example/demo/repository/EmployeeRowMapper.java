@@ -0,0 +1,51 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Maps a row of the "employees" table to a detached `Employee`.
+ * Used by JDBC read paths that bypass the persistence context.
+ */
+public class EmployeeRowMapper implements RowMapper<Employee> {
+
+    // Column list matching the order read by this mapper
+    public static final String COLUMNS = "id, first_name, middle_name, last_name, location_city, address, "
+            + "date_of_birth, telephone, position_title, hire_date, email, salary, status, version, last_modified";
+
+    @Override
+    public Employee mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Employee employee = new Employee(
+                rs.getString("first_name"),
+                rs.getString("middle_name"),
+                rs.getString("last_name"),
+                rs.getString("location_city"),
+                rs.getString("address"),
+                toLocalDate(rs.getDate("date_of_birth")),
+                rs.getString("telephone"),
+                rs.getString("position_title"),
+                toLocalDate(rs.getDate("hire_date")),
+                rs.getString("email"),
+                rs.getDouble("salary"),
+                rs.getString("status"));
+        employee.setId(rs.getLong("id"));
+        employee.setVersion(rs.getLong("version"));
+        employee.setLastModified(toInstant(rs.getObject("last_modified", OffsetDateTime.class)));
+        return employee;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    static Instant toInstant(OffsetDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.demo.rest;
+
+import com.example.demo.dto.ExportReport;
+import com.example.demo.dto.ImportReport;
+import com.example.demo.dto.SalaryAdjustmentRequest;
+import com.example.demo.dto.SalaryAdjustmentStatus;
+import com.example.demo.dto.SnapshotReport;
+import com.example.demo.service.EmployeeExportService;
+import com.example.demo.service.EmployeeImportService;
+import com.example.demo.service.EmployeeSalaryAdjuster;
+import com.example.demo.service.EmployeeSnapshotService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+
+/**
+ * REST controller for bulk employee operations.
+ * Handles imports and exports of whole files of employees, snapshots of the whole table,
+ * and salary adjustments of many employees at once.
+ */
+@RestController
+@RequestMapping("/employees/")
+public class EmployeeBulkController {
+
+    // Media type of CSV input
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    @Autowired
+    private EmployeeImportService importService; // Service layer for bulk imports
+
+    @Autowired
+    private EmployeeExportService exportService; // Service layer for bulk exports
+
+    @Autowired
+    private EmployeeSnapshotService snapshotService; // Service layer for snapshots and restores
+
+    @Autowired
+    private EmployeeSalaryAdjuster salaryAdjuster; // Service layer for bulk salary adjustments
+
+    /**
+     * Imports employees from a CSV or NDJSON request body.
+     * The body is streamed through the import pipeline and never fully buffered.
+     * CSV input must start with a header row naming the employee fields.
+     *
+     * @param contentType the content type of the body, selecting the input format
+     * @param body        the request body
+     * @return a ResponseEntity containing the per-row errors and throughput of the import
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "import", consumes = {TEXT_CSV_VALUE, EmployeeController.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReport> importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                       InputStream body) throws IOException {
+        EmployeeImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(
+                MediaType.parseMediaType(TEXT_CSV_VALUE)) ? EmployeeImportService.Format.CSV
+                : EmployeeImportService.Format.NDJSON;
+        return ResponseEntity.ok(importService.importEmployees(body, format));
+    }
+
+    /**
+     * Streams a gzip-compressed export of all employees.
+     *
+     * @param format the export format (CSV or COLUMNAR)
+     * @return a ResponseEntity streaming the export file
+     */
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "CSV") EmployeeExportService.Format format) {
+        StreamingResponseBody body = out -> exportService.export(out, format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + format.getExtension()).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Exports all employees to a new file in the server's export directory.
+     *
+     * @param format the export format (CSV or COLUMNAR)
+     * @return a ResponseEntity containing the file name, row count and throughput
+     * @throws IOException if the file cannot be written
+     */
+    @PostMapping("export")
+    public ResponseEntity<ExportReport> exportEmployeesToFile(
+            @RequestParam(defaultValue = "CSV") EmployeeExportService.Format format) throws IOException {
+        return ResponseEntity.ok(exportService.exportToFile(format));
+    }
+
+    /**
+     * Takes a snapshot of all employees into a new file in the server's snapshot directory.
+     *
+     * @return a ResponseEntity containing the file name, row count and size
+     * @throws IOException if the file cannot be written
+     */
+    @PostMapping("snapshots")
+    public ResponseEntity<SnapshotReport> takeSnapshot() throws IOException {
+        return ResponseEntity.ok(snapshotService.snapshot());
+    }
+
+    /**
+     * Lists the snapshots in the server's snapshot directory.
+     *
+     * @return a ResponseEntity containing the snapshot file names, oldest first
+     * @throws IOException if the directory cannot be read
+     */
+    @GetMapping("snapshots")
+    public ResponseEntity<List<String>> listSnapshots() throws IOException {
+        return ResponseEntity.ok(snapshotService.listSnapshots());
+    }
+
+    /**
+     * Replaces all employees with the contents of a snapshot.
+     *
+     * @param name the snapshot file name
+     * @return a ResponseEntity containing the number of employees restored and deleted,
+     * 400 if the snapshot is invalid, or 404 if there is no such snapshot
+     * @throws IOException if the snapshot cannot be read
+     */
+    @PostMapping("snapshots/{name}/restore")
+    public ResponseEntity<SnapshotReport> restoreSnapshot(@PathVariable String name) throws IOException {
+        try {
+            return ResponseEntity.ok(snapshotService.restore(name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Adjusts the salaries of the employees matching a list of rules, e.g. a raise for a position in a city.
+     * A dry run waits for the projected totals; otherwise the adjustment runs in the background.
+     *
+     * @param request the rules, in order of precedence, and the range of IDs to adjust
+     * @param dryRun  if true, only the number of employees and the payroll delta are computed
+     * @return a ResponseEntity containing the final status of a dry run, 202 with the initial status
+     * and its location for an adjustment, or 400 if a rule is invalid
+     */
+    @PostMapping("salary-adjustments")
+    public ResponseEntity<SalaryAdjustmentStatus> adjustSalaries(@RequestBody SalaryAdjustmentRequest request,
+                                                                 @RequestParam(defaultValue = "false") boolean dryRun) {
+        try {
+            if (dryRun) {
+                return ResponseEntity.ok(salaryAdjuster.adjust(request, true));
+            }
+            SalaryAdjustmentStatus status = salaryAdjuster.submit(request, false);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/employees/salary-adjustments/" + status.jobId()))
+                    .body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves the progress of a salary adjustment, per range of employee IDs.
+     *
+     * @param jobId the job ID returned when the adjustment was started
+     * @return a ResponseEntity containing the status of the adjustment, or 404 if it is unknown or no longer tracked
+     */
+    @GetMapping("salary-adjustments/{jobId}")
+    public ResponseEntity<SalaryAdjustmentStatus> getSalaryAdjustment(@PathVariable String jobId) {
+        SalaryAdjustmentStatus status = salaryAdjuster.status(jobId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+}
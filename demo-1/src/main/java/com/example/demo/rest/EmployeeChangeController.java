@@ -0,0 +1,123 @@
+package com.example.demo.rest;
+
+import com.example.demo.dto.EmployeeChangeBatch;
+import com.example.demo.service.EmployeeOutbox;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * REST controller streaming the employee changes recorded in the {@link EmployeeOutbox}.
+ * Consumers keep the offset of the last change they processed and resume from it, instead of
+ * re-reading the employee table to find what changed.
+ */
+@RestController
+@RequestMapping("/employees/events")
+public class EmployeeChangeController {
+
+    // Upper bounds for the batch size and for how long a long-poll request waits
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_WAIT_SECONDS = 25;
+
+    // A stream is closed after this long; clients reconnect with the Last-Event-ID they received
+    private static final long STREAM_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final EmployeeOutbox outbox;
+
+    // Runs waits and stream writes off the threads that commit employee writes
+    private final TaskExecutor taskExecutor;
+
+    public EmployeeChangeController(EmployeeOutbox outbox,
+                                    @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.outbox = outbox;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Long-polls for changes: returns at once if changes follow the offset, otherwise waits for the
+     * next committed change or until the wait time is over.
+     *
+     * @param after the offset of the last change already processed (0 for all retained changes)
+     * @param limit the maximum number of changes to return
+     * @param wait  the maximum number of seconds to wait for a change
+     * @return a ResponseEntity containing the changes (possibly none) and the offset to continue from,
+     *         or 410 Gone if changes following the offset were pruned and the consumer must re-read all employees
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<EmployeeChangeBatch>> pollChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "" + MAX_WAIT_SECONDS) int wait) {
+        if (outbox.isPruned(after)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.GONE).build());
+        }
+        int batchSize = Math.max(1, Math.min(limit, MAX_BATCH_SIZE));
+        EmployeeChangeBatch batch = outbox.read(after, batchSize);
+        if (!batch.changes().isEmpty() || wait <= 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(batch));
+        }
+        return outbox.awaitChanges(after)
+                .completeOnTimeout(null, Math.min(wait, MAX_WAIT_SECONDS), TimeUnit.SECONDS)
+                .thenApplyAsync(ignored -> ResponseEntity.ok(outbox.read(after, batchSize)), taskExecutor);
+    }
+
+    /**
+     * Streams changes as Server-Sent Events. Each `changes` event carries a batch of changes, and its
+     * ID is the offset to resume from. When a stream ends, the client reconnects with that ID in the
+     * `Last-Event-ID` header. A `pruned` event means the consumer must re-read all employees.
+     *
+     * @param after       the offset of the last change already processed (0 for all retained changes)
+     * @param lastEventId the ID of the last event received before a reconnect; takes precedence over `after`
+     * @param limit       the maximum number of changes per event
+     * @return the event stream
+     */
+    @GetMapping("stream")
+    public SseEmitter streamChanges(@RequestParam(defaultValue = "0") long after,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(defaultValue = "100") int limit) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+        long from = lastEventId != null ? lastEventId : after;
+        int batchSize = Math.max(1, Math.min(limit, MAX_BATCH_SIZE));
+        taskExecutor.execute(() -> pump(emitter, open, from, batchSize));
+        return emitter;
+    }
+
+    // Sends the changes following an offset, then waits for the next committed change
+    private void pump(SseEmitter emitter, AtomicBoolean open, long after, int batchSize) {
+        if (!open.get()) {
+            return;
+        }
+        try {
+            if (outbox.isPruned(after)) {
+                emitter.send(SseEmitter.event().name("pruned").data(after));
+                emitter.complete();
+                return;
+            }
+            EmployeeChangeBatch batch = outbox.read(after, batchSize);
+            if (batch.changes().isEmpty()) {
+                outbox.awaitChanges(after).thenRunAsync(() -> pump(emitter, open, after, batchSize), taskExecutor);
+                return;
+            }
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(batch.nextOffset()))
+                    .name("changes")
+                    .data(batch.changes()));
+            taskExecutor.execute(() -> pump(emitter, open, batch.nextOffset(), batchSize));
+        } catch (IOException | RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -1,66 +1,370 @@
 package com.example.demo.rest;
 
+import com.example.demo.dto.BulkDeleteResult;
+import com.example.demo.dto.EmployeeChanges;
+import com.example.demo.dto.EmployeePage;
+import com.example.demo.dto.EmployeeWriteStatus;
+import com.example.demo.dto.SalaryStats;
+import com.example.demo.dto.WorkforceStats;
 import com.example.demo.model.Employee;
+import com.example.demo.service.EmployeeCache;
+import com.example.demo.service.EmployeeColumnStore;
+import com.example.demo.service.EmployeeNameIndex;
 import com.example.demo.service.EmployeeService;
+import com.example.demo.service.EmployeeWriteBehind;
+import com.example.demo.service.PatchOutcome;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * REST controller for managing employee operations.
  * Handles CRUD operations for the `Employee` entity.
  */
 @RestController
-@RequestMapping("/employees/")
+@RequestMapping({"/employees", "/employees/"})
 public class EmployeeController {
 
+    // Media type of the streaming listing, one JSON document per line
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    // Number of rows written between flushes of the streaming listing
+    private static final int STREAM_FLUSH_INTERVAL = 256;
+
     @Autowired
     private EmployeeService employeeService; // Service layer for business logic
 
+    @Autowired
+    private ObjectMapper objectMapper; // JSON mapper used by the streaming listing
+
+    @Autowired
+    private EmployeeWriteBehind writeBehind; // Queue of employee creations in write-behind mode
+
     /**
-     * Retrieves a list of all employees.
+     * Retrieves one page of employees, ordered by ID.
+     * Pagination is keyset based: pass the `nextCursor` of a page as `after` to fetch the next one.
+     * With `fields`, only the listed fields (plus `id`) are read from the database and returned.
+     * The response carries a weak ETag of the page content; a matching `If-None-Match` returns 304 without a body.
      *
-     * @return a ResponseEntity containing the list of employees
+     * @param after       the ID of the last employee of the previous page (omit for the first page)
+     * @param limit       the maximum number of employees to return
+     * @param fields      the fields to return, e.g. firstName,lastName (omit for all fields)
+     * @param ifNoneMatch the ETags of pages the client already has
+     * @return a ResponseEntity containing the page of employees, 304 if it has not changed, or 400 for an unknown field
      */
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.findAll());
+    public ResponseEntity<EmployeePage<?>> getAllEmployees(@RequestParam(required = false) Long after,
+                                                           @RequestParam(defaultValue = "100") int limit,
+                                                           @RequestParam(required = false) List<String> fields,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        EmployeePage<?> page;
+        if (fields == null || fields.isEmpty()) {
+            page = employeeService.findPage(after, limit);
+        } else {
+            try {
+                page = employeeService.findPage(after, limit, fields);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+        }
+        return conditional(pageETag(page, fields), ifNoneMatch, page);
+    }
+
+    /**
+     * Retrieves several employees by ID in one call, e.g. `/employees?ids=1,2,3`.
+     * Employees that are not cached are read with a single query.
+     *
+     * @param ids the IDs of the employees, at most 1000
+     * @return a ResponseEntity containing the employees found in request order (missing IDs are skipped),
+     * or 400 if there are too many IDs
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Employee>> getEmployeesByIds(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Retrieves the employees inserted, updated or deleted since a watermark, for incremental sync.
+     * Start with an ISO-8601 instant, then pass the returned `watermark` as `since`, repeating while `hasMore`.
+     *
+     * @param since the watermark of the previous call, or an instant such as 2024-05-01T00:00:00Z
+     * @param limit the maximum number of changes to return
+     * @return a ResponseEntity containing the changes and the next watermark, or 400 for an invalid `since`
+     */
+    @GetMapping("changes")
+    public ResponseEntity<EmployeeChanges> getChanges(@RequestParam String since,
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(employeeService.getChangesSince(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Streams all employees as newline-delimited JSON.
+     * Rows are written to the response as they are read from the database cursor.
+     *
+     * @param after only employees with a greater ID are streamed (omit for all)
+     * @return a ResponseEntity streaming one employee per line
+     */
+    @GetMapping(value = "stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(@RequestParam(required = false) Long after) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                employeeService.streamAll(after, employee -> {
+                    try {
+                        generator.writeObject(employee);
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
     }
 
     /**
      * Retrieves a single employee by its ID.
+     * The response carries the employee's version as ETag; a matching `If-None-Match` returns 304 without a body.
      *
-     * @param id the ID of the employee to retrieve
-     * @return a ResponseEntity containing the employee
+     * @param id          the ID of the employee to retrieve
+     * @param ifNoneMatch the ETags of the versions the client already has
+     * @return a ResponseEntity containing the employee, or 304 if it has not changed
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Employee employee = employeeService.getEmployeeById(id);
+        return conditional("\"" + employee.getVersion() + "\"", ifNoneMatch, employee);
     }
 
     /**
-     * Saves a new employee.
+     * Retrieves an employee by email.
+     *
+     * @param email the email of the employee
+     * @return a ResponseEntity containing the employee, or 404 if no employee has this email
+     */
+    @GetMapping(value = "lookup", params = "email")
+    public ResponseEntity<Employee> getEmployeeByEmail(@RequestParam String email) {
+        return ResponseEntity.of(employeeService.findByEmail(email));
+    }
+
+    /**
+     * Retrieves one page of employees matching indexed fields, ordered by ID.
+     * Supported filters: lastName, locationCity, status, status and locationCity, or positionTitle.
+     *
+     * @param lastName      the last name to match
+     * @param locationCity  the city to match
+     * @param status        the status to match
+     * @param positionTitle the position title to match
+     * @param page          the zero-based page number
+     * @param size          the page size
+     * @return a ResponseEntity containing the matching employees, or 400 for an unsupported filter combination
+     */
+    @GetMapping("filter")
+    public ResponseEntity<List<Employee>> filterEmployees(@RequestParam(required = false) String lastName,
+                                                          @RequestParam(required = false) String locationCity,
+                                                          @RequestParam(required = false) String status,
+                                                          @RequestParam(required = false) String positionTitle,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(employeeService.findByIndexedFields(lastName, locationCity, status,
+                    positionTitle, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Searches employees by name for type-ahead lookups.
+     * Terms of one or two characters match name prefixes; longer terms match anywhere in a name.
+     *
+     * @param q     the search terms, separated by spaces
+     * @param limit the maximum number of hits
+     * @return a ResponseEntity containing the best matching employees, best first
+     */
+    @GetMapping("search")
+    public ResponseEntity<List<EmployeeNameIndex.Hit>> searchEmployees(@RequestParam String q,
+                                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(employeeService.searchByName(q, limit));
+    }
+
+    /**
+     * Retrieves salary and headcount statistics per group, aggregated by the database.
+     *
+     * @param groupBy the field to group by: locationCity, positionTitle or status
+     * @return a ResponseEntity containing one row per group, or 400 for an unsupported field
+     */
+    @GetMapping("stats/salary")
+    public ResponseEntity<List<SalaryStats>> getSalaryStats(@RequestParam String groupBy) {
+        try {
+            return ResponseEntity.ok(employeeService.getSalaryStats(groupBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Retrieves salary and headcount statistics per group from the incrementally maintained summary table.
+     * Percentiles are not included.
+     *
+     * @param groupBy the field to group by: locationCity, positionTitle or status
+     * @return a ResponseEntity containing one row per group, 400 for an unsupported field,
+     *         or 404 if the summary table is not enabled
+     */
+    @GetMapping("stats/salary/summary")
+    public ResponseEntity<List<SalaryStats>> getSummarizedSalaryStats(@RequestParam String groupBy) {
+        try {
+            return ResponseEntity.of(employeeService.getSummarizedSalaryStats(groupBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Retrieves headcount, salary, age and tenure statistics from the columnar replica, optionally per group.
+     * Every filter parameter is optional; date and salary ranges include the lower and exclude the upper bound.
+     *
+     * @param groupBy the field to group by: locationCity, positionTitle or status; omitted for one overall row
+     * @return a ResponseEntity containing one row per group, 400 for an unsupported field,
+     *         or 404 if the columnar replica is not enabled
+     */
+    @GetMapping("stats/workforce")
+    public ResponseEntity<List<WorkforceStats>> getWorkforceStats(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String locationCity,
+            @RequestParam(required = false) String positionTitle,
+            @RequestParam(required = false) Double minSalary,
+            @RequestParam(required = false) Double maxSalary,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornBefore) {
+        EmployeeColumnStore.Filter filter = new EmployeeColumnStore.Filter(status, locationCity, positionTitle,
+                minSalary, maxSalary, hiredFrom, hiredBefore, bornFrom, bornBefore);
+        try {
+            return ResponseEntity.of(employeeService.getWorkforceStats(groupBy, filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Retrieves the counters of the employee cache used by {@link #getEmployeeById(Long)}.
+     *
+     * @return a ResponseEntity containing the cache hits, misses, evictions and size
+     */
+    @GetMapping("cache/stats")
+    public ResponseEntity<EmployeeCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(employeeService.getCacheStats());
+    }
+
+    /**
+     * Saves a new employee, or updates one if the employee has an ID.
+     * In write-behind mode a new employee is queued and 202 is returned with a tracking ID, unless `durable`
+     * is set, in which case the response waits for the batch to commit. Updates are never queued, so their
+     * version is still checked.
      *
      * @param employee the employee to be saved
-     * @return a ResponseEntity containing the saved employee
+     * @param durable  in write-behind mode, whether to wait until the employee is committed
+     * @return a ResponseEntity containing the saved employee, or the status of the queued write;
+     * 400 if the employee is invalid or has an ID without version, 409 if that version is no longer current
      */
     @PostMapping
-    public ResponseEntity<Employee> saveEmployee(@RequestBody Employee employee) {
+    public ResponseEntity<?> saveEmployee(@RequestBody Employee employee,
+                                          @RequestParam(defaultValue = "false") boolean durable) {
+        if (writeBehind.isEnabled() && employee.getId() == null) {
+            return queueEmployee(employee, durable);
+        }
         try {
             // Save the employee and generate the URI for the new resource
             Employee savedEmployee = employeeService.save(employee);
             return ResponseEntity.created(new URI("/employees/" + savedEmployee.getId())).body(savedEmployee);
+        } catch (OptimisticLockingFailureException e) {
+            // The employee was changed since the client read the version it sent
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             // Return a BAD_REQUEST status if an exception occurs
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
 
+    private ResponseEntity<?> queueEmployee(Employee employee, boolean durable) {
+        EmployeeWriteBehind.Submission submission;
+        try {
+            submission = writeBehind.submit(employee);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            // The queue is full: the client should back off and retry
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        if (durable) {
+            try {
+                Employee saved = submission.committed()
+                        .get(writeBehind.getDurableAckTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                return ResponseEntity.created(URI.create("/employees/" + saved.getId())).body(saved);
+            } catch (ExecutionException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (TimeoutException e) {
+                // Still queued: fall back to an asynchronous acknowledgement
+            }
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/employees/writes/" + submission.trackingId()))
+                .body(writeBehind.status(submission.trackingId()));
+    }
+
+    /**
+     * Retrieves the progress of an employee creation queued in write-behind mode.
+     *
+     * @param trackingId the tracking ID returned when the employee was queued
+     * @return a ResponseEntity containing the status of the write, or 404 if it is unknown or no longer tracked
+     */
+    @GetMapping("writes/{trackingId}")
+    public ResponseEntity<EmployeeWriteStatus> getWriteStatus(@PathVariable String trackingId) {
+        EmployeeWriteStatus status = writeBehind.status(trackingId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
     /**
      * Updates an existing employee by its ID.
      *
@@ -74,16 +378,103 @@ public class EmployeeController {
     }
 
     /**
-     * Deletes an employee by its ID.
+     * Partially updates an employee, changing only the fields present in the body.
+     * Runs a single UPDATE without reading the employee first. The expected version can be
+     * given in an `If-Match` header or a `version` field; the update is then rejected with
+     * 409 Conflict if the employee was changed in the meantime.
+     *
+     * @param id      the ID of the employee to update
+     * @param changes the fields to change and their new values
+     * @param ifMatch the expected version, as returned in the `version` field or `ETag` header
+     * @return 204 No Content on success, 404 if the employee does not exist, 409 on a version conflict
+     *         or 400 if the body is invalid
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable Long id, @RequestBody Map<String, Object> changes,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Map<String, Object> fields = new HashMap<>(changes);
+        Object bodyVersion = fields.remove("version");
+        Long expectedVersion;
+        PatchOutcome outcome;
+        try {
+            expectedVersion = ifMatch != null ? parseVersion(ifMatch)
+                    : bodyVersion != null ? Long.valueOf(bodyVersion.toString()) : null;
+            outcome = employeeService.patchEmployee(id, fields, expectedVersion);
+        } catch (IllegalArgumentException e) {
+            // Return a BAD_REQUEST status for unknown fields or invalid values
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return switch (outcome) {
+            case UPDATED -> expectedVersion != null
+                    ? ResponseEntity.noContent().eTag(String.valueOf(expectedVersion + 1)).build()
+                    : ResponseEntity.noContent().build();
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+        };
+    }
+
+    // Responds 304 Not Modified if the If-None-Match header matches the ETag, otherwise 200 with the body
+    private static <T> ResponseEntity<T> conditional(String eTag, String ifNoneMatch, T body) {
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                if (value.equals("*") || stripWeak(value).equals(stripWeak(eTag))) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                }
+            }
+        }
+        return ResponseEntity.ok().eTag(eTag).body(body);
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    // Weak ETag over the IDs and versions (or projected values) of the items, the cursor and the fields
+    private static String pageETag(EmployeePage<?> page, List<String> fields) {
+        long hash = Objects.hashCode(fields);
+        for (Object item : page.items()) {
+            if (item instanceof Employee employee) {
+                hash = 31 * hash + Objects.hashCode(employee.getId());
+                hash = 31 * hash + Objects.hashCode(employee.getVersion());
+            } else {
+                hash = 31 * hash + item.hashCode();
+            }
+        }
+        hash = 31 * hash + Objects.hashCode(page.nextCursor());
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    // Parses a version from an If-Match header value such as "3" or W/"3"
+    static Long parseVersion(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        return Long.valueOf(value.replace("\"", ""));
+    }
+
+    /**
+     * Deletes an employee by its ID with a single statement.
      *
      * @param id the ID of the employee to delete
-     * @return a ResponseEntity containing a boolean indicating success
-     */
-    @DeleteMapping(value = "delete/{id}")
-    public ResponseEntity<Boolean> deleteEmployee(@PathVariable("id") Long id) {
-        // Delete the employee
-        employeeService.deleteById(id);
-        // Check if the employee still exists and return the result
-        return ResponseEntity.ok(!(employeeService.findById(id) != null));
+     * @return 204 No Content if the employee was deleted, 404 if it did not exist
+     */
+    @DeleteMapping({"/{id}", "delete/{id}"})
+    public ResponseEntity<Void> deleteEmployee(@PathVariable("id") Long id) {
+        return employeeService.deleteEmployee(id) ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Deletes the employees with the given IDs using set-based statements.
+     *
+     * @param ids the IDs of the employees to delete
+     * @return a ResponseEntity containing how many employees were requested and deleted
+     */
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResult> deleteEmployees(@RequestBody List<Long> ids) {
+        int requested = new HashSet<>(ids).size();
+        return ResponseEntity.ok(new BulkDeleteResult(requested, employeeService.deleteEmployees(ids)));
     }
 }
@@ -0,0 +1,111 @@
+package com.example.demo.rest;
+
+import com.example.demo.model.Employee;
+import com.example.demo.service.EmployeeReactiveService;
+import com.example.demo.service.EmployeeService;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Non-blocking variant of {@link EmployeeController}, backed by R2DBC.
+ * Handlers return publishers, so no request thread is held while the database works;
+ * the response is completed when the publisher emits.
+ */
+@RestController
+@RequestMapping({"/reactive/employees", "/reactive/employees/"})
+public class EmployeeReactiveController {
+
+    private final EmployeeReactiveService employeeService;
+
+    public EmployeeReactiveController(EmployeeReactiveService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Streams employees ordered by ID as newline-delimited JSON.
+     * Rows are read from the database only as fast as the client consumes the response.
+     *
+     * @param after only employees with a greater ID are streamed (omit for all)
+     * @param limit the maximum number of employees to stream
+     * @return the employees, one per line
+     */
+    @GetMapping(produces = EmployeeController.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> getAllEmployees(@RequestParam(required = false) Long after,
+                                          @RequestParam(defaultValue = "" + EmployeeService.MAX_PAGE_SIZE) long limit) {
+        return employeeService.findAfter(after, limit);
+    }
+
+    /**
+     * Retrieves a single employee by its ID.
+     *
+     * @param id the ID of the employee to retrieve
+     * @return the employee, or 404 if it does not exist
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable Long id) {
+        return employeeService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Saves a new employee.
+     *
+     * @param employee the employee to be saved
+     * @return the saved employee, or 400 if it could not be saved
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Employee>> saveEmployee(@RequestBody Employee employee) {
+        return employeeService.create(employee)
+                .map(saved -> ResponseEntity.created(URI.create("/reactive/employees/" + saved.getId())).body(saved))
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    /**
+     * Replaces all fields of an employee. The expected version can be given in an `If-Match` header
+     * or the `version` field; the update is then rejected with 409 Conflict if the employee was
+     * changed in the meantime.
+     *
+     * @param id       the ID of the employee to update
+     * @param employee the updated employee data
+     * @param ifMatch  the expected version, as returned in the `version` field or `ETag` header
+     * @return the updated employee, 404 if it does not exist, 409 on a version conflict
+     *         or 400 if the If-Match header is invalid
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable Long id, @RequestBody Employee employee,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatch != null ? EmployeeController.parseVersion(ifMatch) : employee.getVersion();
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService.update(id, employee, expectedVersion)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()));
+    }
+
+    /**
+     * Deletes an employee by its ID.
+     *
+     * @param id the ID of the employee to delete
+     * @return 204 No Content if the employee was deleted, 404 if it did not exist
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable Long id) {
+        return employeeService.delete(id)
+                .map(deleted -> deleted ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+}
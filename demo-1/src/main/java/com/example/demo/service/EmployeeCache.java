@@ -0,0 +1,265 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process cache of employees by ID.
+ * <p>
+ * Entries are evicted least-recently-used once the cache is full, and expire after a fixed
+ * time to live. Cached employees are shared between callers and must not be modified.
+ * <p>
+ * Every invalidation advances a write epoch. A value loaded from the database is only cached
+ * if no invalidation happened while it was being loaded, so a slow reader cannot put back a
+ * row that a concurrent write has just replaced.
+ * <p>
+ * Writes invalidate before they commit, so an invalidation made inside a transaction is repeated
+ * once the transaction completes. A reader that loaded the old row between the first
+ * invalidation and the commit then cannot cache it either.
+ */
+@Component
+public class EmployeeCache {
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups that had to go to the database
+     * @param evictions entries removed because the cache was full or the entry expired
+     * @param size      the current number of entries
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong writeEpoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public EmployeeCache(@Value("${employee.cache.max-size:10000}") int maxSize,
+                         @Value("${employee.cache.ttl:PT5M}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    EmployeeCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Looks up a cached employee.
+     *
+     * @param id the ID of the employee
+     * @return the cached employee, or null if it is not cached or has expired
+     */
+    public Employee get(Long id) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null && nanoClock.getAsLong() - entry.loadedAt() < ttlNanos) {
+                hits.increment();
+                return entry.employee();
+            }
+            if (entry != null) {
+                entries.remove(id);
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current write epoch.
+     * Read it before loading an employee from the database and pass it to {@link #put(Employee, long)}.
+     *
+     * @return the current write epoch
+     */
+    public long epoch() {
+        return writeEpoch.get();
+    }
+
+    /**
+     * Caches an employee loaded from the database, unless a write happened since the load started.
+     *
+     * @param employee the employee to cache
+     * @param epoch    the write epoch read before the employee was loaded
+     */
+    public void put(Employee employee, long epoch) {
+        if (maxSize <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (writeEpoch.get() != epoch) {
+                return;
+            }
+            entries.put(employee.getId(), new Entry(employee, nanoClock.getAsLong()));
+            if (entries.size() > maxSize) {
+                Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an employee from the cache after it was written.
+     * Inside a transaction, the employee is removed again once the transaction completes.
+     *
+     * @param id the ID of the employee
+     */
+    public void invalidate(Long id) {
+        remove(List.of(id));
+        PendingInvalidation pending = pendingInvalidation();
+        if (pending != null) {
+            pending.ids.add(id);
+        }
+    }
+
+    /**
+     * Removes the employees with IDs in a range from the cache, e.g. after a bulk write to that range.
+     * Inside a transaction, the range is removed again once the transaction completes.
+     *
+     * @param fromId the lowest ID to remove
+     * @param toId   the highest ID to remove
+     */
+    public void invalidateRange(long fromId, long toId) {
+        removeRange(fromId, toId);
+        PendingInvalidation pending = pendingInvalidation();
+        if (pending != null) {
+            pending.ranges.add(new long[] {fromId, toId});
+        }
+    }
+
+    /**
+     * Removes every employee from the cache, e.g. after a bulk write.
+     * Inside a transaction, the cache is cleared again once the transaction completes.
+     */
+    public void invalidateAll() {
+        clear();
+        PendingInvalidation pending = pendingInvalidation();
+        if (pending != null) {
+            pending.all = true;
+        }
+    }
+
+    /**
+     * @return a snapshot of the hit, miss and eviction counters
+     */
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Collection<Long> ids) {
+        lock.lock();
+        try {
+            writeEpoch.incrementAndGet();
+            entries.keySet().removeAll(ids);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeRange(long fromId, long toId) {
+        lock.lock();
+        try {
+            writeEpoch.incrementAndGet();
+            entries.keySet().removeIf(id -> id >= fromId && id <= toId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clear() {
+        lock.lock();
+        try {
+            writeEpoch.incrementAndGet();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The invalidations to repeat when the current transaction completes, or null outside a transaction
+    private PendingInvalidation pendingInvalidation() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidation pending && pending.cache() == this) {
+                return pending;
+            }
+        }
+        PendingInvalidation pending = new PendingInvalidation();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private record Entry(Employee employee, long loadedAt) {
+    }
+
+    /**
+     * Invalidations made in one transaction, repeated after it commits or rolls back.
+     */
+    private final class PendingInvalidation implements TransactionSynchronization {
+
+        final Set<Long> ids = new HashSet<>();
+        final List<long[]> ranges = new ArrayList<>();
+        boolean all;
+
+        EmployeeCache cache() {
+            return EmployeeCache.this;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (all) {
+                clear();
+                return;
+            }
+            if (!ids.isEmpty()) {
+                remove(ids);
+            }
+            ranges.forEach(range -> removeRange(range[0], range[1]));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Application event published by {@link EmployeeService} after employees were written.
+ * Components that keep derived views of the "employees" table (indexes, summaries, replicas)
+ * listen for it to stay in sync.
+ *
+ * @param type     what kind of write happened
+ * @param ids      the IDs of the employees written (empty for {@link Type#RESET})
+ * @param employee the full employee after a {@link Type#CREATED} or {@link Type#UPDATED} write, otherwise null
+ * @param previous the employee before an {@link Type#UPDATED} write (null if it is not known) or a
+ *                 {@link Type#PATCHED} write, otherwise null
+ * @param changes  the changed fields and their new values for a {@link Type#PATCHED} write, otherwise null
+ * @param removed  the employees as they were before a {@link Type#DELETED} write, otherwise null
+ * @param appended true if the writing transaction already appended the write to the {@link EmployeeOutbox}
+ *                 (writes over R2DBC), so the event is published after commit only for the other views
+ */
+public record EmployeeChangedEvent(Type type, List<Long> ids, Employee employee, Employee previous,
+                                   Map<String, Object> changes, List<Employee> removed, boolean appended) {
+
+    /**
+     * Kinds of employee writes.
+     */
+    public enum Type {
+        // A new employee was inserted; the event carries the saved employee
+        CREATED,
+        // An employee was fully updated; the event carries the saved employee
+        UPDATED,
+        // Some fields of an employee were updated in place; the event carries the new values and the employee before
+        PATCHED,
+        // Employees were deleted; the event carries the deleted employees
+        DELETED,
+        // An unknown set of employees changed (e.g. the table was cleared); derived views must be rebuilt
+        RESET
+    }
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(Type.CREATED, List.of(employee.getId()), employee, null, null, null, false);
+    }
+
+    public static EmployeeChangedEvent updated(Employee employee, Employee previous) {
+        return new EmployeeChangedEvent(Type.UPDATED, List.of(employee.getId()), employee, previous, null, null,
+                false);
+    }
+
+    public static EmployeeChangedEvent patched(Employee previous, Map<String, Object> changes) {
+        return new EmployeeChangedEvent(Type.PATCHED, List.of(previous.getId()), null, previous, changes, null, false);
+    }
+
+    public static EmployeeChangedEvent deleted(List<Employee> removed) {
+        return new EmployeeChangedEvent(Type.DELETED, removed.stream().map(Employee::getId).toList(), null, null, null,
+                removed, false);
+    }
+
+    public static EmployeeChangedEvent reset() {
+        return new EmployeeChangedEvent(Type.RESET, List.of(), null, null, null, null, false);
+    }
+
+    /**
+     * @return this event, marked as already appended to the outbox
+     */
+    public EmployeeChangedEvent asAppended() {
+        return new EmployeeChangedEvent(type, ids, employee, previous, changes, removed, true);
+    }
+}
@@ -0,0 +1,660 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WorkforceStats;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeJdbcRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-only columnar replica of the "employees" table for analytics queries.
+ * Enabled with {@code employee.columnar.enabled=true}.
+ * <p>
+ * Each analytics field is a column of primitives in an off-heap buffer: the salary as a double, the
+ * dates as epoch days, and the low-cardinality strings (status, city, position title) as int codes into
+ * a per-column dictionary. A row costs 37 bytes off-heap and no objects on the heap, so a scan over
+ * millions of employees creates no garbage.
+ * <p>
+ * Queries scan the columns in blocks: each block is copied into primitive arrays, the filters narrow
+ * a 0/1 mask with one branch-free loop per filter, and the aggregates are summed through the mask.
+ * Such loops are compiled to SIMD instructions by the JIT.
+ * <p>
+ * The replica is loaded from the table once the application is ready, then follows
+ * {@link EmployeeChangedEvent}s like {@link EmployeeNameIndex}. Updates and deletes leave dead rows
+ * behind, which are dropped when they outnumber the live ones.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.columnar.enabled", havingValue = "true")
+public class EmployeeColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeColumnStore.class);
+
+    // Rows per scanned block: the block's arrays stay in the L1/L2 cache
+    private static final int BLOCK_SIZE = 1024;
+
+    // Compact once dead rows outnumber live ones, and there are at least this many
+    private static final int MIN_DEAD_FOR_COMPACTION = 10_000;
+
+    private static final double DAYS_PER_YEAR = 365.2425;
+
+    /**
+     * Conditions on the employees included in an aggregation. Null fields do not filter;
+     * ranges include their lower bound and exclude their upper bound.
+     *
+     * @param status        only employees with this status
+     * @param locationCity  only employees in this city
+     * @param positionTitle only employees with this position title
+     * @param minSalary     only employees earning at least this much
+     * @param maxSalary     only employees earning less than this
+     * @param hiredFrom     only employees hired on or after this date
+     * @param hiredBefore   only employees hired before this date
+     * @param bornFrom      only employees born on or after this date
+     * @param bornBefore    only employees born before this date
+     */
+    public record Filter(String status, String locationCity, String positionTitle, Double minSalary,
+                         Double maxSalary, LocalDate hiredFrom, LocalDate hiredBefore, LocalDate bornFrom,
+                         LocalDate bornBefore) {
+
+        // Every employee
+        public static final Filter NONE = new Filter(null, null, null, null, null, null, null, null, null);
+    }
+
+    private final EmployeeJdbcRepository jdbcRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ReplicaRebuilds rebuilds = new ReplicaRebuilds();
+
+    private Columns columns = new Columns(BLOCK_SIZE);
+
+    public EmployeeColumnStore(EmployeeJdbcRepository jdbcRepository) {
+        this.jdbcRepository = jdbcRepository;
+    }
+
+    /**
+     * Rebuilds the replica from the "employees" table.
+     * Queries keep using the previous replica until the new one is complete. If rebuilds overlap,
+     * the replica loaded by the one that started last is kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long generation;
+        lock.writeLock().lock();
+        try {
+            generation = rebuilds.start();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns loaded = new Columns(BLOCK_SIZE);
+        boolean complete = false;
+        boolean installed;
+        try {
+            // Columns in the order of EmployeeRowMapper.COLUMNS, read without creating entities
+            jdbcRepository.streamRows(null, rs -> loaded.put(rs.getLong(1), rs.getString(13),
+                    rs.getString(5), rs.getString(9), rs.getDouble(12), epochDay(rs.getDate(10)),
+                    epochDay(rs.getDate(7))));
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                List<EmployeeChangedEvent> missed = rebuilds.finish(generation, complete);
+                installed = missed != null;
+                if (installed) {
+                    columns = loaded;
+                    missed.forEach(this::apply);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (!installed) {
+            log.info("Discarded columnar employee replica superseded by a newer rebuild");
+            return;
+        }
+        log.info("Loaded columnar employee replica: {} employees, {} bytes off-heap in {} ms", loaded.live,
+                loaded.offHeapBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Keeps the replica in sync with employee writes once they are committed.
+     *
+     * @param event the write that happened
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.Type.RESET) {
+            rebuild();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilds.record(event);
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregates the employees matching a filter, per group or overall.
+     *
+     * @param filter  the employees to include
+     * @param groupBy the field to group by, or null for a single group of all matching employees
+     * @param today   the date ages and tenures are computed at
+     * @return one row per non-empty group, ordered by group; without grouping, exactly one row
+     */
+    public List<WorkforceStats> aggregate(Filter filter, EmployeeGrouping groupBy, LocalDate today) {
+        lock.readLock().lock();
+        try {
+            return columns.aggregate(filter, groupBy, (int) today.toEpochDay());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of employees in the replica
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Applies one write to the replica; the caller holds the write lock
+    private void apply(EmployeeChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                Employee employee = event.employee();
+                columns.put(employee.getId(), employee.getStatus(), employee.getLocationCity(),
+                        employee.getPositionTitle(), employee.getSalary(), employee.getHireDate().toEpochDay(),
+                        employee.getDateOfBirth().toEpochDay());
+            }
+            case PATCHED -> columns.patch(event.ids().get(0), event.changes());
+            case DELETED -> event.ids().forEach(columns::remove);
+            default -> {
+                // RESET is handled by a rebuild
+            }
+        }
+        if (columns.dead > MIN_DEAD_FOR_COMPACTION && columns.dead > columns.live) {
+            columns = columns.compacted();
+        }
+    }
+
+    private static long epochDay(Date date) {
+        return date.toLocalDate().toEpochDay();
+    }
+
+    /**
+     * The column buffers and dictionaries. Rows are appended; an update appends the new version
+     * of the row and marks the old one dead.
+     */
+    private static final class Columns {
+
+        private final Dictionary statuses = new Dictionary();
+        private final Dictionary cities = new Dictionary();
+        private final Dictionary positions = new Dictionary();
+        private final IdIndex rowsById = new IdIndex();
+
+        private LongBuffer ids;
+        private ByteBuffer alive;
+        private IntBuffer statusCodes;
+        private IntBuffer cityCodes;
+        private IntBuffer positionCodes;
+        private DoubleBuffer salaries;
+        private IntBuffer hireDays;
+        private IntBuffer birthDays;
+
+        private int capacity;
+        private int size;
+        private int live;
+        private int dead;
+
+        Columns(int capacity) {
+            this.capacity = capacity;
+            ids = allocate(capacity, Long.BYTES).asLongBuffer();
+            alive = allocate(capacity, 1);
+            statusCodes = allocate(capacity, Integer.BYTES).asIntBuffer();
+            cityCodes = allocate(capacity, Integer.BYTES).asIntBuffer();
+            positionCodes = allocate(capacity, Integer.BYTES).asIntBuffer();
+            salaries = allocate(capacity, Double.BYTES).asDoubleBuffer();
+            hireDays = allocate(capacity, Integer.BYTES).asIntBuffer();
+            birthDays = allocate(capacity, Integer.BYTES).asIntBuffer();
+        }
+
+        private static ByteBuffer allocate(int capacity, int bytesPerRow) {
+            return ByteBuffer.allocateDirect(capacity * bytesPerRow).order(ByteOrder.nativeOrder());
+        }
+
+        long offHeapBytes() {
+            return (long) capacity * (Long.BYTES + 1 + 5 * Integer.BYTES + Double.BYTES);
+        }
+
+        void put(long id, String status, String city, String position, double salary, long hireDay, long birthDay) {
+            remove(id);
+            if (size == capacity) {
+                grow();
+            }
+            int row = size++;
+            ids.put(row, id);
+            alive.put(row, (byte) 1);
+            statusCodes.put(row, statuses.code(status));
+            cityCodes.put(row, cities.code(city));
+            positionCodes.put(row, positions.code(position));
+            salaries.put(row, salary);
+            hireDays.put(row, (int) hireDay);
+            birthDays.put(row, (int) birthDay);
+            rowsById.put(id, row);
+            live++;
+        }
+
+        // Updates the columns of a patched row in place; fields that are not replicated are ignored
+        void patch(long id, Map<String, Object> changes) {
+            int row = rowsById.get(id);
+            if (row < 0) {
+                return;
+            }
+            changes.forEach((field, value) -> {
+                switch (field) {
+                    case "status" -> statusCodes.put(row, statuses.code((String) value));
+                    case "locationCity" -> cityCodes.put(row, cities.code((String) value));
+                    case "positionTitle" -> positionCodes.put(row, positions.code((String) value));
+                    case "salary" -> salaries.put(row, (Double) value);
+                    case "hireDate" -> hireDays.put(row, (int) ((LocalDate) value).toEpochDay());
+                    case "dateOfBirth" -> birthDays.put(row, (int) ((LocalDate) value).toEpochDay());
+                    default -> {
+                    }
+                }
+            });
+        }
+
+        void remove(long id) {
+            int row = rowsById.remove(id);
+            if (row >= 0) {
+                alive.put(row, (byte) 0);
+                live--;
+                dead++;
+            }
+        }
+
+        private void grow() {
+            Columns grown = new Columns(capacity * 2);
+            grown.copyRows(this);
+            ids = grown.ids;
+            alive = grown.alive;
+            statusCodes = grown.statusCodes;
+            cityCodes = grown.cityCodes;
+            positionCodes = grown.positionCodes;
+            salaries = grown.salaries;
+            hireDays = grown.hireDays;
+            birthDays = grown.birthDays;
+            capacity = grown.capacity;
+        }
+
+        // Copies all rows of a replica with the same or a smaller capacity
+        private void copyRows(Columns source) {
+            int n = source.size;
+            ids.put(0, source.ids, 0, n);
+            alive.put(0, source.alive, 0, n);
+            statusCodes.put(0, source.statusCodes, 0, n);
+            cityCodes.put(0, source.cityCodes, 0, n);
+            positionCodes.put(0, source.positionCodes, 0, n);
+            salaries.put(0, source.salaries, 0, n);
+            hireDays.put(0, source.hireDays, 0, n);
+            birthDays.put(0, source.birthDays, 0, n);
+        }
+
+        // A copy without the dead rows, with the same dictionary codes
+        Columns compacted() {
+            Columns compacted = new Columns(Math.max(BLOCK_SIZE, live * 2));
+            compacted.statuses.copyFrom(statuses);
+            compacted.cities.copyFrom(cities);
+            compacted.positions.copyFrom(positions);
+            for (int row = 0; row < size; row++) {
+                if (alive.get(row) == 1) {
+                    int to = compacted.size++;
+                    compacted.ids.put(to, ids.get(row));
+                    compacted.alive.put(to, (byte) 1);
+                    compacted.statusCodes.put(to, statusCodes.get(row));
+                    compacted.cityCodes.put(to, cityCodes.get(row));
+                    compacted.positionCodes.put(to, positionCodes.get(row));
+                    compacted.salaries.put(to, salaries.get(row));
+                    compacted.hireDays.put(to, hireDays.get(row));
+                    compacted.birthDays.put(to, birthDays.get(row));
+                    compacted.rowsById.put(ids.get(row), to);
+                }
+            }
+            compacted.live = live;
+            return compacted;
+        }
+
+        List<WorkforceStats> aggregate(Filter filter, EmployeeGrouping groupBy, int today) {
+            // A filter value that no employee has matches nothing
+            int status = filterCode(statuses, filter.status());
+            int city = filterCode(cities, filter.locationCity());
+            int position = filterCode(positions, filter.positionTitle());
+            Dictionary groups = groupBy == null ? null : dictionary(groupBy);
+            int groupCount = groups == null ? 1 : groups.size();
+            long[] counts = new long[groupCount];
+            double[] salarySums = new double[groupCount];
+            double[] salaryMins = new double[groupCount];
+            double[] salaryMaxes = new double[groupCount];
+            long[] ageDays = new long[groupCount];
+            long[] tenureDays = new long[groupCount];
+            Arrays.fill(salaryMins, Double.POSITIVE_INFINITY);
+            Arrays.fill(salaryMaxes, Double.NEGATIVE_INFINITY);
+
+            if (status != Dictionary.MISSING && city != Dictionary.MISSING && position != Dictionary.MISSING) {
+                Block block = new Block();
+                for (int start = 0; start < size; start += BLOCK_SIZE) {
+                    int n = Math.min(BLOCK_SIZE, size - start);
+                    block.load(this, start, n, groups == null ? null : codes(groupBy));
+                    block.filter(n, status, city, position, filter);
+                    block.accumulate(n, today, counts, salarySums, salaryMins, salaryMaxes, ageDays, tenureDays);
+                }
+            }
+
+            List<WorkforceStats> stats = new ArrayList<>();
+            for (int g = 0; g < groupCount; g++) {
+                long count = counts[g];
+                if (groups != null && count == 0) {
+                    continue;
+                }
+                stats.add(new WorkforceStats(groups == null ? null : groups.value(g), count,
+                        count == 0 ? null : salarySums[g] / count,
+                        count == 0 ? null : salaryMins[g],
+                        count == 0 ? null : salaryMaxes[g],
+                        count == 0 ? null : ageDays[g] / DAYS_PER_YEAR / count,
+                        count == 0 ? null : tenureDays[g] / DAYS_PER_YEAR / count));
+            }
+            if (groups != null) {
+                stats.sort((a, b) -> a.group().compareTo(b.group()));
+            }
+            return stats;
+        }
+
+        private static int filterCode(Dictionary dictionary, String value) {
+            return value == null ? Dictionary.ANY : dictionary.find(value);
+        }
+
+        private Dictionary dictionary(EmployeeGrouping grouping) {
+            return switch (grouping) {
+                case LOCATION_CITY -> cities;
+                case POSITION_TITLE -> positions;
+                case STATUS -> statuses;
+            };
+        }
+
+        private IntBuffer codes(EmployeeGrouping grouping) {
+            return switch (grouping) {
+                case LOCATION_CITY -> cityCodes;
+                case POSITION_TITLE -> positionCodes;
+                case STATUS -> statusCodes;
+            };
+        }
+    }
+
+    /**
+     * One block of rows copied to the heap for scanning. Every loop runs over plain arrays
+     * without branches, so the JIT can vectorize it.
+     */
+    private static final class Block {
+
+        private final byte[] alive = new byte[BLOCK_SIZE];
+        private final int[] mask = new int[BLOCK_SIZE];
+        private final int[] codes = new int[BLOCK_SIZE];
+        private final int[] groups = new int[BLOCK_SIZE];
+        private final double[] salaries = new double[BLOCK_SIZE];
+        private final int[] hireDays = new int[BLOCK_SIZE];
+        private final int[] birthDays = new int[BLOCK_SIZE];
+
+        // Set by load: the replica and first row of the block, for the code columns read by filter
+        private Columns columns;
+        private int start;
+
+        void load(Columns columns, int start, int n, IntBuffer groupCodes) {
+            columns.alive.get(start, alive, 0, n);
+            columns.salaries.get(start, salaries, 0, n);
+            columns.hireDays.get(start, hireDays, 0, n);
+            columns.birthDays.get(start, birthDays, 0, n);
+            if (groupCodes != null) {
+                groupCodes.get(start, groups, 0, n);
+            } else {
+                Arrays.fill(groups, 0, n, 0);
+            }
+            for (int i = 0; i < n; i++) {
+                mask[i] = alive[i];
+            }
+            this.columns = columns;
+            this.start = start;
+        }
+
+        void filter(int n, int status, int city, int position, Filter filter) {
+            matchCode(n, columns.statusCodes, status);
+            matchCode(n, columns.cityCodes, city);
+            matchCode(n, columns.positionCodes, position);
+            if (filter.minSalary() != null) {
+                double min = filter.minSalary();
+                for (int i = 0; i < n; i++) {
+                    mask[i] &= salaries[i] >= min ? 1 : 0;
+                }
+            }
+            if (filter.maxSalary() != null) {
+                double max = filter.maxSalary();
+                for (int i = 0; i < n; i++) {
+                    mask[i] &= salaries[i] < max ? 1 : 0;
+                }
+            }
+            matchRange(n, hireDays, filter.hiredFrom(), filter.hiredBefore());
+            matchRange(n, birthDays, filter.bornFrom(), filter.bornBefore());
+        }
+
+        private void matchCode(int n, IntBuffer column, int code) {
+            if (code == Dictionary.ANY) {
+                return;
+            }
+            column.get(start, codes, 0, n);
+            for (int i = 0; i < n; i++) {
+                mask[i] &= codes[i] == code ? 1 : 0;
+            }
+        }
+
+        private void matchRange(int n, int[] days, LocalDate from, LocalDate before) {
+            if (from != null) {
+                int first = (int) from.toEpochDay();
+                for (int i = 0; i < n; i++) {
+                    mask[i] &= days[i] >= first ? 1 : 0;
+                }
+            }
+            if (before != null) {
+                int end = (int) before.toEpochDay();
+                for (int i = 0; i < n; i++) {
+                    mask[i] &= days[i] < end ? 1 : 0;
+                }
+            }
+        }
+
+        void accumulate(int n, int today, long[] counts, double[] salarySums, double[] salaryMins,
+                        double[] salaryMaxes, long[] ageDays, long[] tenureDays) {
+            if (counts.length == 1) {
+                // Not grouped: plain reductions
+                long count = 0;
+                double sum = 0;
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                long age = 0;
+                long tenure = 0;
+                for (int i = 0; i < n; i++) {
+                    int m = mask[i];
+                    count += m;
+                    sum += m * salaries[i];
+                    min = Math.min(min, m == 1 ? salaries[i] : Double.POSITIVE_INFINITY);
+                    max = Math.max(max, m == 1 ? salaries[i] : Double.NEGATIVE_INFINITY);
+                    age += m * (today - birthDays[i]);
+                    tenure += m * (today - hireDays[i]);
+                }
+                counts[0] += count;
+                salarySums[0] += sum;
+                salaryMins[0] = Math.min(salaryMins[0], min);
+                salaryMaxes[0] = Math.max(salaryMaxes[0], max);
+                ageDays[0] += age;
+                tenureDays[0] += tenure;
+                return;
+            }
+            for (int i = 0; i < n; i++) {
+                int m = mask[i];
+                int g = groups[i];
+                counts[g] += m;
+                salarySums[g] += m * salaries[i];
+                salaryMins[g] = Math.min(salaryMins[g], m == 1 ? salaries[i] : Double.POSITIVE_INFINITY);
+                salaryMaxes[g] = Math.max(salaryMaxes[g], m == 1 ? salaries[i] : Double.NEGATIVE_INFINITY);
+                ageDays[g] += m * (today - birthDays[i]);
+                tenureDays[g] += m * (today - hireDays[i]);
+            }
+        }
+    }
+
+    /**
+     * Maps the distinct values of a string column to dense int codes. Codes are never reused,
+     * so a value that is no longer used keeps its code until the next rebuild.
+     */
+    private static final class Dictionary {
+
+        // Filter codes: no condition, and a value not in the dictionary
+        static final int ANY = -1;
+        static final int MISSING = -2;
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        int find(String value) {
+            return codes.getOrDefault(value, MISSING);
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void copyFrom(Dictionary other) {
+            codes.putAll(other.codes);
+            values.addAll(other.values);
+        }
+    }
+
+    /**
+     * Open-addressing hash map from employee ID to row, with primitive keys and values.
+     * IDs are positive, so 0 marks a free slot. Removed entries become tombstones that are
+     * reused by later inserts and dropped when the table grows.
+     */
+    private static final class IdIndex {
+
+        private static final long FREE = 0;
+        private static final long REMOVED = -1;
+
+        private long[] keys = new long[16];
+        private int[] rows = new int[16];
+        private int used;
+
+        int get(long id) {
+            int mask = keys.length - 1;
+            for (int slot = hash(id) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return rows[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long id, int row) {
+            if ((used + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int reusable = -1;
+            int slot = hash(id) & mask;
+            for (; keys[slot] != FREE; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    rows[slot] = row;
+                    return;
+                }
+                if (keys[slot] == REMOVED && reusable < 0) {
+                    reusable = slot;
+                }
+            }
+            if (reusable >= 0) {
+                slot = reusable;
+            } else {
+                used++;
+            }
+            keys[slot] = id;
+            rows[slot] = row;
+        }
+
+        int remove(long id) {
+            int mask = keys.length - 1;
+            for (int slot = hash(id) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    keys[slot] = REMOVED;
+                    return rows[slot];
+                }
+            }
+            return -1;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = new long[oldKeys.length * 2];
+            rows = new int[oldKeys.length * 2];
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE && oldKeys[i] != REMOVED) {
+                    put(oldKeys[i], oldRows[i]);
+                }
+            }
+        }
+
+        private static int hash(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExportReport;
+import com.example.demo.repository.EmployeeJdbcRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service for bulk exporting the "employees" table.
+ * <p>
+ * Rows are read with a forward-only JDBC cursor and written straight from the result set,
+ * without creating `Employee` entities or touching the persistence context. Output is
+ * gzip-compressed and produced as the rows arrive, so memory use does not grow with the table.
+ */
+@Service
+public class EmployeeExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeExportService.class);
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        // Gzip-compressed CSV with a header row
+        CSV("csv.gz"),
+        // Gzip-compressed columnar binary file, see ColumnarWriter
+        COLUMNAR("empc.gz");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    // Exported columns, in the order of EmployeeRowMapper.COLUMNS
+    static final String[] COLUMN_NAMES = {"id", "firstName", "middleName", "lastName", "locationCity", "address",
+            "dateOfBirth", "telephone", "positionTitle", "hireDate", "email", "salary", "status"};
+
+    private final EmployeeJdbcRepository jdbcRepository;
+    private final EmployeeMetrics metrics;
+    private final Path exportDirectory;
+    private final int rowGroupSize;
+
+    public EmployeeExportService(EmployeeJdbcRepository jdbcRepository, EmployeeMetrics metrics,
+                                 @Value("${employee.export.directory:exports}") String exportDirectory,
+                                 @Value("${employee.export.row-group-size:65536}") int rowGroupSize) {
+        this.jdbcRepository = jdbcRepository;
+        this.metrics = metrics;
+        this.exportDirectory = Paths.get(exportDirectory);
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    /**
+     * Exports all employees to the given stream.
+     * The stream is not closed.
+     *
+     * @param out    the stream to write to
+     * @param format the export format
+     * @return a report with the row count and throughput
+     * @throws IOException if writing fails
+     */
+    public ExportReport export(OutputStream out, Format format) throws IOException {
+        return export(out, format, null);
+    }
+
+    /**
+     * Exports all employees to a new file in the configured export directory.
+     *
+     * @param format the export format
+     * @return a report with the file name, row count and throughput
+     * @throws IOException if the file cannot be written
+     */
+    public ExportReport exportToFile(Format format) throws IOException {
+        Files.createDirectories(exportDirectory);
+        String name = "employees-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS"))
+                + "." + format.getExtension();
+        try (OutputStream out = Files.newOutputStream(exportDirectory.resolve(name))) {
+            return export(out, format, name);
+        }
+    }
+
+    private ExportReport export(OutputStream out, Format format, String file) throws IOException {
+        long start = System.nanoTime();
+        CountingOutputStream counting = new CountingOutputStream(out);
+        GZIPOutputStream gzip = new GZIPOutputStream(counting, 64 * 1024);
+        long rows;
+        try {
+            rows = format == Format.CSV ? writeCsv(gzip) : writeColumnar(gzip);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gzip.finish();
+        gzip.flush();
+        metrics.rowsRead(EmployeeMetrics.Read.EXPORT, rows);
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos > 0 ? rows * 1_000_000_000.0 / elapsedNanos : 0;
+        ExportReport report = new ExportReport(file, rows, counting.count,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+        log.info("Exported {} employees as {} ({} bytes) in {} ms, {} rows/s", rows, format, counting.count,
+                report.elapsedMillis(), Math.round(rowsPerSecond));
+        return report;
+    }
+
+    private long writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(String.join(",", COLUMN_NAMES));
+        writer.write('\n');
+        long[] rows = {0};
+        jdbcRepository.streamRows(null, rs -> {
+            try {
+                for (int column = 1; column <= COLUMN_NAMES.length; column++) {
+                    if (column > 1) {
+                        writer.write(',');
+                    }
+                    String value = rs.getString(column);
+                    if (value != null) {
+                        writeCsvValue(writer, value);
+                    }
+                }
+                writer.write('\n');
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return rows[0];
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private long writeColumnar(OutputStream out) throws IOException {
+        ColumnarWriter writer = new ColumnarWriter(new DataOutputStream(new BufferedOutputStream(out, 64 * 1024)),
+                rowGroupSize);
+        jdbcRepository.streamRows(null, rs -> {
+            try {
+                writer.addRow(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return writer.finish();
+    }
+
+    /**
+     * Writes employees in a compact column-oriented binary layout.
+     * <p>
+     * Layout (big-endian, before gzip):
+     * <pre>
+     * "EMPC"  int version  int columnCount  (UTF name, byte type) per column
+     * row groups: int rowCount, then each column's values for the group, one column after the other
+     * int 0   end of file
+     * </pre>
+     * Types are {@code L} (long), {@code D} (double), {@code T} (date as int epoch day,
+     * {@code Integer.MIN_VALUE} for null) and {@code S} (string as int UTF-8 length, -1 for null,
+     * then the bytes). Rows are buffered one row group at a time.
+     */
+    static final class ColumnarWriter {
+
+        static final int VERSION = 1;
+
+        // Column types, in the order of COLUMN_NAMES
+        static final char[] COLUMN_TYPES = {'L', 'S', 'S', 'S', 'S', 'S', 'T', 'S', 'S', 'T', 'S', 'D', 'S'};
+
+        private final DataOutputStream out;
+        private final int rowGroupSize;
+        private final ByteArrayOutputStream[] buffers = new ByteArrayOutputStream[COLUMN_TYPES.length];
+        private final DataOutputStream[] columns = new DataOutputStream[COLUMN_TYPES.length];
+        private int groupRows;
+        private long totalRows;
+
+        ColumnarWriter(DataOutputStream out, int rowGroupSize) throws IOException {
+            this.out = out;
+            this.rowGroupSize = rowGroupSize;
+            for (int i = 0; i < COLUMN_TYPES.length; i++) {
+                buffers[i] = new ByteArrayOutputStream();
+                columns[i] = new DataOutputStream(buffers[i]);
+            }
+            out.writeBytes("EMPC");
+            out.writeInt(VERSION);
+            out.writeInt(COLUMN_NAMES.length);
+            for (int i = 0; i < COLUMN_NAMES.length; i++) {
+                out.writeUTF(COLUMN_NAMES[i]);
+                out.writeByte(COLUMN_TYPES[i]);
+            }
+        }
+
+        void addRow(ResultSet rs) throws IOException {
+            try {
+                for (int i = 0; i < COLUMN_TYPES.length; i++) {
+                    DataOutputStream column = columns[i];
+                    switch (COLUMN_TYPES[i]) {
+                        case 'L' -> column.writeLong(rs.getLong(i + 1));
+                        case 'D' -> column.writeDouble(rs.getDouble(i + 1));
+                        case 'T' -> {
+                            Date date = rs.getDate(i + 1);
+                            column.writeInt(date != null ? (int) date.toLocalDate().toEpochDay() : Integer.MIN_VALUE);
+                        }
+                        default -> {
+                            String value = rs.getString(i + 1);
+                            if (value == null) {
+                                column.writeInt(-1);
+                            } else {
+                                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                                column.writeInt(bytes.length);
+                                column.write(bytes);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IOException("Failed to read employee row", e);
+            }
+            if (++groupRows == rowGroupSize) {
+                flushGroup();
+            }
+        }
+
+        long finish() throws IOException {
+            flushGroup();
+            out.writeInt(0);
+            out.flush();
+            return totalRows;
+        }
+
+        private void flushGroup() throws IOException {
+            if (groupRows == 0) {
+                return;
+            }
+            out.writeInt(groupRows);
+            for (ByteArrayOutputStream buffer : buffers) {
+                buffer.writeTo(out);
+                buffer.reset();
+            }
+            totalRows += groupRows;
+            groupRows = 0;
+        }
+    }
+
+    // Counts the bytes written through it
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+
+import java.util.function.Function;
+
+/**
+ * Employee fields that salary and headcount statistics can be grouped by.
+ */
+public enum EmployeeGrouping {
+    LOCATION_CITY("locationCity", "location_city", Employee::getLocationCity),
+    POSITION_TITLE("positionTitle", "position_title", Employee::getPositionTitle),
+    STATUS("status", "status", Employee::getStatus);
+
+    private final String field;
+    private final String column;
+    private final Function<Employee, String> accessor;
+
+    EmployeeGrouping(String field, String column, Function<Employee, String> accessor) {
+        this.field = field;
+        this.column = column;
+        this.accessor = accessor;
+    }
+
+    /**
+     * @return the name of the grouping field of {@link Employee}
+     */
+    public String field() {
+        return field;
+    }
+
+    /**
+     * @return the column of the grouping field in the "employees" table
+     */
+    public String column() {
+        return column;
+    }
+
+    /**
+     * @param employee an employee
+     * @return the value of the grouping field of the employee
+     */
+    public String valueOf(Employee employee) {
+        return accessor.apply(employee);
+    }
+
+    /**
+     * Looks up a grouping by the name of its field.
+     *
+     * @param field the field name, e.g. "locationCity"
+     * @return the grouping
+     * @throws IllegalArgumentException if the field cannot be grouped by
+     */
+    public static EmployeeGrouping ofField(String field) {
+        for (EmployeeGrouping grouping : values()) {
+            if (grouping.field.equals(field)) {
+                return grouping;
+            }
+        }
+        throw new IllegalArgumentException("Cannot group by: " + field);
+    }
+}
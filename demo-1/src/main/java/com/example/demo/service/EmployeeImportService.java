@@ -0,0 +1,366 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ImportReport;
+import com.example.demo.dto.ImportReport.RowError;
+import com.example.demo.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for bulk importing employees from CSV or NDJSON input.
+ * <p>
+ * The input is processed as a pipeline of two stages connected by a bounded queue:
+ * parsing and validation on the calling thread, and batched insertion on the task executor.
+ * A full queue blocks the calling thread, so a slow database slows down reading the input
+ * instead of buffering it in memory. Each import holds at most one executor thread, so
+ * concurrent imports cannot use up the executor while waiting for each other's stages.
+ */
+@Service
+public class EmployeeImportService {
+
+    /**
+     * Supported input formats.
+     */
+    public enum Format {
+        // Comma-separated values with a header row naming the employee fields
+        CSV,
+        // One JSON employee document per line
+        NDJSON
+    }
+
+    // Marks the end of the stream in a stage queue
+    private static final ParsedRow END = new ParsedRow(-1, null);
+
+    // How long a stage waits on a full queue before checking whether the next stage is still running
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor taskExecutor;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxReportedErrors;
+
+    public EmployeeImportService(EmployeeService employeeService, ObjectMapper objectMapper,
+                                 @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                 @Value("${employee.import.batch-size:500}") int batchSize,
+                                 @Value("${employee.import.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${employee.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports employees from the given input stream.
+     * The stream is read line by line and never fully buffered.
+     *
+     * @param input  the input to read
+     * @param format the format of the input
+     * @return a report with the row counts, per-row errors and throughput
+     * @throws IOException if the input cannot be read
+     */
+    public ImportReport importEmployees(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportState state = new ImportState(maxReportedErrors);
+        BlockingQueue<ParsedRow> validated = new ArrayBlockingQueue<>(queueCapacity);
+
+        // Only the write stage runs on the executor, so an import never waits for a second executor thread
+        Future<?> writer = taskExecutor.submit(() -> write(validated, state));
+        try {
+            parse(input, format, validated, writer, state);
+        } finally {
+            put(validated, END, writer);
+            await(writer);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        double rowsPerSecond = elapsedNanos > 0 ? state.rowsRead.get() * 1_000_000_000.0 / elapsedNanos : 0;
+        return new ImportReport(state.rowsRead.get(), state.rowsImported.get(), state.rowsRejected.get(),
+                state.errors(), state.errorsTruncated(), elapsedMillis, rowsPerSecond);
+    }
+
+    // Stage 1: turns each input line into an employee, checks its required fields and forwards valid rows
+    private void parse(InputStream input, Format format, BlockingQueue<ParsedRow> out, Future<?> next,
+                       ImportState state) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long line = 0;
+        List<String> header = null;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = parseCsvLine(text);
+                continue;
+            }
+            state.rowsRead.incrementAndGet();
+            Employee employee;
+            String error;
+            try {
+                employee = format == Format.CSV ? fromCsv(header, parseCsvLine(text)) : fromJson(text);
+                employee.setId(null);
+                employee.setVersion(null);
+                error = validate(employee);
+            } catch (Exception e) {
+                employee = null;
+                error = "Unparseable row: " + message(e);
+            }
+            if (error != null) {
+                state.reject(line, error);
+            } else {
+                put(out, new ParsedRow(line, employee), next);
+            }
+        }
+    }
+
+    // Stage 2: inserts valid rows in batches, one transaction per batch
+    private void write(BlockingQueue<ParsedRow> in, ImportState state) {
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        try {
+            ParsedRow row;
+            while ((row = in.take()) != END) {
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    flush(batch, state);
+                }
+            }
+            flush(batch, state);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(List<ParsedRow> batch, ImportState state) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            employeeService.saveAllAndFlush(batch.stream().map(ParsedRow::employee).toList());
+            state.rowsImported.addAndGet(batch.size());
+        } catch (Exception batchFailure) {
+            // Retry row by row so that one bad row (e.g. a duplicate email) only rejects itself
+            for (ParsedRow row : batch) {
+                try {
+                    row.employee().setId(null);
+                    row.employee().setVersion(null);
+                    employeeService.save(row.employee());
+                    state.rowsImported.incrementAndGet();
+                } catch (Exception e) {
+                    state.reject(row.line(), "Insert failed: " + message(e));
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Checks that an employee has every field required by the "employees" table.
+     *
+     * @param employee the employee to check
+     * @return a description of the first problem found, or null if the employee is valid
+     */
+    static String validate(Employee employee) {
+        if (isBlank(employee.getFirstName())) {
+            return "firstName is required";
+        }
+        if (isBlank(employee.getLastName())) {
+            return "lastName is required";
+        }
+        if (isBlank(employee.getLocationCity())) {
+            return "locationCity is required";
+        }
+        if (isBlank(employee.getAddress())) {
+            return "address is required";
+        }
+        if (employee.getAddress().length() > 255) {
+            return "address must be at most 255 characters";
+        }
+        if (employee.getDateOfBirth() == null) {
+            return "dateOfBirth is required";
+        }
+        if (isBlank(employee.getTelephone())) {
+            return "telephone is required";
+        }
+        if (isBlank(employee.getPositionTitle())) {
+            return "positionTitle is required";
+        }
+        if (employee.getHireDate() == null) {
+            return "hireDate is required";
+        }
+        if (isBlank(employee.getEmail()) || !employee.getEmail().contains("@")) {
+            return "email is invalid";
+        }
+        if (employee.getSalary() == null || employee.getSalary() < 0) {
+            return "salary must be zero or positive";
+        }
+        if (isBlank(employee.getStatus())) {
+            return "status is required";
+        }
+        return null;
+    }
+
+    private Employee fromJson(String line) throws IOException {
+        return objectMapper.readValue(line, Employee.class);
+    }
+
+    private static Employee fromCsv(List<String> header, List<String> values) {
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " columns but found " + values.size());
+        }
+        Employee employee = new Employee();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            switch (header.get(i).trim()) {
+                case "firstName" -> employee.setFirstName(value);
+                case "middleName" -> employee.setMiddleName(value);
+                case "lastName" -> employee.setLastName(value);
+                case "locationCity" -> employee.setLocationCity(value);
+                case "address" -> employee.setAddress(value);
+                case "dateOfBirth" -> employee.setDateOfBirth(value != null ? LocalDate.parse(value) : null);
+                case "telephone" -> employee.setTelephone(value);
+                case "positionTitle" -> employee.setPositionTitle(value);
+                case "hireDate" -> employee.setHireDate(value != null ? LocalDate.parse(value) : null);
+                case "email" -> employee.setEmail(value);
+                case "salary" -> employee.setSalary(value != null ? Double.valueOf(value) : null);
+                case "status" -> employee.setStatus(value);
+                default -> {
+                    // Unknown columns (including id) are ignored
+                }
+            }
+        }
+        return employee;
+    }
+
+    /**
+     * Splits one CSV line into its values.
+     * Values may be quoted with double quotes, and a doubled quote inside a quoted value
+     * stands for a literal quote. Quoted values cannot span lines.
+     *
+     * @param line the line to split
+     * @return the values of the line
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted value");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // Blocks until the queue has room, failing if the consuming stage has stopped
+    private static void put(BlockingQueue<ParsedRow> queue, ParsedRow row, Future<?> consumer) {
+        try {
+            while (!queue.offer(row, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (consumer.isDone()) {
+                    throw new IllegalStateException("Import pipeline stopped unexpectedly");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    private static void await(Future<?> stage) {
+        try {
+            stage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import failed", e.getCause());
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String message(Exception e) {
+        return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+
+    // A valid input row
+    private record ParsedRow(long line, Employee employee) {
+    }
+
+    // Counters and errors shared by the pipeline stages
+    private static final class ImportState {
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private final int maxErrors;
+
+        private ImportState(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long line, String message) {
+            if (rowsRejected.incrementAndGet() <= maxErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        private List<RowError> errors() {
+            List<RowError> sorted = new ArrayList<>(errors);
+            sorted.sort((a, b) -> Long.compare(a.line(), b.line()));
+            return sorted;
+        }
+
+        private boolean errorsTruncated() {
+            return rowsRejected.get() > maxErrors;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeJdbcRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Loads employees by ID from the database, coalescing concurrent lookups.
+ * <p>
+ * Lookups of an ID that is already being loaded wait for that load instead of issuing their own
+ * query. Lookups of other IDs are collected into one {@code WHERE id IN (...)} query while another
+ * query is running: the first lookup of a batch waits until no other query is running or the batch
+ * window has passed, then loads the whole batch, unless the batch fills up first, in which case the
+ * lookup that filled it loads it. A lookup made while no query is running is loaded at once.
+ * <p>
+ * A load in progress is only shared while it can still see every write that was made before the
+ * lookup: if the cache write epoch advanced since its query started, a new load is issued.
+ * Loaded employees are put in the cache under the epoch read before the query.
+ */
+@Component
+public class EmployeeLoader {
+
+    private final EmployeeJdbcRepository jdbcRepository;
+    private final EmployeeCache cache;
+    private final EmployeeMetrics metrics;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final DistributionSummary batchSizes;
+    private final Counter coalesced;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Load> inFlight = new HashMap<>();
+    private Batch collecting; // The batch still accepting IDs, or null
+    private volatile int running; // Batches closed but not yet loaded (written under the lock)
+
+    public EmployeeLoader(EmployeeJdbcRepository jdbcRepository, EmployeeCache cache, EmployeeMetrics metrics,
+                          MeterRegistry registry,
+                          @Value("${employee.loader.batch-window:PT0.002S}") Duration batchWindow,
+                          @Value("${employee.loader.max-batch-size:100}") int maxBatchSize) {
+        this.jdbcRepository = jdbcRepository;
+        this.cache = cache;
+        this.metrics = metrics;
+        this.windowNanos = batchWindow.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchSizes = DistributionSummary.builder("employee.loader.batch.size")
+                .description("Distinct employee IDs loaded per query")
+                .register(registry);
+        this.coalesced = Counter.builder("employee.loader.coalesced")
+                .description("Employee lookups that shared a load already in progress")
+                .register(registry);
+    }
+
+    /**
+     * Loads an employee from the database, sharing the query with concurrent lookups.
+     *
+     * @param id the ID of the employee
+     * @return the employee, or empty if there is no employee with this ID
+     */
+    public Optional<Employee> load(Long id) {
+        Load load;
+        Batch toRun = null;
+        boolean leader = false;
+        lock.lock();
+        try {
+            Load existing = inFlight.get(id);
+            if (existing != null && existing.batch.sees(cache.epoch())) {
+                coalesced.increment();
+                load = existing;
+            } else {
+                if (collecting == null) {
+                    collecting = new Batch(Thread.currentThread());
+                    leader = true;
+                }
+                load = new Load(collecting);
+                collecting.loads.put(id, load);
+                inFlight.put(id, load);
+                // Nothing to wait for if no other query is running
+                if (collecting.loads.size() >= maxBatchSize || (leader && running == 0)) {
+                    toRun = close(collecting);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader && toRun == null) {
+            // Woken early if another lookup fills up the batch or the running queries finish
+            long deadline = System.nanoTime() + windowNanos;
+            long wait = windowNanos;
+            while (wait > 0 && load.batch.epoch == Batch.OPEN && running > 0) {
+                LockSupport.parkNanos(this, wait);
+                wait = deadline - System.nanoTime();
+            }
+            lock.lock();
+            try {
+                toRun = close(load.batch);
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (toRun != null) {
+            if (!leader) {
+                LockSupport.unpark(toRun.leader);
+            }
+            run(toRun);
+        }
+        return await(load);
+    }
+
+    // Called with the lock held; returns the batch if the caller must run it, or null if it already ran
+    private Batch close(Batch batch) {
+        if (batch.epoch != Batch.OPEN) {
+            return null;
+        }
+        if (collecting == batch) {
+            collecting = null;
+        }
+        batch.epoch = cache.epoch();
+        running++;
+        return batch;
+    }
+
+    private void run(Batch batch) {
+        Map<Long, Employee> found = new HashMap<>();
+        RuntimeException failure = null;
+        try {
+            for (Employee employee : jdbcRepository.findAllById(batch.loads.keySet())) {
+                found.put(employee.getId(), employee);
+                cache.put(employee, batch.epoch);
+            }
+            batchSizes.record(batch.loads.size());
+            metrics.rowsRead(EmployeeMetrics.Read.LOOKUP, found.size());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        lock.lock();
+        try {
+            // Only if not replaced by a newer load after a write
+            batch.loads.forEach(inFlight::remove);
+            if (--running == 0 && collecting != null) {
+                LockSupport.unpark(collecting.leader);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Map.Entry<Long, Load> entry : batch.loads.entrySet()) {
+            if (failure == null) {
+                entry.getValue().result.complete(found.get(entry.getKey()));
+            } else {
+                entry.getValue().result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private static Optional<Employee> await(Load load) {
+        try {
+            return Optional.ofNullable(load.result.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the IDs currently being loaded, for tests
+     */
+    List<Long> inFlight() {
+        lock.lock();
+        try {
+            return new ArrayList<>(inFlight.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * IDs loaded by one query.
+     */
+    private static final class Batch {
+
+        static final long OPEN = -1;
+
+        final Thread leader;
+        final Map<Long, Load> loads = new LinkedHashMap<>();
+
+        // The write epoch read before the query, or OPEN while the batch accepts IDs (written under the lock)
+        volatile long epoch = OPEN;
+
+        Batch(Thread leader) {
+            this.leader = leader;
+        }
+
+        boolean sees(long currentEpoch) {
+            return epoch == OPEN || epoch == currentEpoch;
+        }
+    }
+
+    /**
+     * The pending result of loading one ID; null if the employee does not exist.
+     */
+    private record Load(Batch batch, CompletableFuture<Employee> result) {
+
+        Load(Batch batch) {
+            this(batch, new CompletableFuture<>());
+        }
+    }
+}
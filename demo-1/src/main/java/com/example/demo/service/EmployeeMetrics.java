@@ -0,0 +1,46 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counters of employee rows read, by kind of read.
+ * Rows written are counted for all statements by {@code SqlStatementMetrics}.
+ */
+@Component
+public class EmployeeMetrics {
+
+    /**
+     * Kinds of reads, used as the "operation" tag.
+     */
+    public enum Read {
+        LIST, PAGE, FILTER, LOOKUP, SEARCH, STREAM, EXPORT, CHANGES
+    }
+
+    // Counters are created once so recording is a single increment
+    private final Map<Read, Counter> rowsRead = new EnumMap<>(Read.class);
+
+    public EmployeeMetrics(MeterRegistry registry) {
+        for (Read read : Read.values()) {
+            rowsRead.put(read, Counter.builder("employee.rows.read")
+                    .description("Employee rows read from the database")
+                    .tag("operation", read.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    /**
+     * @param read the kind of read
+     * @param rows the number of rows read
+     */
+    public void rowsRead(Read read, long rows) {
+        if (rows > 0) {
+            rowsRead.get(read).increment(rows);
+        }
+    }
+}
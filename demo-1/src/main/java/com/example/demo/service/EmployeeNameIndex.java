@@ -0,0 +1,413 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeJdbcRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the first, middle and last names of all employees,
+ * used for type-ahead search.
+ * <p>
+ * Every name token is indexed by its trigrams, plus two padded trigrams for its first one and
+ * two characters, so both prefix queries ("jo") and substring queries ("ohn") are answered
+ * from a posting list. A query only verifies the employees of its shortest posting list,
+ * then ranks them: exact token matches before prefix matches before substring matches.
+ * <p>
+ * The index is built from the "employees" table once the application is ready and then
+ * follows {@link EmployeeChangedEvent}s. With {@code employee.search.background-build}, the first
+ * build runs on the task executor, so startup does not wait for a large table to be read; searches
+ * find nothing until it completes. Updates append to the posting lists; entries left
+ * behind by updates and deletes are skipped at query time and dropped when the lists are
+ * compacted.
+ */
+@Component
+public class EmployeeNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+    /**
+     * A search result.
+     *
+     * @param id         the ID of the employee
+     * @param firstName  the first name of the employee
+     * @param middleName the middle name of the employee
+     * @param lastName   the last name of the employee
+     * @param score      the relevance of the match, higher is better
+     */
+    public record Hit(Long id, String firstName, String middleName, String lastName, int score) {
+    }
+
+    // Pads the start of a token so that its one- and two-character prefixes form trigrams
+    private static final char PAD = '\u0001';
+
+    // Compact once stale posting entries outnumber live ones by this factor
+    private static final int COMPACTION_RATIO = 1;
+    private static final long MIN_STALE_FOR_COMPACTION = 10_000;
+
+    // Orders hits from best to worst: higher score first, then lower ID
+    private static final Comparator<Hit> BEST_FIRST =
+            Comparator.comparingInt(Hit::score).reversed().thenComparing(Hit::id);
+
+    private final EmployeeJdbcRepository jdbcRepository;
+    private final TaskExecutor taskExecutor;
+    private final boolean backgroundBuild;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Entry> entries = new HashMap<>();
+    private Map<Long, Postings> postings = new HashMap<>();
+    private long livePostings;
+    private long stalePostings;
+
+    private final ReplicaRebuilds rebuilds = new ReplicaRebuilds();
+
+    public EmployeeNameIndex(EmployeeJdbcRepository jdbcRepository,
+                             @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                             @Value("${employee.search.background-build:false}") boolean backgroundBuild) {
+        this.jdbcRepository = jdbcRepository;
+        this.taskExecutor = taskExecutor;
+        this.backgroundBuild = backgroundBuild;
+    }
+
+    /**
+     * Builds the index once the application is ready, on the task executor if so configured.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (backgroundBuild) {
+            taskExecutor.execute(this::rebuild);
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the "employees" table.
+     * Searches keep using the previous index until the new one is complete. If rebuilds overlap,
+     * the index built by the one that started last is kept.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        long generation;
+        lock.writeLock().lock();
+        try {
+            generation = rebuilds.start();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Entry> newEntries = new HashMap<>();
+        Map<Long, Postings> newPostings = new HashMap<>();
+        long[] count = {0};
+        boolean loaded = false;
+        boolean installed;
+        try {
+            jdbcRepository.streamNames(rs -> {
+                Entry entry = new Entry(rs.getString(2), rs.getString(3), rs.getString(4));
+                long id = rs.getLong(1);
+                newEntries.put(id, entry);
+                count[0] += addPostings(newPostings, id, entry);
+            });
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                List<EmployeeChangedEvent> missed = rebuilds.finish(generation, loaded);
+                installed = missed != null;
+                if (installed) {
+                    entries = newEntries;
+                    postings = newPostings;
+                    livePostings = count[0];
+                    stalePostings = 0;
+                    missed.forEach(this::apply);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (!installed) {
+            log.info("Discarded employee name index superseded by a newer rebuild");
+            return;
+        }
+        log.info("Built employee name index: {} employees, {} trigrams in {} ms", newEntries.size(),
+                newPostings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Keeps the index in sync with employee writes once they are committed.
+     *
+     * @param event the write that happened
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.Type.RESET) {
+            rebuild();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilds.record(event);
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the employees whose names match every term of the query.
+     * Terms of one or two characters match name prefixes; longer terms match anywhere in a name.
+     *
+     * @param query the search terms, separated by spaces
+     * @param limit the maximum number of hits to return
+     * @return the best hits, best first
+     */
+    public List<Hit> search(String query, int limit) {
+        String[] terms = Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(term -> !term.isEmpty()).toArray(String[]::new);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Postings candidates = null;
+            for (String term : terms) {
+                for (long gram : queryGrams(term)) {
+                    Postings list = postings.get(gram);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    if (candidates == null || list.size < candidates.size) {
+                        candidates = list;
+                    }
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            Set<Long> seen = new HashSet<>();
+            for (int i = 0; i < candidates.size; i++) {
+                long id = candidates.ids[i];
+                Entry entry = entries.get(id);
+                if (entry == null || !seen.add(id)) {
+                    continue;
+                }
+                int score = entry.score(terms);
+                if (score > 0) {
+                    top.add(new Hit(id, entry.firstName, entry.middleName, entry.lastName, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(BEST_FIRST);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of employees in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Applies one write to the index; the caller holds the write lock
+    private void apply(EmployeeChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                Employee employee = event.employee();
+                put(employee.getId(), new Entry(employee.getFirstName(), employee.getMiddleName(),
+                        employee.getLastName()));
+            }
+            case PATCHED -> {
+                Map<String, Object> changes = event.changes();
+                Long id = event.ids().get(0);
+                Entry current = entries.get(id);
+                if (current != null && (changes.containsKey("firstName") || changes.containsKey("middleName")
+                        || changes.containsKey("lastName"))) {
+                    put(id, new Entry(
+                            (String) changes.getOrDefault("firstName", current.firstName),
+                            (String) changes.getOrDefault("middleName", current.middleName),
+                            (String) changes.getOrDefault("lastName", current.lastName)));
+                }
+            }
+            case DELETED -> event.ids().forEach(this::remove);
+            default -> {
+                // RESET is handled by a rebuild
+            }
+        }
+        if (stalePostings > MIN_STALE_FOR_COMPACTION && stalePostings > livePostings * COMPACTION_RATIO) {
+            compact();
+        }
+    }
+
+    private void put(long id, Entry entry) {
+        Entry previous = entries.put(id, entry);
+        if (previous != null) {
+            if (previous.sameNames(entry)) {
+                return;
+            }
+            long stale = previous.grams().size();
+            stalePostings += stale;
+            livePostings -= stale;
+        }
+        livePostings += addPostings(postings, id, entry);
+    }
+
+    private void remove(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            long stale = previous.grams().size();
+            stalePostings += stale;
+            livePostings -= stale;
+        }
+    }
+
+    // Rebuilds the posting lists from the current entries, dropping stale postings
+    private void compact() {
+        Map<Long, Postings> compacted = new HashMap<>();
+        long count = 0;
+        for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+            count += addPostings(compacted, entry.getKey(), entry.getValue());
+        }
+        postings = compacted;
+        livePostings = count;
+        stalePostings = 0;
+    }
+
+    private static int addPostings(Map<Long, Postings> target, long id, Entry entry) {
+        Set<Long> grams = entry.grams();
+        for (long gram : grams) {
+            target.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+        return grams.size();
+    }
+
+    // The trigrams a candidate must contain to match the term
+    private static List<Long> queryGrams(String term) {
+        if (term.length() == 1) {
+            return List.of(gram(PAD, PAD, term.charAt(0)));
+        }
+        if (term.length() == 2) {
+            return List.of(gram(PAD, term.charAt(0), term.charAt(1)));
+        }
+        List<Long> grams = new ArrayList<>(term.length() - 2);
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(gram(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2)));
+        }
+        return grams;
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    // Indexed names of one employee
+    private static final class Entry {
+        private final String firstName;
+        private final String middleName;
+        private final String lastName;
+        private final String[] tokens;
+
+        private Entry(String firstName, String middleName, String lastName) {
+            this.firstName = firstName;
+            this.middleName = middleName;
+            this.lastName = lastName;
+            List<String> parts = new ArrayList<>();
+            for (String name : new String[] {firstName, middleName, lastName}) {
+                if (name != null) {
+                    for (String token : name.toLowerCase(Locale.ROOT).split("\\s+")) {
+                        if (!token.isEmpty()) {
+                            parts.add(token);
+                        }
+                    }
+                }
+            }
+            this.tokens = parts.toArray(String[]::new);
+        }
+
+        private Set<Long> grams() {
+            Set<Long> grams = new HashSet<>();
+            for (String token : tokens) {
+                String padded = "" + PAD + PAD + token;
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    grams.add(gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+                }
+            }
+            return grams;
+        }
+
+        // Sum over the terms of the best match against any token: exact 3, prefix 2, substring 1
+        private int score(String[] terms) {
+            int total = 0;
+            for (String term : terms) {
+                int best = 0;
+                for (String token : tokens) {
+                    if (token.equals(term)) {
+                        best = 3;
+                        break;
+                    } else if (token.startsWith(term)) {
+                        best = Math.max(best, 2);
+                    } else if (term.length() >= 3 && token.contains(term)) {
+                        best = Math.max(best, 1);
+                    }
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private boolean sameNames(Entry other) {
+            return Arrays.equals(tokens, other.tokens) && Objects.equals(firstName, other.firstName)
+                    && Objects.equals(middleName, other.middleName)
+                    && Objects.equals(lastName, other.lastName);
+        }
+    }
+
+    // Growable list of employee IDs containing one trigram
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
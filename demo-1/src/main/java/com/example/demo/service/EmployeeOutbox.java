@@ -0,0 +1,234 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EmployeeChange;
+import com.example.demo.dto.EmployeeChangeBatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transactional outbox of employee writes, kept in the "employee_outbox" table.
+ * Every {@link EmployeeChangedEvent} is appended in the writing transaction, so a change is in the
+ * outbox if and only if it was committed; writes over R2DBC append with {@link EmployeeReactiveOutboxAppender}
+ * in their reactive transaction instead. Consumers read the changes in offset order from any offset.
+ * <p>
+ * Offsets are assigned in memory when a change is appended. A reader only sees offsets below the lowest
+ * one whose transaction is still open, so a change that commits late is never skipped by a reader that
+ * already moved past a higher offset. Entries older than {@code employee.outbox.retention} are pruned.
+ * The table is mapped by {@link com.example.demo.model.EmployeeOutboxEntry}, so Hibernate creates or validates it.
+ * <p>
+ * The last offset and the open appends are only known to this instance, so a database must have a single
+ * writing instance: a second one would assign offsets that are already taken, and its readers would not wait
+ * for appends still open on the first. Consumers keep their own offsets, which survive restarts.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class EmployeeOutbox {
+
+    private static final String INSERT = "INSERT INTO employee_outbox "
+            + "(event_offset, type, employee_id, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+
+    // How long entries are kept, and how often old entries are deleted
+    private final Duration retention;
+    private final Duration pruneInterval;
+
+    // Guards the assignment of offsets together with their registration as pending
+    private final ReentrantLock offsetLock = new ReentrantLock();
+    private long lastOffset;
+
+    // First offset of each append whose transaction has not completed yet
+    private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+
+    // Completed, and replaced, whenever appended changes become readable
+    private final AtomicReference<CompletableFuture<Void>> nextChange = new AtomicReference<>(new CompletableFuture<>());
+
+    // Highest offset deleted by pruning; consumers behind it have missed changes
+    private final AtomicLong prunedThrough = new AtomicLong();
+    private final AtomicLong nextPruneNanos = new AtomicLong();
+
+    public EmployeeOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                          @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                          @Value("${employee.outbox.retention:P7D}") Duration retention,
+                          @Value("${employee.outbox.prune-interval:PT1H}") Duration pruneInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.retention = retention;
+        this.pruneInterval = pruneInterval;
+        this.nextPruneNanos.set(System.nanoTime() + pruneInterval.toNanos());
+    }
+
+    // The table is mapped by EmployeeOutboxEntry, so it exists once the entity manager factory is up
+    @PostConstruct
+    void loadOffsets() {
+        lastOffset = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(event_offset), 0) FROM employee_outbox",
+                Long.class);
+        prunedThrough.set(jdbcTemplate.queryForObject("SELECT COALESCE(MIN(event_offset) - 1, ?) FROM employee_outbox",
+                Long.class, lastOffset));
+    }
+
+    /**
+     * Appends a write to the outbox. Runs in the writing transaction, if any,
+     * so the entry commits or rolls back with the write.
+     *
+     * @param event the write that happened
+     */
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        List<Object[]> rows = toRows(event);
+        if (event.appended() || rows.isEmpty()) {
+            return;
+        }
+        long first = reserve(rows.size());
+        OffsetDateTime now = Instant.now().atOffset(ZoneOffset.UTC);
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i)[0] = first + i;
+            rows.get(i)[4] = now;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(first);
+                }
+            });
+            jdbcTemplate.batchUpdate(INSERT, rows);
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        } finally {
+            release(first);
+        }
+    }
+
+    /**
+     * Reads the committed changes following an offset.
+     *
+     * @param after the offset of the last change already read (0 to read from the start)
+     * @param limit the maximum number of changes to read
+     * @return the changes in offset order, and the offset to continue from
+     * @throws IllegalStateException if changes following the offset were already pruned
+     */
+    public EmployeeChangeBatch read(long after, int limit) {
+        if (isPruned(after)) {
+            throw new IllegalStateException("Changes after offset " + after + " were pruned");
+        }
+        List<EmployeeChange> changes = jdbcTemplate.query("SELECT event_offset, type, employee_id, payload, created_at "
+                        + "FROM employee_outbox WHERE event_offset > ? AND event_offset <= ? ORDER BY event_offset LIMIT ?",
+                (rs, rowNum) -> new EmployeeChange(rs.getLong(1), rs.getString(2), (Long) rs.getObject(3),
+                        rs.getString(4), rs.getObject(5, OffsetDateTime.class).toInstant()),
+                after, readableOffset(), limit);
+        return new EmployeeChangeBatch(changes, changes.isEmpty() ? after : changes.get(changes.size() - 1).offset());
+    }
+
+    /**
+     * Waits for changes following an offset to become readable.
+     *
+     * @param after the offset of the last change already read
+     * @return a future completed as soon as a change following the offset can be read; completing it
+     *         (e.g. on a timeout) does not affect other waiters
+     */
+    public CompletableFuture<Void> awaitChanges(long after) {
+        CompletableFuture<Void> next = nextChange.get();
+        return readableOffset() > after ? CompletableFuture.completedFuture(null) : next.copy();
+    }
+
+    /**
+     * @param after an offset a consumer has read up to
+     * @return true if changes following the offset were pruned, so the consumer must re-read all employees
+     */
+    public boolean isPruned(long after) {
+        return after < prunedThrough.get();
+    }
+
+    // Assigns consecutive offsets and marks them pending until released
+    long reserve(int count) {
+        offsetLock.lock();
+        try {
+            long first = lastOffset + 1;
+            lastOffset += count;
+            pending.add(first);
+            return first;
+        } finally {
+            offsetLock.unlock();
+        }
+    }
+
+    void release(long first) {
+        pending.remove(first);
+        nextChange.getAndSet(new CompletableFuture<>()).complete(null);
+        long due = nextPruneNanos.get();
+        if (System.nanoTime() - due >= 0 && nextPruneNanos.compareAndSet(due, System.nanoTime() + pruneInterval.toNanos())) {
+            taskExecutor.execute(this::prune);
+        }
+    }
+
+    // Highest offset below every pending one, so all offsets up to it are committed or rolled back
+    private long readableOffset() {
+        offsetLock.lock();
+        try {
+            return pending.isEmpty() ? lastOffset : pending.first() - 1;
+        } finally {
+            offsetLock.unlock();
+        }
+    }
+
+    // Deletes the entries older than the retention period
+    void prune() {
+        Long through = jdbcTemplate.queryForObject("SELECT MAX(event_offset) FROM employee_outbox WHERE created_at < ?",
+                Long.class, Instant.now().minus(retention).atOffset(ZoneOffset.UTC));
+        if (through != null) {
+            prunedThrough.accumulateAndGet(through, Math::max);
+            jdbcTemplate.update("DELETE FROM employee_outbox WHERE event_offset <= ?", through);
+        }
+    }
+
+    // One row per employee written: offset and timestamp are filled in by the caller
+    List<Object[]> toRows(EmployeeChangedEvent event) {
+        List<Object[]> rows = new ArrayList<>();
+        String type = event.type().name();
+        switch (event.type()) {
+            case CREATED, UPDATED -> rows.add(new Object[] {null, type, event.employee().getId(),
+                    toJson(event.employee()), null});
+            case PATCHED -> rows.add(new Object[] {null, type, event.ids().get(0), toJson(event.changes()), null});
+            case DELETED -> event.ids().forEach(id -> rows.add(new Object[] {null, type, id, null, null}));
+            case RESET -> rows.add(new Object[] {null, type, null, null, null});
+        }
+        return rows;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize change", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.service;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Appends the writes of {@link EmployeeReactiveService} to the {@link EmployeeOutbox} over R2DBC, in the
+ * reactive transaction of the write. Offsets come from the outbox and stay pending until that
+ * transaction completes, as for writes appended over JDBC.
+ */
+@Component
+public class EmployeeReactiveOutboxAppender {
+
+    private static final String INSERT = "INSERT INTO employee_outbox "
+            + "(event_offset, type, employee_id, payload, created_at) "
+            + "VALUES (:offset, :type, :employeeId, :payload, :createdAt)";
+
+    private final EmployeeOutbox outbox;
+    private final DatabaseClient databaseClient;
+
+    public EmployeeReactiveOutboxAppender(EmployeeOutbox outbox, DatabaseClient databaseClient) {
+        this.outbox = outbox;
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Appends a write to the outbox. Must be subscribed to within the reactive transaction
+     * of the write, so the entry commits or rolls back with it; the event is then published with
+     * {@link EmployeeChangedEvent#asAppended()} so it is not appended again.
+     *
+     * @param event the write that happened
+     * @return completes when the entry is inserted
+     */
+    public Mono<Void> append(EmployeeChangedEvent event) {
+        List<Object[]> rows = outbox.toRows(event);
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronizations -> {
+                    long first = outbox.reserve(rows.size());
+                    synchronizations.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(() -> outbox.release(first));
+                        }
+                    });
+                    OffsetDateTime now = Instant.now().atOffset(ZoneOffset.UTC);
+                    return Flux.range(0, rows.size())
+                            .concatMap(i -> insert(first + i, rows.get(i), now))
+                            .then();
+                });
+    }
+
+    private Mono<Long> insert(long offset, Object[] row, OffsetDateTime createdAt) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT)
+                .bind("offset", offset)
+                .bind("type", row[1])
+                .bind("createdAt", createdAt);
+        spec = row[2] != null ? spec.bind("employeeId", row[2]) : spec.bindNull("employeeId", Long.class);
+        spec = row[3] != null ? spec.bind("payload", row[3]) : spec.bindNull("payload", String.class);
+        return spec.fetch().rowsUpdated();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeReactiveRepository;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService} for the reactive API.
+ * Each write runs in one R2DBC transaction together with its outbox entry (and tombstone), so they
+ * commit or roll back together. After commit, writes invalidate the shared employee cache and publish
+ * {@link EmployeeChangedEvent}s like the blocking path, so derived views stay in sync whichever API
+ * wrote the row. Listeners block, so events are published on a worker thread rather than the event loop.
+ */
+@Service
+public class EmployeeReactiveService {
+
+    private final EmployeeReactiveRepository repository;
+
+    private final EmployeeCache cache;
+
+    private final EmployeeReactiveOutboxAppender outbox;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EmployeeReactiveService(EmployeeReactiveRepository repository, EmployeeCache cache,
+                                   EmployeeReactiveOutboxAppender outbox,
+                                   TransactionalOperator transactionalOperator,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.cache = cache;
+        this.outbox = outbox;
+        this.transactionalOperator = transactionalOperator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @param id the ID of the employee
+     * @return the employee, or empty if it does not exist
+     */
+    public Mono<Employee> findById(Long id) {
+        return repository.findById(id);
+    }
+
+    /**
+     * Streams employees ordered by ID, reading rows only as fast as the subscriber consumes them.
+     *
+     * @param after only employees with a greater ID are emitted (null for all)
+     * @param limit the maximum number of employees to emit
+     * @return the employees in ID order
+     */
+    public Flux<Employee> findAfter(Long after, long limit) {
+        return repository.findAfter(after != null ? after : 0L, Math.max(1, limit));
+    }
+
+    /**
+     * @param employee the employee to create
+     * @return the created employee
+     */
+    public Mono<Employee> create(Employee employee) {
+        employee.setId(null);
+        return transactionalOperator.transactional(repository.insert(employee)
+                        .flatMap(saved -> outbox.append(EmployeeChangedEvent.created(saved)).thenReturn(saved)))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> eventPublisher.publishEvent(EmployeeChangedEvent.created(saved).asAppended()));
+    }
+
+    /**
+     * Replaces all fields of an employee.
+     *
+     * @param id              the ID of the employee to update
+     * @param employee        the updated employee data
+     * @param expectedVersion if not null, the update only applies if the employee still has this version
+     * @return the updated employee, empty if it does not exist, or an {@link OptimisticLockingFailureException}
+     *         if its version differs from the expected one
+     */
+    public Mono<Employee> update(Long id, Employee employee, Long expectedVersion) {
+        return transactionalOperator.transactional(repository.update(id, employee, expectedVersion)
+                        .flatMap(rows -> rows > 0 ? repository.findById(id) : conflictIfExists(id, expectedVersion))
+                        .flatMap(saved -> outbox.append(EmployeeChangedEvent.updated(saved, null)).thenReturn(saved)))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> {
+                    cache.invalidate(id);
+                    eventPublisher.publishEvent(EmployeeChangedEvent.updated(saved, null).asAppended());
+                });
+    }
+
+    // Tells a missing employee apart from a version conflict when nothing was updated
+    private Mono<Employee> conflictIfExists(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.empty();
+        }
+        return repository.existsById(id)
+                .filter(exists -> exists)
+                .flatMap(exists -> Mono.error(new OptimisticLockingFailureException(
+                        "Employee " + id + " no longer has version " + expectedVersion)));
+    }
+
+    /**
+     * @param id the ID of the employee to delete
+     * @return true if the employee was deleted, false if it did not exist
+     */
+    public Mono<Boolean> delete(Long id) {
+        return transactionalOperator.transactional(repository.deleteById(id)
+                        .flatMap(deleted -> {
+                            EmployeeChangedEvent event = EmployeeChangedEvent.deleted(List.of(deleted));
+                            return outbox.append(event).thenReturn(Optional.of(event));
+                        })
+                        .defaultIfEmpty(Optional.empty()))
+                .publishOn(Schedulers.boundedElastic())
+                .map(event -> {
+                    cache.invalidate(id);
+                    event.ifPresent(appended -> eventPublisher.publishEvent(appended.asAppended()));
+                    return event.isPresent();
+                });
+    }
+}
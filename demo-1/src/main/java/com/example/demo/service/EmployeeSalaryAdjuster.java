@@ -0,0 +1,476 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SalaryAdjustmentRequest;
+import com.example.demo.dto.SalaryAdjustmentRule;
+import com.example.demo.dto.SalaryAdjustmentStatus;
+import com.example.demo.dto.SalaryAdjustmentStatus.State;
+import com.example.demo.model.Employee;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Serial;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulk salary adjustments, such as a company-wide raise, applied with set-based UPDATEs.
+ * <p>
+ * The ID space of the adjusted employees is cut into ranges of {@code partition-size} IDs, which a
+ * fork-join pool of {@code parallelism} threads adjusts concurrently. Each range is one UPDATE in its
+ * own transaction, so rows are locked only for as long as that range takes. The UPDATE is read back
+ * through H2's {@code OLD TABLE}, which gives the exact number of employees and salary change per rule
+ * without a second query. A range that fails (e.g. on a lock timeout) is retried up to
+ * {@code max-attempts} times; ranges that still fail are reported, and can be adjusted again by
+ * resubmitting the rules for their IDs only.
+ * <p>
+ * A dry run computes the same totals with a SELECT and changes nothing. Adjusted employees get a new
+ * version and last modification time. The IDs of a range are removed from the cache as soon as its
+ * transaction commits. Once all ranges are done, derived views are rebuilt from a
+ * {@link EmployeeChangedEvent.Type#RESET} event, even if the adjustment failed part-way.
+ */
+@Service
+public class EmployeeSalaryAdjuster {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSalaryAdjuster.class);
+
+    // Bounds the size of the generated statements
+    static final int MAX_RULES = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeCache cache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long partitionSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final int maxTracked;
+    private final ForkJoinPool pool;
+
+    // Recent adjustments by job ID, oldest first; guarded by jobsLock
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private final ReentrantLock jobsLock = new ReentrantLock();
+
+    public EmployeeSalaryAdjuster(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  EmployeeCache cache, ApplicationEventPublisher eventPublisher,
+                                  @Value("${employee.salary-adjustment.parallelism:0}") int parallelism,
+                                  @Value("${employee.salary-adjustment.partition-size:10000}") long partitionSize,
+                                  @Value("${employee.salary-adjustment.max-attempts:3}") int maxAttempts,
+                                  @Value("${employee.salary-adjustment.retry-backoff:PT0.2S}") Duration retryBackoff,
+                                  @Value("${employee.salary-adjustment.max-tracked:100}") int maxTracked) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = cache;
+        this.eventPublisher = eventPublisher;
+        this.partitionSize = partitionSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxTracked = maxTracked;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("salary-adjustment-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+    }
+
+    /**
+     * Waits for running adjustments to finish their current ranges.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts an adjustment in the background.
+     *
+     * @param request the rules and the range of IDs to adjust
+     * @param dryRun  if true, only the totals are computed and no salary is changed
+     * @return the initial status of the adjustment
+     * @throws IllegalArgumentException if a rule is invalid
+     */
+    public SalaryAdjustmentStatus submit(SalaryAdjustmentRequest request, boolean dryRun) {
+        Job job = start(request, dryRun);
+        return job.status();
+    }
+
+    /**
+     * Runs an adjustment and waits until all of its ranges are done.
+     *
+     * @param request the rules and the range of IDs to adjust
+     * @param dryRun  if true, only the totals are computed and no salary is changed
+     * @return the final status of the adjustment
+     * @throws IllegalArgumentException if a rule is invalid
+     */
+    public SalaryAdjustmentStatus adjust(SalaryAdjustmentRequest request, boolean dryRun) {
+        Job job = start(request, dryRun);
+        job.task.join();
+        return job.status();
+    }
+
+    /**
+     * Looks up the progress of an adjustment.
+     * Only the most recent {@code max-tracked} adjustments are remembered.
+     *
+     * @param jobId the ID returned when the adjustment was started
+     * @return the status of the adjustment, or null if it is unknown
+     */
+    public SalaryAdjustmentStatus status(String jobId) {
+        jobsLock.lock();
+        try {
+            Job job = jobs.get(jobId);
+            return job != null ? job.status() : null;
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    private Job start(SalaryAdjustmentRequest request, boolean dryRun) {
+        Statements statements = new Statements(validate(request));
+        long fromId = request.fromId() != null ? request.fromId() : Long.MIN_VALUE;
+        long toId = request.toId() != null ? request.toId() : Long.MAX_VALUE;
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM employees WHERE id BETWEEN ? AND ?", rs -> {
+            long first = rs.getLong(1);
+            if (rs.wasNull()) {
+                return;
+            }
+            long last = rs.getLong(2);
+            for (long from = first; from <= last; from += partitionSize) {
+                partitions.add(new Partition(from, Math.min(last, from + partitionSize - 1), request.rules().size()));
+                // Stops before the next start could overflow
+                if (from > last - partitionSize) {
+                    break;
+                }
+            }
+        }, fromId, toId);
+
+        Job job = new Job(UUID.randomUUID().toString(), dryRun, statements, partitions.toArray(Partition[]::new));
+        track(job);
+        job.task = pool.submit(ForkJoinTask.adapt(() -> {
+            try {
+                new PartitionTask(job, 0, job.partitions.length).invoke();
+            } finally {
+                finish(job);
+            }
+        }));
+        return job;
+    }
+
+    private static List<SalaryAdjustmentRule> validate(SalaryAdjustmentRequest request) {
+        List<SalaryAdjustmentRule> rules = request.rules();
+        if (rules == null || rules.isEmpty() || rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_RULES + " rules are required");
+        }
+        for (SalaryAdjustmentRule rule : rules) {
+            if (rule == null || (rule.percent() == null) == (rule.amount() == null)) {
+                throw new IllegalArgumentException("Each rule needs either a percent or an amount");
+            }
+            if (rule.percent() != null && (!Double.isFinite(rule.percent()) || rule.percent() <= -100)) {
+                throw new IllegalArgumentException("Invalid percent: " + rule.percent());
+            }
+            if (rule.amount() != null && !Double.isFinite(rule.amount())) {
+                throw new IllegalArgumentException("Invalid amount: " + rule.amount());
+            }
+        }
+        if (request.fromId() != null && request.toId() != null && request.fromId() > request.toId()) {
+            throw new IllegalArgumentException("fromId is greater than toId");
+        }
+        return rules;
+    }
+
+    // Adjusts one range, retrying failures; runs on a fork-join worker
+    private void run(Job job, Partition partition) {
+        partition.state = State.RUNNING;
+        for (int attempt = 1; ; attempt++) {
+            partition.attempts = attempt;
+            try {
+                if (job.dryRun) {
+                    jdbcTemplate.query(job.statements.project, partition::add, job.statements.projectArgs(partition));
+                } else {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(job.statements.apply,
+                            partition::add, job.statements.applyArgs(partition)));
+                    // Committed, so lookups must no longer return the old salaries of this range
+                    cache.invalidateRange(partition.fromId, partition.toId);
+                }
+                partition.state = State.COMPLETED;
+                return;
+            } catch (DataAccessException | TransactionException e) {
+                partition.reset();
+                partition.error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                if (attempt >= maxAttempts) {
+                    log.warn("Salary adjustment {} failed for IDs {} to {} after {} attempts", job.id,
+                            partition.fromId, partition.toId, attempt, e);
+                    partition.state = State.FAILED;
+                    return;
+                }
+                try {
+                    Thread.sleep(retryBackoff.multipliedBy(attempt).toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    partition.state = State.FAILED;
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // Not a database failure, so retrying would not help; the other ranges carry on
+                partition.reset();
+                partition.error = String.valueOf(e.getMessage());
+                log.error("Salary adjustment {} failed for IDs {} to {}", job.id, partition.fromId, partition.toId, e);
+                partition.state = State.FAILED;
+                return;
+            }
+        }
+    }
+
+    private void finish(Job job) {
+        job.elapsedMillis = (System.nanoTime() - job.startNanos) / 1_000_000;
+        SalaryAdjustmentStatus status = job.status();
+        if (!job.dryRun && status.employees() > 0) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.reset());
+        }
+        // A range left pending or running was interrupted by an unexpected error
+        job.state = Arrays.stream(job.partitions).allMatch(p -> p.state == State.COMPLETED)
+                ? State.COMPLETED : State.FAILED;
+        log.info("Salary adjustment {}{}: {} employees, payroll delta {} in {} ms", job.id,
+                job.dryRun ? " (dry run)" : "", status.employees(), status.payrollDelta(), job.elapsedMillis);
+    }
+
+    private void track(Job job) {
+        jobsLock.lock();
+        try {
+            jobs.put(job.id, job);
+            Iterator<Job> oldest = jobs.values().iterator();
+            while (jobs.size() > maxTracked && oldest.hasNext()) {
+                if (oldest.next().state != State.RUNNING) {
+                    oldest.remove();
+                }
+            }
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    /**
+     * Splits a run of partitions in halves until each task adjusts a single partition.
+     */
+    private final class PartitionTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient Job job;
+        private final int from;
+        private final int to;
+
+        PartitionTask(Job job, int from, int to) {
+            this.job = job;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                run(job, job.partitions[from]);
+            } else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PartitionTask(job, from, middle), new PartitionTask(job, middle, to));
+            }
+        }
+    }
+
+    /**
+     * The statements of an adjustment. Each rule becomes a WHEN branch of a CASE expression, so the
+     * first matching rule wins, and the index of that rule is selected to total the changes per rule.
+     */
+    private static final class Statements {
+
+        private final String project;
+        private final String apply;
+        private final List<Object> ruleArgs = new ArrayList<>();
+        private final List<Object> salaryArgs = new ArrayList<>();
+
+        Statements(List<SalaryAdjustmentRule> rules) {
+            StringBuilder ruleIndex = new StringBuilder("CASE");
+            StringBuilder salary = new StringBuilder("CASE");
+            for (int i = 0; i < rules.size(); i++) {
+                SalaryAdjustmentRule rule = rules.get(i);
+                List<String> terms = new ArrayList<>();
+                List<Object> args = new ArrayList<>();
+                addCondition(terms, args, "status", rule.status());
+                addCondition(terms, args, "location_city", rule.locationCity());
+                addCondition(terms, args, "position_title", rule.positionTitle());
+                String condition = terms.isEmpty() ? "TRUE" : String.join(" AND ", terms);
+
+                ruleIndex.append(" WHEN ").append(condition).append(" THEN ").append(i);
+                ruleArgs.addAll(args);
+                if (rule.percent() != null) {
+                    salary.append(" WHEN ").append(condition).append(" THEN ROUND(salary * ?, 2)");
+                    salaryArgs.addAll(args);
+                    salaryArgs.add(1 + rule.percent() / 100);
+                } else {
+                    salary.append(" WHEN ").append(condition).append(" THEN GREATEST(salary + ?, 0)");
+                    salaryArgs.addAll(args);
+                    salaryArgs.add(rule.amount());
+                }
+            }
+            ruleIndex.append(" END");
+            salary.append(" ELSE salary END");
+
+            String totals = "SELECT " + ruleIndex + " AS rule_index, COUNT(*), SUM(" + salary + " - salary) FROM ";
+            // Matching through the CASE keeps the query on the primary key range: a plain condition on
+            // status would make H2 scan the status index over the whole table for every partition
+            String where = " WHERE id BETWEEN ? AND ? AND " + ruleIndex + " IS NOT NULL";
+            project = totals + "employees" + where + " GROUP BY rule_index";
+            apply = totals + "OLD TABLE (UPDATE employees SET salary = " + salary
+                    + ", version = version + 1, last_modified = ?" + where + ") GROUP BY rule_index";
+        }
+
+        private static void addCondition(List<String> terms, List<Object> args, String column, String value) {
+            if (value != null) {
+                terms.add(column + " = ?");
+                args.add(value);
+            }
+        }
+
+        Object[] projectArgs(Partition partition) {
+            List<Object> args = new ArrayList<>(ruleArgs);
+            args.addAll(salaryArgs);
+            addWhereArgs(args, partition);
+            return args.toArray();
+        }
+
+        Object[] applyArgs(Partition partition) {
+            List<Object> args = new ArrayList<>(ruleArgs);
+            args.addAll(salaryArgs);
+            args.addAll(salaryArgs);
+            args.add(Employee.now().atOffset(ZoneOffset.UTC));
+            addWhereArgs(args, partition);
+            return args.toArray();
+        }
+
+        private void addWhereArgs(List<Object> args, Partition partition) {
+            args.add(partition.fromId);
+            args.add(partition.toId);
+            args.addAll(ruleArgs);
+        }
+    }
+
+    /**
+     * A running or finished adjustment.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final boolean dryRun;
+        private final Statements statements;
+        private final Partition[] partitions;
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+
+        private volatile ForkJoinTask<?> task;
+        private volatile State state = State.RUNNING;
+        private volatile Long elapsedMillis;
+
+        Job(String id, boolean dryRun, Statements statements, Partition[] partitions) {
+            this.id = id;
+            this.dryRun = dryRun;
+            this.statements = statements;
+            this.partitions = partitions;
+        }
+
+        SalaryAdjustmentStatus status() {
+            int ruleCount = partitions.length > 0 ? partitions[0].ruleEmployees.length : 0;
+            long[] ruleEmployees = new long[ruleCount];
+            double[] ruleDeltas = new double[ruleCount];
+            List<SalaryAdjustmentStatus.Partition> progress = new ArrayList<>(partitions.length);
+            long employees = 0;
+            double delta = 0;
+            for (Partition partition : partitions) {
+                // The totals of a partition are final once its state is read as completed
+                State partitionState = partition.state;
+                long partitionEmployees = 0;
+                double partitionDelta = 0;
+                if (partitionState == State.COMPLETED) {
+                    for (int i = 0; i < ruleCount; i++) {
+                        ruleEmployees[i] += partition.ruleEmployees[i];
+                        ruleDeltas[i] += partition.ruleDeltas[i];
+                        partitionEmployees += partition.ruleEmployees[i];
+                        partitionDelta += partition.ruleDeltas[i];
+                    }
+                }
+                employees += partitionEmployees;
+                delta += partitionDelta;
+                progress.add(new SalaryAdjustmentStatus.Partition(partition.fromId, partition.toId, partitionState,
+                        partition.attempts, partitionEmployees, partitionDelta, partition.error));
+            }
+            List<SalaryAdjustmentStatus.RuleTotal> rules = new ArrayList<>(ruleCount);
+            for (int i = 0; i < ruleCount; i++) {
+                rules.add(new SalaryAdjustmentStatus.RuleTotal(ruleEmployees[i], ruleDeltas[i]));
+            }
+            return new SalaryAdjustmentStatus(id, dryRun, state, employees, delta, rules, progress, startedAt,
+                    elapsedMillis);
+        }
+    }
+
+    /**
+     * One range of IDs and its totals per rule. Only the worker adjusting the range writes to it.
+     */
+    private static final class Partition {
+
+        private final long fromId;
+        private final long toId;
+        private final long[] ruleEmployees;
+        private final double[] ruleDeltas;
+
+        private volatile State state = State.PENDING;
+        private volatile int attempts;
+        private volatile String error;
+
+        Partition(long fromId, long toId, int rules) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.ruleEmployees = new long[rules];
+            this.ruleDeltas = new double[rules];
+        }
+
+        // Adds one row of totals: the rule index, the number of employees and the salary change
+        void add(ResultSet rs) throws SQLException {
+            ruleEmployees[rs.getInt(1)] += rs.getLong(2);
+            ruleDeltas[rs.getInt(1)] += rs.getDouble(3);
+        }
+
+        void reset() {
+            Arrays.fill(ruleEmployees, 0);
+            Arrays.fill(ruleDeltas, 0);
+        }
+    }
+}
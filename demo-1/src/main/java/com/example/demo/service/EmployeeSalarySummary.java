@@ -0,0 +1,201 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SalaryStats;
+import com.example.demo.model.Employee;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Summary table holding headcount and salary sum, minimum and maximum per city, position title and status,
+ * so dashboards read the statistics in O(groups) instead of aggregating the "employees" table.
+ * Enabled with {@code employee.summary.enabled=true}.
+ * <p>
+ * Inserts are added to their groups in the inserting transaction. Updates, partial updates and
+ * deletes carry the rows as they were before the write, and mark the groups they touched as dirty.
+ * A RESET, or a full update whose previous values are unknown, marks the whole table stale.
+ * Dirty groups are recomputed, and a stale table rebuilt, by the next read.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.summary.enabled", havingValue = "true")
+public class EmployeeSalarySummary {
+
+    private static final String INCREMENT = "MERGE INTO employee_salary_summary s "
+            + "USING (VALUES (CAST(? AS VARCHAR(32)), CAST(? AS VARCHAR(255)), CAST(? AS DOUBLE PRECISION))) "
+            + "v(dimension, group_key, salary) ON s.dimension = v.dimension AND s.group_key = v.group_key "
+            + "WHEN MATCHED THEN UPDATE SET headcount = s.headcount + 1, salary_sum = s.salary_sum + v.salary, "
+            + "salary_min = LEAST(s.salary_min, v.salary), salary_max = GREATEST(s.salary_max, v.salary) "
+            + "WHEN NOT MATCHED THEN INSERT VALUES (v.dimension, v.group_key, 1, v.salary, v.salary, v.salary)";
+
+    // A group of one grouping
+    private record GroupKey(EmployeeGrouping grouping, String value) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Serializes rebuilds and group recomputations
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // True until the table has been built, and after writes whose effect on the groups is unknown
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final Set<GroupKey> dirtyGroups = ConcurrentHashMap.newKeySet();
+
+    public EmployeeSalarySummary(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void createTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS employee_salary_summary ("
+                + "dimension VARCHAR(32) NOT NULL, group_key VARCHAR(255) NOT NULL, headcount BIGINT NOT NULL, "
+                + "salary_sum DOUBLE PRECISION NOT NULL, salary_min DOUBLE PRECISION, salary_max DOUBLE PRECISION, "
+                + "PRIMARY KEY (dimension, group_key))");
+    }
+
+    /**
+     * Reads the statistics of every group of one grouping, first bringing the table up to date.
+     * Percentiles cannot be maintained incrementally and are left null.
+     *
+     * @param grouping the field the employees are grouped by
+     * @return one row per group, ordered by group
+     */
+    public List<SalaryStats> salaryStats(EmployeeGrouping grouping) {
+        refresh();
+        return jdbcTemplate.query("SELECT group_key, headcount, salary_sum / headcount, salary_min, salary_max "
+                        + "FROM employee_salary_summary WHERE dimension = ? ORDER BY group_key",
+                (rs, rowNum) -> new SalaryStats(rs.getString(1), rs.getLong(2), rs.getDouble(3),
+                        rs.getDouble(4), rs.getDouble(5), null, null),
+                grouping.field());
+    }
+
+    /**
+     * Adds new employees to their groups. Runs in the inserting transaction, if any,
+     * so the summary commits or rolls back with the insert.
+     *
+     * @param event the write that happened
+     */
+    @EventListener
+    public void onEmployeeCreated(EmployeeChangedEvent event) {
+        if (event.type() != EmployeeChangedEvent.Type.CREATED) {
+            return;
+        }
+        Employee employee = event.employee();
+        List<Object[]> rows = new ArrayList<>();
+        for (EmployeeGrouping grouping : EmployeeGrouping.values()) {
+            rows.add(new Object[] {grouping.field(), grouping.valueOf(employee), employee.getSalary()});
+        }
+        jdbcTemplate.batchUpdate(INCREMENT, rows);
+    }
+
+    /**
+     * Marks the groups affected by other writes once they are committed.
+     *
+     * @param event the write that happened
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        switch (event.type()) {
+            case UPDATED -> {
+                Employee previous = event.previous();
+                if (previous == null) {
+                    stale.set(true);
+                    return;
+                }
+                markChanged(previous, event.employee().getSalary(), grouping -> grouping.valueOf(event.employee()));
+            }
+            case PATCHED -> {
+                Employee previous = event.previous();
+                Map<String, Object> changes = event.changes();
+                markChanged(previous, changes.containsKey("salary") ? changes.get("salary") : previous.getSalary(),
+                        grouping -> changes.containsKey(grouping.field())
+                                ? (String) changes.get(grouping.field()) : grouping.valueOf(previous));
+            }
+            case DELETED -> {
+                for (Employee removed : event.removed()) {
+                    for (EmployeeGrouping grouping : EmployeeGrouping.values()) {
+                        dirtyGroups.add(new GroupKey(grouping, grouping.valueOf(removed)));
+                    }
+                }
+            }
+            case RESET -> stale.set(true);
+            default -> {
+                // CREATED is applied in the inserting transaction
+            }
+        }
+    }
+
+    // Marks the groups an employee left and joined, or all of its groups if its salary changed
+    private void markChanged(Employee previous, Object salary, Function<EmployeeGrouping, String> valueAfter) {
+        boolean salaryChanged = !Objects.equals(previous.getSalary(), salary);
+        for (EmployeeGrouping grouping : EmployeeGrouping.values()) {
+            String before = grouping.valueOf(previous);
+            String after = valueAfter.apply(grouping);
+            if (salaryChanged || !Objects.equals(before, after)) {
+                dirtyGroups.add(new GroupKey(grouping, before));
+                dirtyGroups.add(new GroupKey(grouping, after));
+            }
+        }
+    }
+
+    // Rebuilds the table if stale, otherwise recomputes the dirty groups
+    private void refresh() {
+        if (!stale.get() && dirtyGroups.isEmpty()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            if (stale.getAndSet(false)) {
+                dirtyGroups.clear();
+                transactionTemplate.executeWithoutResult(status -> rebuild());
+                return;
+            }
+            for (Iterator<GroupKey> it = dirtyGroups.iterator(); it.hasNext(); ) {
+                GroupKey group = it.next();
+                it.remove();
+                transactionTemplate.executeWithoutResult(status -> recompute(group));
+            }
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        jdbcTemplate.update("DELETE FROM employee_salary_summary");
+        for (EmployeeGrouping grouping : EmployeeGrouping.values()) {
+            jdbcTemplate.update("INSERT INTO employee_salary_summary SELECT ?, " + grouping.column()
+                    + ", COUNT(*), SUM(salary), MIN(salary), MAX(salary) FROM employees GROUP BY "
+                    + grouping.column(), grouping.field());
+        }
+    }
+
+    private void recompute(GroupKey group) {
+        String column = group.grouping().column();
+        jdbcTemplate.update("DELETE FROM employee_salary_summary WHERE dimension = ? AND group_key = ?",
+                group.grouping().field(), group.value());
+        jdbcTemplate.update("INSERT INTO employee_salary_summary SELECT ?, " + column
+                + ", COUNT(*), SUM(salary), MIN(salary), MAX(salary) FROM employees WHERE " + column + " = ? GROUP BY "
+                + column, group.grouping().field(), group.value());
+    }
+}
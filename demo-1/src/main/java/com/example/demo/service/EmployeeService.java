@@ -1,27 +1,97 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.EmployeeChanges;
+import com.example.demo.dto.EmployeePage;
+import com.example.demo.dto.SalaryStats;
+import com.example.demo.dto.WorkforceStats;
 import com.example.demo.model.Employee;
+import com.example.demo.model.EmployeeTombstone;
+import com.example.demo.repository.EmployeeJdbcRepository;
+import com.example.demo.repository.EmployeeProjectionRepository;
 import com.example.demo.repository.EmployeeRepository;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * Service class for managing employees.
  * Implements the `EmployeeRepository` interface and provides business logic for the `Employee` entity.
+ * Every public method is timed as `employee.service`, tagged with the method name.
  */
 @Service
+@Timed(value = "employee.service", histogram = true)
 public class EmployeeService implements EmployeeRepository {
 
+    // Upper bound for the page size of keyset paginated listings
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Separates the time and the ID of an incremental sync watermark, e.g. 2024-05-01T10:15:30.123456Z~42
+    private static final char WATERMARK_SEPARATOR = '~';
+
+    // Fields that a partial update may change, mapped to their columns. Listings select from
+    // EmployeeProjectionRepository.SELECTABLE_FIELDS instead
+    private static final Map<String, String> PATCHABLE_COLUMNS = Map.ofEntries(
+            Map.entry("firstName", "first_name"),
+            Map.entry("middleName", "middle_name"),
+            Map.entry("lastName", "last_name"),
+            Map.entry("locationCity", "location_city"),
+            Map.entry("address", "address"),
+            Map.entry("dateOfBirth", "date_of_birth"),
+            Map.entry("telephone", "telephone"),
+            Map.entry("positionTitle", "position_title"),
+            Map.entry("hireDate", "hire_date"),
+            Map.entry("email", "email"),
+            Map.entry("salary", "salary"),
+            Map.entry("status", "status"));
+
     @Autowired
     private EmployeeRepository repository; // Repository for interacting with the database
 
+    @Autowired
+    private EmployeeJdbcRepository jdbcRepository; // JDBC access for streaming and set-based operations
+
+    @Autowired
+    private EmployeeCache cache; // Read-through cache for lookups by ID
+
+    @Autowired
+    private EmployeeLoader loader; // Coalesces concurrent lookups by ID into shared queries
+
+    @Autowired
+    private EmployeeNameIndex nameIndex; // Trigram index over employee names
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Notifies derived views of employee writes
+
+    @Autowired(required = false)
+    private EmployeeSalarySummary salarySummary; // Summary table of salary statistics, if enabled
+
+    @Autowired(required = false)
+    private EmployeeColumnStore columnStore; // Columnar replica for analytics, if enabled
+
+    @Autowired
+    private EmployeeMetrics metrics; // Counters of rows read
+
+    @Value("${employee.changes.settle-time:PT2S}")
+    private Duration changesSettleTime = Duration.ofSeconds(2); // Most recent changes withheld from incremental sync
+
     /**
      * Retrieves all employees from the repository.
      *
@@ -29,29 +99,304 @@ public class EmployeeService implements EmployeeRepository {
      */
     @Override
     public List<Employee> findAll() {
-        return repository.findAll();
+        List<Employee> employees = repository.findAll();
+        metrics.rowsRead(EmployeeMetrics.Read.LIST, employees.size());
+        return employees;
+    }
+
+    /**
+     * Retrieves one page of employees ordered by ID, starting after the given cursor.
+     * One extra row is read to tell whether another page follows.
+     *
+     * @param after the ID of the last employee of the previous page (null for the first page)
+     * @param limit the maximum number of employees in the page, capped at {@link #MAX_PAGE_SIZE}
+     * @return the page of employees and the cursor of the next page
+     */
+    public EmployeePage<Employee> findPage(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Employee> rows = repository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L,
+                Limit.of(pageSize + 1));
+        metrics.rowsRead(EmployeeMetrics.Read.PAGE, rows.size());
+        if (rows.size() <= pageSize) {
+            return new EmployeePage<>(rows, null);
+        }
+        List<Employee> items = rows.subList(0, pageSize);
+        return new EmployeePage<>(items, items.get(pageSize - 1).getId());
+    }
+
+    /**
+     * Retrieves one page of employees ordered by ID, reading only the given fields.
+     * Rows are returned as read-only maps of field values, not as entities.
+     *
+     * @param after  the ID of the last employee of the previous page (null for the first page)
+     * @param limit  the maximum number of employees in the page, capped at {@link #MAX_PAGE_SIZE}
+     * @param fields the names of the fields to read; the ID is always included
+     * @return the page of field values and the cursor of the next page
+     * @throws IllegalArgumentException if a field does not exist
+     */
+    public EmployeePage<Map<String, Object>> findPage(Long after, int limit, List<String> fields) {
+        for (String field : fields) {
+            if (!EmployeeProjectionRepository.SELECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Map<String, Object>> rows = repository.findFieldsByIdGreaterThan(after != null ? after : 0L,
+                pageSize + 1, fields);
+        metrics.rowsRead(EmployeeMetrics.Read.PAGE, rows.size());
+        if (rows.size() <= pageSize) {
+            return new EmployeePage<>(rows, null);
+        }
+        List<Map<String, Object>> items = rows.subList(0, pageSize);
+        return new EmployeePage<>(items, (Long) items.get(pageSize - 1).get("id"));
+    }
+
+    /**
+     * Retrieves one page of employees matching the given field values through a secondary index.
+     * Exactly one of the supported combinations must be given: lastName, locationCity, status,
+     * status and locationCity, or positionTitle. Results are ordered by ID.
+     *
+     * @param lastName      the last name to match, or null
+     * @param locationCity  the city to match, or null
+     * @param status        the status to match, or null
+     * @param positionTitle the position title to match, or null
+     * @param page          the zero-based page number
+     * @param size          the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return the matching employees
+     * @throws IllegalArgumentException if the combination of fields is not backed by an index
+     */
+    public List<Employee> findByIndexedFields(String lastName, String locationCity, String status,
+                                              String positionTitle, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+                Sort.by("id"));
+        List<Employee> employees;
+        if (lastName != null && locationCity == null && status == null && positionTitle == null) {
+            employees = repository.findByLastName(lastName, pageable);
+        } else if (positionTitle != null && lastName == null && locationCity == null && status == null) {
+            employees = repository.findByPositionTitle(positionTitle, pageable);
+        } else if (status != null && lastName == null && positionTitle == null) {
+            employees = locationCity != null ? repository.findByStatusAndLocationCity(status, locationCity, pageable)
+                    : repository.findByStatus(status, pageable);
+        } else if (locationCity != null && lastName == null && status == null && positionTitle == null) {
+            employees = repository.findByLocationCity(locationCity, pageable);
+        } else {
+            throw new IllegalArgumentException("Unsupported filter combination");
+        }
+        metrics.rowsRead(EmployeeMetrics.Read.FILTER, employees.size());
+        return employees;
+    }
+
+    /**
+     * Streams all employees ordered by ID, reading them from a JDBC cursor.
+     * Rows are not loaded into the persistence context.
+     *
+     * @param after    only employees with a greater ID are streamed (null for all)
+     * @param consumer receives each employee as it is read
+     */
+    public void streamAll(Long after, Consumer<Employee> consumer) {
+        long[] rows = {0};
+        try {
+            jdbcRepository.streamAll(after, employee -> {
+                rows[0]++;
+                consumer.accept(employee);
+            });
+        } finally {
+            metrics.rowsRead(EmployeeMetrics.Read.STREAM, rows[0]);
+        }
     }
 
     /**
      * Retrieves an employee by their ID.
+     * Served from the cache when possible, otherwise loaded together with concurrent lookups;
+     * the returned employee must not be modified.
      *
      * @param id the ID of the employee to retrieve
      * @return the employee with the specified ID
      * @throws RuntimeException if the employee is not found
      */
     public Employee getEmployeeById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new RuntimeException("Employee not found"));
+        Employee cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        return loader.load(id).orElseThrow(() -> new RuntimeException("Employee not found"));
+    }
+
+    /**
+     * Retrieves several employees by ID: cached employees from the cache, the others with one query.
+     * The returned employees must not be modified.
+     *
+     * @param ids the IDs of the employees, at most {@link #MAX_PAGE_SIZE}
+     * @return the employees found, in the order of their first ID in the request; missing IDs are skipped
+     * @throws IllegalArgumentException if there are too many IDs or an ID is null
+     */
+    public List<Employee> getEmployeesByIds(List<Long> ids) {
+        if (ids.size() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_PAGE_SIZE + " IDs can be requested at once");
+        }
+        Map<Long, Employee> found = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Employee ID is missing");
+            }
+            if (!found.containsKey(id)) {
+                Employee cached = cache.get(id);
+                found.put(id, cached);
+                if (cached == null) {
+                    missing.add(id);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            long epoch = cache.epoch();
+            for (Employee employee : findAllById(missing)) {
+                cache.put(employee, epoch);
+                found.put(employee.getId(), employee);
+            }
+        }
+        List<Employee> employees = new ArrayList<>(found.size());
+        for (Employee employee : found.values()) {
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Searches employees by first, middle and last name.
+     * Short terms match name prefixes, longer terms match anywhere in a name.
+     *
+     * @param query the search terms, separated by spaces
+     * @param limit the maximum number of hits, capped at {@link #MAX_PAGE_SIZE}
+     * @return the best matching employees, best first
+     */
+    public List<EmployeeNameIndex.Hit> searchByName(String query, int limit) {
+        return nameIndex.search(query, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Retrieves the employees inserted, updated or deleted since a watermark, oldest change first.
+     * Changes made in the last {@code employee.changes.settle-time} are left for the next call,
+     * so that writes still committing with an earlier timestamp are not skipped.
+     *
+     * @param since a watermark returned by a previous call, or an ISO-8601 instant for the first call
+     * @param limit the maximum number of changes, capped at {@link #MAX_PAGE_SIZE}
+     * @return the changes and the watermark to continue from
+     * @throws IllegalArgumentException if {@code since} is neither a watermark nor an instant
+     */
+    public EmployeeChanges getChangesSince(String since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Instant from;
+        long afterId = 0;
+        try {
+            int separator = since.indexOf(WATERMARK_SEPARATOR);
+            from = Instant.parse(separator < 0 ? since : since.substring(0, separator));
+            if (separator >= 0) {
+                afterId = Long.parseLong(since.substring(separator + 1));
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid watermark: " + since, e);
+        }
+        Instant until = Employee.now().minus(changesSettleTime);
+        List<Employee> modified = jdbcRepository.findModifiedSince(from, afterId, until, pageSize + 1);
+        List<EmployeeTombstone> deleted = jdbcRepository.findTombstonesSince(from, afterId, until, pageSize + 1);
+        metrics.rowsRead(EmployeeMetrics.Read.CHANGES, modified.size() + deleted.size());
+
+        // Merge both lists in (time, id) order and keep the oldest changes
+        int m = 0;
+        int d = 0;
+        String watermark = watermark(from, afterId);
+        while (m + d < pageSize && (m < modified.size() || d < deleted.size())) {
+            boolean takeModified = d == deleted.size() || (m < modified.size()
+                    && compare(modified.get(m).getLastModified(), modified.get(m).getId(),
+                    deleted.get(d).getDeletedAt(), deleted.get(d).getEmployeeId()) < 0);
+            if (takeModified) {
+                Employee employee = modified.get(m++);
+                watermark = watermark(employee.getLastModified(), employee.getId());
+            } else {
+                EmployeeTombstone tombstone = deleted.get(d++);
+                watermark = watermark(tombstone.getDeletedAt(), tombstone.getEmployeeId());
+            }
+        }
+        boolean hasMore = m < modified.size() || d < deleted.size();
+        return new EmployeeChanges(modified.subList(0, m), deleted.subList(0, d), watermark, hasMore);
+    }
+
+    private static String watermark(Instant time, long id) {
+        return time.toString() + WATERMARK_SEPARATOR + id;
+    }
+
+    private static int compare(Instant time, long id, Instant otherTime, long otherId) {
+        int byTime = time.compareTo(otherTime);
+        return byTime != 0 ? byTime : Long.compare(id, otherId);
+    }
+
+    /**
+     * Computes salary and headcount statistics per group with one GROUP BY query in the database.
+     *
+     * @param groupBy the field to group by: locationCity, positionTitle or status
+     * @return one row per group, ordered by group
+     * @throws IllegalArgumentException if the field cannot be grouped by
+     */
+    public List<SalaryStats> getSalaryStats(String groupBy) {
+        return switch (EmployeeGrouping.ofField(groupBy)) {
+            case LOCATION_CITY -> repository.salaryStatsByLocationCity();
+            case POSITION_TITLE -> repository.salaryStatsByPositionTitle();
+            case STATUS -> repository.salaryStatsByStatus();
+        };
+    }
+
+    /**
+     * Reads salary and headcount statistics per group from the summary table, without percentiles.
+     *
+     * @param groupBy the field to group by: locationCity, positionTitle or status
+     * @return one row per group, ordered by group, or empty if the summary table is not enabled
+     * @throws IllegalArgumentException if the field cannot be grouped by
+     */
+    public Optional<List<SalaryStats>> getSummarizedSalaryStats(String groupBy) {
+        EmployeeGrouping grouping = EmployeeGrouping.ofField(groupBy);
+        return Optional.ofNullable(salarySummary).map(summary -> summary.salaryStats(grouping));
+    }
+
+    /**
+     * Computes headcount, salary, age and tenure statistics of the employees matching a filter
+     * by scanning the columnar replica.
+     *
+     * @param groupBy the field to group by: locationCity, positionTitle or status; null for one overall row
+     * @param filter  the employees to include
+     * @return one row per group, ordered by group, or empty if the columnar replica is not enabled
+     * @throws IllegalArgumentException if the field cannot be grouped by
+     */
+    public Optional<List<WorkforceStats>> getWorkforceStats(String groupBy, EmployeeColumnStore.Filter filter) {
+        EmployeeGrouping grouping = groupBy == null ? null : EmployeeGrouping.ofField(groupBy);
+        return Optional.ofNullable(columnStore).map(store -> store.aggregate(filter, grouping, LocalDate.now()));
+    }
+
+    /**
+     * @return the hit, miss and eviction counters of the employee cache
+     */
+    public EmployeeCache.Stats getCacheStats() {
+        return cache.stats();
     }
 
     /**
      * Saves an employee to the repository.
+     * An employee without ID is inserted; one with an ID and version updates that version.
      *
      * @param entity the employee to save
      * @return the saved employee
+     * @throws IllegalArgumentException if the employee has an ID but no version
      */
     @Override
+    @Transactional
     public <S extends Employee> S save(S entity) {
-        return repository.save(entity);
+        boolean created = isNew(entity);
+        S saved = repository.save(entity);
+        cache.invalidate(saved.getId());
+        publishSaved(saved, created);
+        return saved;
     }
 
     /**
@@ -60,8 +405,11 @@ public class EmployeeService implements EmployeeRepository {
      * @param employee the employee to create
      * @return the created employee
      */
+    @Transactional
     public Employee createEmployee(Employee employee) {
-        return repository.save(employee);
+        Employee saved = repository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(saved));
+        return saved;
     }
 
     /**
@@ -71,8 +419,11 @@ public class EmployeeService implements EmployeeRepository {
      * @param updatedEmployee the updated employee data
      * @return the updated employee
      */
+    @Transactional
     public Employee updateEmployee(Long id, Employee updatedEmployee) {
-        Employee existingEmployee = getEmployeeById(id);
+        // Load a private copy rather than the shared cached instance, since it is modified below
+        Employee existingEmployee = repository.findById(id).orElseThrow(() -> new RuntimeException("Employee not found"));
+        Employee previous = copyOf(existingEmployee);
         existingEmployee.setFirstName(updatedEmployee.getFirstName());
         existingEmployee.setMiddleName(updatedEmployee.getMiddleName());
         existingEmployee.setLastName(updatedEmployee.getLastName());
@@ -80,16 +431,110 @@ public class EmployeeService implements EmployeeRepository {
         existingEmployee.setAddress(updatedEmployee.getAddress());
         existingEmployee.setDateOfBirth(updatedEmployee.getDateOfBirth());
         existingEmployee.setTelephone(updatedEmployee.getTelephone());
-        return repository.save(existingEmployee);
+        existingEmployee.setPositionTitle(updatedEmployee.getPositionTitle());
+        existingEmployee.setHireDate(updatedEmployee.getHireDate());
+        existingEmployee.setEmail(updatedEmployee.getEmail());
+        existingEmployee.setSalary(updatedEmployee.getSalary());
+        existingEmployee.setStatus(updatedEmployee.getStatus());
+        Employee saved = repository.save(existingEmployee);
+        cache.invalidate(id);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(saved, previous));
+        return saved;
+    }
+
+    /**
+     * Partially updates an employee with a single UPDATE of the changed columns.
+     * The row is not read first: when nothing was updated, one existence check tells
+     * a missing employee apart from a version conflict.
+     *
+     * @param id              the ID of the employee to update
+     * @param changes         the new values by field name
+     * @param expectedVersion if not null, the update only applies if the employee still has this version
+     * @return the outcome of the update
+     * @throws IllegalArgumentException if a field is unknown, not updatable or has an invalid value
+     */
+    @Transactional
+    public PatchOutcome patchEmployee(Long id, Map<String, Object> changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        Map<String, Object> columnValues = new LinkedHashMap<>();
+        Map<String, Object> fieldValues = new LinkedHashMap<>();
+        changes.forEach((field, value) -> {
+            String column = PATCHABLE_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("Field cannot be updated: " + field);
+            }
+            Object columnValue = toColumnValue(field, value);
+            columnValues.put(column, columnValue);
+            fieldValues.put(field, columnValue);
+        });
+
+        Optional<Employee> previous = jdbcRepository.updateColumns(id, columnValues, expectedVersion);
+        cache.invalidate(id);
+        if (previous.isPresent()) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.patched(previous.get(), fieldValues));
+            return PatchOutcome.UPDATED;
+        }
+        return jdbcRepository.existsById(id) ? PatchOutcome.CONFLICT : PatchOutcome.NOT_FOUND;
+    }
+
+    // Converts a JSON value to the type of the field's column
+    private static Object toColumnValue(String field, Object value) {
+        if (value == null) {
+            if (!field.equals("middleName")) {
+                throw new IllegalArgumentException("Field cannot be null: " + field);
+            }
+            return null;
+        }
+        try {
+            return switch (field) {
+                case "dateOfBirth", "hireDate" -> LocalDate.parse((String) value);
+                case "salary" -> ((Number) value).doubleValue();
+                default -> (String) value;
+            };
+        } catch (ClassCastException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid value for " + field + ": " + value, e);
+        }
     }
 
     /**
-     * Deletes an employee by their ID.
+     * Deletes an employee by their ID with a single DELETE statement.
+     * Nothing is recorded if the employee does not exist.
      *
      * @param id the ID of the employee to delete
      */
+    @Transactional
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        deleteEmployee(id);
+    }
+
+    /**
+     * Deletes an employee with a single DELETE statement.
+     *
+     * @param id the ID of the employee to delete
+     * @return true if the employee existed and was deleted
+     */
+    @Transactional
+    public boolean deleteEmployee(Long id) {
+        Optional<Employee> deleted = jdbcRepository.deleteById(id);
+        cache.invalidate(id);
+        if (deleted.isPresent()) {
+            jdbcRepository.insertTombstones(List.of(id));
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(List.of(deleted.get())));
+        }
+        return deleted.isPresent();
+    }
+
+    /**
+     * Deletes the employees with the given IDs, one DELETE statement per chunk of IDs.
+     *
+     * @param ids the IDs of the employees to delete
+     * @return the number of employees deleted
+     */
+    @Transactional
+    public int deleteEmployees(List<Long> ids) {
+        return deleteInChunks(ids);
     }
 
     /**
@@ -98,11 +543,22 @@ public class EmployeeService implements EmployeeRepository {
      * @param entity the employee entity to delete
      */
     @Override
+    @Transactional
     public void delete(Employee entity) {
+        // Deleting an employee that does not exist is a no-op, and must not leave a tombstone. The row is
+        // locked, so the event carries the employee as it was deleted
+        Optional<Employee> existing = entity.getId() != null
+                ? jdbcRepository.findByIdForUpdate(entity.getId()) : Optional.empty();
+        if (existing.isEmpty()) {
+            return;
+        }
         repository.delete(entity);
+        jdbcRepository.insertTombstones(List.of(entity.getId()));
+        cache.invalidate(entity.getId());
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(List.of(existing.get())));
     }
 
-    // Boilerplate methods from EmployeeRepository (TODO placeholders)
+    // Remaining EmployeeRepository methods
 
     @Override
     public List<Employee> findAll(Sort sort) {
@@ -120,8 +576,10 @@ public class EmployeeService implements EmployeeRepository {
     }
 
     @Override
+    @Transactional
     public <S extends Employee> List<S> saveAll(Iterable<S> entities) {
-        return repository.saveAll(entities);
+        List<Boolean> created = createdFlags(entities);
+        return afterSaveAll(repository.saveAll(entities), created);
     }
 
     @Override
@@ -134,124 +592,273 @@ public class EmployeeService implements EmployeeRepository {
         return repository.existsById(id);
     }
 
-   
-	@Override
-	public void flush() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public <S extends Employee> S saveAndFlush(S entity) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public <S extends Employee> List<S> saveAllAndFlush(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public void deleteAllInBatch(Iterable<Employee> entities) {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public void deleteAllByIdInBatch(Iterable<Long> ids) {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public void deleteAllInBatch() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public Employee getOne(Long id) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public Employee getById(Long id) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public Employee getReferenceById(Long id) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public <S extends Employee> List<S> findAll(Example<S> example, Sort sort) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public List<Employee> findAllById(Iterable<Long> ids) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public void deleteAllById(Iterable<? extends Long> ids) {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public void deleteAll(Iterable<? extends Employee> entities) {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public void deleteAll() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public <S extends Employee> Page<S> findAll(Example<S> example, Pageable pageable) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public <S extends Employee> boolean exists(Example<S> example) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public <S extends Employee> List<S> findAll(Example<S> example) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public <S extends Employee> Optional<S> findOne(Example<S> example) {
-		// TODO Auto-generated method stub
-		return Optional.empty();
-	}
-
-	@Override
-	public <S extends Employee> long count(Example<S> example) {
-		// TODO Auto-generated method stub
-		return 0;
-	}
-
-	@Override
-	public <S extends Employee, R> R findBy(Example<S> example, Function<FetchableFluentQuery<S>, R> queryFunction) {
-		// TODO Auto-generated method stub
-		return null;
-	}
+    @Override
+    public List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(id, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, int limit, List<String> fields) {
+        return repository.findFieldsByIdGreaterThan(id, limit, fields);
+    }
+
+    @Override
+    public Optional<Employee> findByEmail(String email) {
+        return repository.findByEmail(email);
+    }
+
+    @Override
+    public List<Employee> findByLastName(String lastName, Pageable pageable) {
+        return repository.findByLastName(lastName, pageable);
+    }
+
+    @Override
+    public List<Employee> findByLocationCity(String locationCity, Pageable pageable) {
+        return repository.findByLocationCity(locationCity, pageable);
+    }
+
+    @Override
+    public List<Employee> findByStatus(String status, Pageable pageable) {
+        return repository.findByStatus(status, pageable);
+    }
+
+    @Override
+    public List<Employee> findByStatusAndLocationCity(String status, String locationCity, Pageable pageable) {
+        return repository.findByStatusAndLocationCity(status, locationCity, pageable);
+    }
+
+    @Override
+    public List<Employee> findByPositionTitle(String positionTitle, Pageable pageable) {
+        return repository.findByPositionTitle(positionTitle, pageable);
+    }
+
+    @Override
+    public List<SalaryStats> salaryStatsByLocationCity() {
+        return repository.salaryStatsByLocationCity();
+    }
+
+    @Override
+    public List<SalaryStats> salaryStatsByPositionTitle() {
+        return repository.salaryStatsByPositionTitle();
+    }
+
+    @Override
+    public List<SalaryStats> salaryStatsByStatus() {
+        return repository.salaryStatsByStatus();
+    }
+
+    @Override
+    public void flush() {
+        repository.flush();
+    }
+
+    @Override
+    @Transactional
+    public <S extends Employee> S saveAndFlush(S entity) {
+        boolean created = isNew(entity);
+        S saved = repository.saveAndFlush(entity);
+        cache.invalidate(saved.getId());
+        publishSaved(saved, created);
+        return saved;
+    }
+
+    /**
+     * Saves all employees and flushes them in one go.
+     * Inserts and updates are ordered and sent in JDBC batches of {@code employee.jdbc.batch-size}.
+     *
+     * @param entities the employees to save
+     * @return the saved employees
+     */
+    @Override
+    @Transactional
+    public <S extends Employee> List<S> saveAllAndFlush(Iterable<S> entities) {
+        List<Boolean> created = createdFlags(entities);
+        return afterSaveAll(repository.saveAllAndFlush(entities), created);
+    }
+
+    /**
+     * Deletes the given employees with set-based DELETE statements, one per chunk of IDs.
+     *
+     * @param entities the employees to delete
+     */
+    @Override
+    @Transactional
+    public void deleteAllInBatch(Iterable<Employee> entities) {
+        deleteInChunks(idsOf(entities));
+    }
+
+    /**
+     * Deletes the employees with the given IDs with set-based DELETE statements, one per chunk of IDs.
+     *
+     * @param ids the IDs of the employees to delete
+     */
+    @Override
+    @Transactional
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteInChunks(toList(ids));
+    }
+
+    /**
+     * Deletes all employees with a single DELETE statement.
+     */
+    @Override
+    @Transactional
+    public void deleteAllInBatch() {
+        jdbcRepository.deleteAll();
+        cache.invalidateAll();
+        eventPublisher.publishEvent(EmployeeChangedEvent.reset());
+    }
+
+    @Override
+    @Deprecated
+    public Employee getOne(Long id) {
+        return repository.getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Employee getById(Long id) {
+        return repository.getReferenceById(id);
+    }
+
+    @Override
+    public Employee getReferenceById(Long id) {
+        return repository.getReferenceById(id);
+    }
+
+    @Override
+    public <S extends Employee> List<S> findAll(Example<S> example, Sort sort) {
+        return repository.findAll(example, sort);
+    }
+
+    /**
+     * Retrieves the employees with the given IDs with one SELECT per chunk of IDs.
+     * The returned employees are detached; missing IDs are skipped.
+     *
+     * @param ids the IDs to look up
+     * @return the employees found
+     */
+    @Override
+    public List<Employee> findAllById(Iterable<Long> ids) {
+        List<Employee> employees = jdbcRepository.findAllById(toList(ids));
+        metrics.rowsRead(EmployeeMetrics.Read.LOOKUP, employees.size());
+        return employees;
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        deleteInChunks(toList(ids));
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(Iterable<? extends Employee> entities) {
+        deleteInChunks(idsOf(entities));
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        jdbcRepository.deleteAll();
+        cache.invalidateAll();
+        eventPublisher.publishEvent(EmployeeChangedEvent.reset());
+    }
+
+    @Override
+    public <S extends Employee> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return repository.findAll(example, pageable);
+    }
+
+    @Override
+    public <S extends Employee> boolean exists(Example<S> example) {
+        return repository.exists(example);
+    }
+
+    @Override
+    public <S extends Employee> List<S> findAll(Example<S> example) {
+        return repository.findAll(example);
+    }
+
+    @Override
+    public <S extends Employee> Optional<S> findOne(Example<S> example) {
+        return repository.findOne(example);
+    }
+
+    @Override
+    public <S extends Employee> long count(Example<S> example) {
+        return repository.count(example);
+    }
+
+    @Override
+    public <S extends Employee, R> R findBy(Example<S> example, Function<FetchableFluentQuery<S>, R> queryFunction) {
+        return repository.findBy(example, queryFunction);
+    }
+
+    // Tombstones and events cover only the employees actually deleted, not missing or repeated IDs
+    private int deleteInChunks(List<Long> ids) {
+        List<Employee> deleted = jdbcRepository.deleteAllById(ids);
+        ids.forEach(cache::invalidate);
+        if (!deleted.isEmpty()) {
+            EmployeeChangedEvent event = EmployeeChangedEvent.deleted(List.copyOf(deleted));
+            jdbcRepository.insertTombstones(event.ids());
+            eventPublisher.publishEvent(event);
+        }
+        return deleted.size();
+    }
+
+    private <S extends Employee> List<S> afterSaveAll(List<S> saved, List<Boolean> created) {
+        for (int i = 0; i < saved.size(); i++) {
+            cache.invalidate(saved.get(i).getId());
+            publishSaved(saved.get(i), created.get(i));
+        }
+        return saved;
+    }
+
+    // Whether each entity is new, i.e. will be inserted rather than updated by a save
+    private static List<Boolean> createdFlags(Iterable<? extends Employee> entities) {
+        List<Boolean> created = new ArrayList<>();
+        entities.forEach(employee -> created.add(isNew(employee)));
+        return created;
+    }
+
+    // An employee with an ID must carry the version it was read with, otherwise it would be inserted again
+    private static boolean isNew(Employee employee) {
+        if (employee.getId() == null) {
+            return true;
+        }
+        if (employee.getVersion() == null) {
+            throw new IllegalArgumentException("Employee " + employee.getId()
+                    + " has no version: send the version it was read with, or update it with PUT or PATCH");
+        }
+        return false;
+    }
+
+    private void publishSaved(Employee saved, boolean created) {
+        eventPublisher.publishEvent(created ? EmployeeChangedEvent.created(saved)
+                : EmployeeChangedEvent.updated(saved, null));
+    }
+
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee(employee.getFirstName(), employee.getMiddleName(), employee.getLastName(),
+                employee.getLocationCity(), employee.getAddress(), employee.getDateOfBirth(),
+                employee.getTelephone(), employee.getPositionTitle(), employee.getHireDate(),
+                employee.getEmail(), employee.getSalary(), employee.getStatus());
+        copy.setId(employee.getId());
+        copy.setVersion(employee.getVersion());
+        copy.setLastModified(employee.getLastModified());
+        return copy;
+    }
+
+    private static List<Long> toList(Iterable<? extends Long> ids) {
+        List<Long> list = new ArrayList<>();
+        ids.forEach(list::add);
+        return list;
+    }
+
+    private static List<Long> idsOf(Iterable<? extends Employee> entities) {
+        List<Long> ids = new ArrayList<>();
+        entities.forEach(employee -> ids.add(employee.getId()));
+        return ids;
+    }
 }
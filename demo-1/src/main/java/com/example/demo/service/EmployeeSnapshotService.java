@@ -0,0 +1,277 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SnapshotReport;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeIdBlocks;
+import com.example.demo.repository.EmployeeJdbcRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service for snapshots of the "employees" table: compact backups that can be taken and restored
+ * while the application keeps serving requests.
+ * <p>
+ * A snapshot is a gzip-compressed file with one JSON employee per line, read from the table with one
+ * streaming query, so it is consistent and memory use does not grow with the table. It is written to
+ * a temporary file and renamed once complete.
+ * <p>
+ * A restore replaces the contents of the table in one transaction: readers see the old employees until
+ * it commits. Employees in the snapshot are merged by ID with a new version, so ETags issued before the
+ * restore no longer match, and employees not in the snapshot are deleted with a tombstone. Restored
+ * employees get the restore time as their last modification, so incremental sync picks them up.
+ * Writes that run concurrently with a restore may be overwritten by it.
+ */
+@Service
+public class EmployeeSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotService.class);
+
+    static final String EXTENSION = ".ndjson.gz";
+
+    // Snapshot files are only ever read from the snapshot directory, by their generated names
+    private static final Pattern FILE_NAME = Pattern.compile("employees-[0-9-]+\\.ndjson\\.gz");
+
+    // Columns merged from a snapshot; version and last_modified are computed by the restore
+    private static final String[] COLUMNS = {"id", "first_name", "middle_name", "last_name", "location_city",
+            "address", "date_of_birth", "telephone", "position_title", "hire_date", "email", "salary", "status",
+            "version"};
+
+    private final EmployeeJdbcRepository jdbcRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EmployeeCache cache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeIdBlocks idBlocks;
+    private final Path snapshotDirectory;
+    private final int batchSize;
+
+    public EmployeeSnapshotService(EmployeeJdbcRepository jdbcRepository, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                   EmployeeCache cache, ApplicationEventPublisher eventPublisher,
+                                   EmployeeIdBlocks idBlocks,
+                                   @Value("${employee.snapshot.directory:snapshots}") String snapshotDirectory,
+                                   @Value("${employee.snapshot.batch-size:500}") int batchSize) {
+        this.jdbcRepository = jdbcRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+        this.eventPublisher = eventPublisher;
+        this.idBlocks = idBlocks;
+        this.snapshotDirectory = Paths.get(snapshotDirectory);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes all employees to a new snapshot file in the configured snapshot directory.
+     *
+     * @return a report with the file name, row count and size
+     * @throws IOException if the file cannot be written
+     */
+    public SnapshotReport snapshot() throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(snapshotDirectory);
+        String name = "employees-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS"))
+                + EXTENSION;
+        Path temporary = Files.createTempFile(snapshotDirectory, "employees-", ".tmp");
+        long[] rows = {0};
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary), 64 * 1024);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                jdbcRepository.streamAll(null, employee -> {
+                    try {
+                        objectMapper.writeValue(generator, employee);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(temporary, snapshotDirectory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        SnapshotReport report = new SnapshotReport(name, rows[0], 0, Files.size(snapshotDirectory.resolve(name)),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Snapshot {}: {} employees ({} bytes) in {} ms", name, report.rows(), report.bytes(),
+                report.elapsedMillis());
+        return report;
+    }
+
+    /**
+     * Lists the snapshot files in the configured snapshot directory.
+     *
+     * @return the file names, oldest first
+     * @throws IOException if the directory cannot be read
+     */
+    public List<String> listSnapshots() throws IOException {
+        if (!Files.isDirectory(snapshotDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(snapshotDirectory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> FILE_NAME.matcher(name).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Replaces the contents of the "employees" table with a snapshot.
+     *
+     * @param name the name of a snapshot file in the configured snapshot directory
+     * @return a report with the number of employees restored and deleted
+     * @throws IllegalArgumentException if the name is not a snapshot file name, or the snapshot holds
+     *                                  an invalid employee; nothing is restored then
+     * @throws NoSuchFileException      if there is no such snapshot
+     * @throws IOException              if the snapshot cannot be read
+     */
+    public SnapshotReport restore(String name) throws IOException {
+        if (!FILE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Not a snapshot file name: " + name);
+        }
+        Path file = snapshotDirectory.resolve(name);
+        long start = System.nanoTime();
+        long bytes = Files.size(file);
+        long[] counts;
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)), 64 * 1024)) {
+            counts = transactionTemplate.execute(status -> restore(in));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        cache.invalidateAll();
+        // Derived views rebuild from the table
+        eventPublisher.publishEvent(EmployeeChangedEvent.reset());
+
+        SnapshotReport report = new SnapshotReport(name, counts[0], counts[1], bytes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Restored snapshot {}: {} employees restored, {} deleted in {} ms", name, report.rows(),
+                report.rowsDeleted(), report.elapsedMillis());
+        return report;
+    }
+
+    // Merges the snapshot's employees and deletes the others; returns {restored, deleted}
+    private long[] restore(InputStream in) {
+        OffsetDateTime restoredAt = Employee.now().atOffset(ZoneOffset.UTC);
+        long restored = 0;
+        try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(in)) {
+            List<Employee> batch = new ArrayList<>(batchSize);
+            while (employees.hasNextValue()) {
+                Employee employee = employees.nextValue();
+                String error = employee.getId() == null ? "id is required"
+                        : employee.getVersion() == null ? "version is required" : EmployeeImportService.validate(employee);
+                if (error != null) {
+                    throw new IllegalArgumentException("Employee " + (restored + batch.size() + 1)
+                            + " of the snapshot is invalid: " + error);
+                }
+                batch.add(employee);
+                if (batch.size() == batchSize) {
+                    merge(batch, restoredAt);
+                    restored += batch.size();
+                    batch.clear();
+                }
+            }
+            merge(batch, restoredAt);
+            restored += batch.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Everything the restore did not write was not in the snapshot
+        jdbcTemplate.update("MERGE INTO employee_tombstones (employee_id, deleted_at) KEY (employee_id) "
+                + "SELECT id, ? FROM employees WHERE last_modified <> ?", restoredAt, restoredAt);
+        long deleted = jdbcTemplate.update("DELETE FROM employees WHERE last_modified <> ?", restoredAt);
+        jdbcTemplate.update("DELETE FROM employee_tombstones WHERE employee_id IN (SELECT id FROM employees)");
+        // New employees must not reuse the IDs of restored ones
+        idBlocks.skipPast(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM employees", Long.class));
+        return new long[] {restored, deleted};
+    }
+
+    // Inserts or replaces a batch of employees with one statement
+    private void merge(List<Employee> batch, OffsetDateTime restoredAt) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        deleteEmailConflicts(batch, restoredAt);
+        String row = "(" + String.join(", ", Collections.nCopies(COLUMNS.length, "?")) + ")";
+        List<String> updates = new ArrayList<>();
+        for (String column : COLUMNS) {
+            if (!column.equals("id") && !column.equals("version")) {
+                updates.add(column + " = s." + column);
+            }
+        }
+        String sql = "MERGE INTO employees t USING (VALUES " + String.join(", ", Collections.nCopies(batch.size(), row))
+                + ") s(" + String.join(", ", COLUMNS) + ") ON t.id = s.id "
+                + "WHEN MATCHED THEN UPDATE SET " + String.join(", ", updates)
+                + ", version = GREATEST(t.version, s.version) + 1, last_modified = ? "
+                + "WHEN NOT MATCHED THEN INSERT (" + String.join(", ", COLUMNS) + ", last_modified) VALUES (s."
+                + String.join(", s.", COLUMNS) + ", ?)";
+        List<Object> args = new ArrayList<>(batch.size() * COLUMNS.length + 2);
+        for (Employee employee : batch) {
+            // In the order of COLUMNS
+            Collections.addAll(args, employee.getId(), employee.getFirstName(), employee.getMiddleName(),
+                    employee.getLastName(), employee.getLocationCity(), employee.getAddress(),
+                    employee.getDateOfBirth(), employee.getTelephone(), employee.getPositionTitle(),
+                    employee.getHireDate(), employee.getEmail(), employee.getSalary(), employee.getStatus(),
+                    employee.getVersion());
+        }
+        args.add(restoredAt);
+        args.add(restoredAt);
+        jdbcTemplate.update(sql, args.toArray());
+    }
+
+    // Deletes, with a tombstone, the employees holding a restored email under another ID. If such an
+    // employee is in the snapshot too, it is inserted again when its own line is restored.
+    private void deleteEmailConflicts(List<Employee> batch, OffsetDateTime restoredAt) {
+        String conflict = " FROM employees t WHERE EXISTS (SELECT 1 FROM (VALUES "
+                + String.join(", ", Collections.nCopies(batch.size(), "(?, ?)"))
+                + ") s(id, email) WHERE s.email = t.email AND s.id <> t.id)";
+        List<Object> args = new ArrayList<>(batch.size() * 2 + 1);
+        args.add(restoredAt);
+        for (Employee employee : batch) {
+            Collections.addAll(args, employee.getId(), employee.getEmail());
+        }
+        jdbcTemplate.update("MERGE INTO employee_tombstones (employee_id, deleted_at) KEY (employee_id) "
+                + "SELECT t.id, ?" + conflict, args.toArray());
+        jdbcTemplate.update("DELETE" + conflict, args.subList(1, args.size()).toArray());
+    }
+}
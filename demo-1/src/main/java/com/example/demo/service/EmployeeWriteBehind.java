@@ -0,0 +1,320 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EmployeeWriteStatus;
+import com.example.demo.dto.EmployeeWriteStatus.State;
+import com.example.demo.model.Employee;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind mode for employee creation, enabled with {@code employee.write-behind.enabled}.
+ * <p>
+ * Accepted employees are validated, put in a bounded in-memory queue and acknowledged with a tracking ID.
+ * A single flusher thread inserts them in batches, one transaction per batch: a batch is flushed once it
+ * holds {@code batch-size} employees, or {@code max-delay} after its first employee was queued. If a batch
+ * fails, its employees are retried one by one so that one bad row (e.g. a duplicate email) only fails itself.
+ * <p>
+ * Queued employees are lost if the process dies before they are flushed. Callers that need to know the
+ * employee was committed wait on {@link Submission#committed()} instead of relying on the tracking ID.
+ */
+@Component
+public class EmployeeWriteBehind {
+
+    // How long the flusher waits for the first employee of a batch before checking for shutdown
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    /**
+     * A queued employee creation.
+     *
+     * @param trackingId the ID under which {@link #status(String)} reports progress
+     * @param committed  completed with the saved employee once its batch commits,
+     *                   or exceptionally if the insert fails
+     */
+    public record Submission(String trackingId, CompletableFuture<Employee> committed) {
+    }
+
+    private final EmployeeService employeeService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final Duration durableAckTimeout;
+    private final Duration shutdownTimeout;
+    private final int maxTracked;
+
+    private final BlockingQueue<QueuedWrite> queue;
+
+    // Latest status of recent writes by tracking ID, oldest first; guarded by statusLock
+    private final Map<String, EmployeeWriteStatus> statuses = new LinkedHashMap<>();
+    private final ReentrantLock statusLock = new ReentrantLock();
+
+    private final Timer flushTimer;
+    private final Timer commitLag;
+    private final DistributionSummary batchSizes;
+
+    // Whether writes are accepted; changed and checked together with the queue insertion under acceptLock,
+    // so a write is never queued after stop() has drained the queue
+    private volatile boolean running;
+    private final ReentrantLock acceptLock = new ReentrantLock();
+    private Thread flusher;
+
+    public EmployeeWriteBehind(EmployeeService employeeService, MeterRegistry registry,
+                               @Value("${employee.write-behind.enabled:false}") boolean enabled,
+                               @Value("${employee.write-behind.queue-capacity:10000}") int queueCapacity,
+                               @Value("${employee.write-behind.batch-size:500}") int batchSize,
+                               @Value("${employee.write-behind.max-delay:PT0.05S}") Duration maxDelay,
+                               @Value("${employee.write-behind.durable-ack-timeout:PT10S}") Duration durableAckTimeout,
+                               @Value("${employee.write-behind.shutdown-timeout:PT30S}") Duration shutdownTimeout,
+                               @Value("${employee.write-behind.max-tracked:100000}") int maxTracked) {
+        this.employeeService = employeeService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.durableAckTimeout = durableAckTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxTracked = Math.max(maxTracked, queueCapacity);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("employee.write.queue.depth", queue, BlockingQueue::size)
+                .description("Employees accepted in write-behind mode and not yet flushed")
+                .register(registry);
+        flushTimer = Timer.builder("employee.write.flush")
+                .description("Time to insert and commit one write-behind batch")
+                .register(registry);
+        commitLag = Timer.builder("employee.write.lag")
+                .description("Time from accepting a write-behind employee to committing it")
+                .publishPercentileHistogram()
+                .register(registry);
+        batchSizes = DistributionSummary.builder("employee.write.batch.size")
+                .description("Employees per write-behind batch")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "employee-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Stops accepting writes and waits up to {@code shutdown-timeout} for the queue to be flushed.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        acceptLock.lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.unlock();
+        }
+        flusher.join(shutdownTimeout.toMillis());
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            flusher.join();
+        }
+        // Writes that raced with the shutdown are failed rather than left waiting
+        List<QueuedWrite> stranded = new ArrayList<>();
+        queue.drainTo(stranded);
+        for (QueuedWrite write : stranded) {
+            fail(write, "Shut down before the write was flushed");
+        }
+    }
+
+    /**
+     * @return true if POST /employees/ queues employees instead of inserting them
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return how long a caller asking for a durable acknowledgement waits for the commit
+     */
+    public Duration getDurableAckTimeout() {
+        return durableAckTimeout;
+    }
+
+    /**
+     * Validates an employee and queues it for insertion.
+     *
+     * @param employee the employee to create; its ID and version are ignored
+     * @return the tracking ID and a future completed when the employee is committed
+     * @throws IllegalArgumentException   if a required field is missing or invalid
+     * @throws RejectedExecutionException if the queue is full or the service is shutting down
+     */
+    public Submission submit(Employee employee) {
+        String error = EmployeeImportService.validate(employee);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        employee.setId(null);
+        employee.setVersion(null);
+        QueuedWrite write = new QueuedWrite(UUID.randomUUID().toString(), employee, new CompletableFuture<>(),
+                System.nanoTime());
+        acceptLock.lock();
+        try {
+            if (!running) {
+                throw new RejectedExecutionException("Write-behind mode is not running");
+            }
+            record(new EmployeeWriteStatus(write.trackingId(), State.QUEUED, null, null));
+            if (!queue.offer(write)) {
+                forget(write.trackingId());
+                throw new RejectedExecutionException("Write-behind queue is full");
+            }
+        } finally {
+            acceptLock.unlock();
+        }
+        return new Submission(write.trackingId(), write.committed());
+    }
+
+    /**
+     * Looks up the progress of a queued write.
+     * Only the most recent {@code max-tracked} writes are remembered.
+     *
+     * @param trackingId the ID returned by {@link #submit(Employee)}
+     * @return the status of the write, or null if it is unknown
+     */
+    public EmployeeWriteStatus status(String trackingId) {
+        statusLock.lock();
+        try {
+            return statuses.get(trackingId);
+        } finally {
+            statusLock.unlock();
+        }
+    }
+
+    // Flusher loop: collects batches by size or time until stopped and the queue is empty
+    private void run() {
+        List<QueuedWrite> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                QueuedWrite first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.queuedNanos() + maxDelay.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    QueuedWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // The shutdown timeout expired; the collected batch is failed and the queue is drained by stop()
+            for (QueuedWrite write : batch) {
+                fail(write, "Shut down before the write was flushed");
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Inserts a batch in one transaction, falling back to one transaction per employee if it fails.
+     *
+     * @param batch the writes to insert
+     */
+    void flush(List<QueuedWrite> batch) {
+        long start = System.nanoTime();
+        try {
+            employeeService.saveAllAndFlush(batch.stream().map(QueuedWrite::employee).toList());
+        } catch (Exception batchFailure) {
+            for (QueuedWrite write : batch) {
+                try {
+                    write.employee().setId(null);
+                    write.employee().setVersion(null);
+                    employeeService.save(write.employee());
+                    commit(write);
+                } catch (Exception e) {
+                    fail(write, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+            recordFlush(start, batch.size());
+            return;
+        }
+        // Recorded before the writes are acknowledged, so a caller that saw its commit also sees the batch
+        recordFlush(start, batch.size());
+        for (QueuedWrite write : batch) {
+            commit(write);
+        }
+    }
+
+    private void recordFlush(long startNanos, int size) {
+        flushTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        batchSizes.record(size);
+    }
+
+    private void commit(QueuedWrite write) {
+        record(new EmployeeWriteStatus(write.trackingId(), State.COMMITTED, write.employee().getId(), null));
+        commitLag.record(System.nanoTime() - write.queuedNanos(), TimeUnit.NANOSECONDS);
+        write.committed().complete(write.employee());
+    }
+
+    private void fail(QueuedWrite write, String error) {
+        record(new EmployeeWriteStatus(write.trackingId(), State.FAILED, null, error));
+        write.committed().completeExceptionally(new IllegalArgumentException(error));
+    }
+
+    private void record(EmployeeWriteStatus status) {
+        statusLock.lock();
+        try {
+            statuses.put(status.trackingId(), status);
+            while (statuses.size() > maxTracked) {
+                statuses.remove(statuses.keySet().iterator().next());
+            }
+        } finally {
+            statusLock.unlock();
+        }
+    }
+
+    private void forget(String trackingId) {
+        statusLock.lock();
+        try {
+            statuses.remove(trackingId);
+        } finally {
+            statusLock.unlock();
+        }
+    }
+
+    // An accepted employee waiting to be flushed
+    record QueuedWrite(String trackingId, Employee employee, CompletableFuture<Employee> committed,
+                       long queuedNanos) {
+    }
+}
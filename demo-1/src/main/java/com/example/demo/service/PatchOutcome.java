@@ -0,0 +1,13 @@
+package com.example.demo.service;
+
+/**
+ * Result of a partial employee update.
+ */
+public enum PatchOutcome {
+    // The row was updated
+    UPDATED,
+    // No employee has the given ID
+    NOT_FOUND,
+    // The employee exists but its version differs from the expected one
+    CONFLICT
+}
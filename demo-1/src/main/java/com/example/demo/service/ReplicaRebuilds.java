@@ -0,0 +1,64 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the rebuilds of an in-memory replica of the "employees" table that follows
+ * {@link EmployeeChangedEvent}s: {@link EmployeeNameIndex} and {@link EmployeeColumnStore}.
+ * <p>
+ * A rebuild reads the table without holding the replica's lock, so writes committed meanwhile
+ * may be missing from what it read. Each rebuild gets a generation number and its own buffer of
+ * the events received while it runs; the replica replays that buffer onto the rebuilt copy before
+ * installing it. Rebuilds may overlap, e.g. a RESET during the startup build: a rebuild is only
+ * installed if no newer one has been installed first, and a failed rebuild is discarded.
+ * <p>
+ * Not thread-safe: every method must be called with the replica's write lock held.
+ */
+final class ReplicaRebuilds {
+
+    // Events received by each rebuild in progress, by generation
+    private final Map<Long, List<EmployeeChangedEvent>> pending = new HashMap<>();
+    private long started;
+    private long installed;
+
+    /**
+     * Starts a rebuild; call before reading the table.
+     *
+     * @return the generation of the rebuild
+     */
+    long start() {
+        pending.put(++started, new ArrayList<>());
+        return started;
+    }
+
+    /**
+     * Records a write for every rebuild in progress. The replica still applies it to its current copy.
+     *
+     * @param event the write that happened
+     */
+    void record(EmployeeChangedEvent event) {
+        for (List<EmployeeChangedEvent> events : pending.values()) {
+            events.add(event);
+        }
+    }
+
+    /**
+     * Ends a rebuild.
+     *
+     * @param generation the generation returned by {@link #start()}
+     * @param loaded     whether the table was read completely
+     * @return the events to replay onto the rebuilt copy before installing it, or null if the copy
+     *         must be discarded because it is incomplete or a newer rebuild was already installed
+     */
+    List<EmployeeChangedEvent> finish(long generation, boolean loaded) {
+        List<EmployeeChangedEvent> events = pending.remove(generation);
+        if (!loaded || generation < installed) {
+            return null;
+        }
+        installed = generation;
+        return events;
+    }
+}
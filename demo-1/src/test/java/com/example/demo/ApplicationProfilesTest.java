@@ -0,0 +1,42 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Resolves the application properties of a set of profiles, without starting the application
+class ApplicationProfilesTest {
+
+    @Test
+    void testFileAndProd_UseDatabaseFile() {
+        assertEquals("jdbc:h2:file:./data/employees;DB_CLOSE_ON_EXIT=FALSE", datasourceUrl(List.of("file", "prod")));
+        assertEquals("jdbc:h2:file:./data/employees;DB_CLOSE_ON_EXIT=FALSE", datasourceUrl(List.of("prod", "file")));
+    }
+
+    @Test
+    void testDefault_UsesInMemoryDatabase() {
+        assertEquals("jdbc:h2:mem:testdb;DB_CLOSE_ON_EXIT=FALSE", datasourceUrl(List.of()));
+    }
+
+    @Test
+    void testUrlOptions_AreAppendedToDatabaseFile() {
+        assertEquals("jdbc:h2:file:./data/employees;DB_CLOSE_ON_EXIT=FALSE;QUERY_CACHE_SIZE=256",
+                datasourceUrl(List.of("file", "prod"), "--employee.db.url-options=;QUERY_CACHE_SIZE=256"));
+    }
+
+    private static String datasourceUrl(List<String> profiles, String... args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Object.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles.toArray(String[]::new))
+                .run(Stream.concat(Stream.of("--spring.main.banner-mode=off"), Stream.of(args))
+                        .toArray(String[]::new))) {
+            return context.getEnvironment().getProperty("spring.datasource.url");
+        }
+    }
+}
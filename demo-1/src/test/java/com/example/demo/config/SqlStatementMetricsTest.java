@@ -0,0 +1,74 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementMetrics metrics = new SqlStatementMetrics(registry);
+
+    @Test
+    void testAfterQuery_CountsStatementsByKind() {
+        long before = SqlStatementMetrics.currentThreadStatements();
+
+        metrics.afterQuery(execution(false, 0, null), List.of(new QueryInfo("select e1_0.id from employees e1_0")));
+        metrics.afterQuery(execution(false, 0, 1), List.of(new QueryInfo("UPDATE employees SET status = ?")));
+        metrics.afterQuery(execution(false, 0, null), List.of(new QueryInfo("CREATE TABLE t (id INT)")));
+
+        assertEquals(1, count("db.statements", "select"));
+        assertEquals(1, count("db.statements", "update"));
+        assertEquals(1, count("db.statements", "other"));
+        assertEquals(1, count("db.rows.written", "update"));
+        assertEquals(3, SqlStatementMetrics.currentThreadStatements() - before);
+    }
+
+    @Test
+    void testAfterQuery_BatchCountsEachStatementAndRow() {
+        metrics.afterQuery(execution(true, 3, new int[] {1, 1, 1}),
+                List.of(new QueryInfo("insert into employees values (?)")));
+
+        assertEquals(3, count("db.statements", "insert"));
+        assertEquals(3, count("db.rows.written", "insert"));
+    }
+
+    @Test
+    void testInterceptor_RecordsStatementsPerEndpoint() {
+        SqlStatementsPerRequestInterceptor interceptor = new SqlStatementsPerRequestInterceptor(registry);
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/" + i);
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/employees/{id}");
+            interceptor.preHandle(request, null, null);
+            metrics.afterQuery(execution(false, 0, null), List.of(new QueryInfo("select e1_0.id from employees e1_0")));
+            interceptor.afterCompletion(request, null, null, null);
+        }
+
+        DistributionSummary summary = registry.get("http.server.requests.sql.statements")
+                .tag("method", "GET").tag("uri", "/employees/{id}").summary();
+        assertEquals(2, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+        assertEquals(1, registry.find("http.server.requests.sql.statements").summaries().size());
+    }
+
+    private double count(String name, String statement) {
+        return registry.get(name).tag("statement", statement).counter().count();
+    }
+
+    private static ExecutionInfo execution(boolean batch, int batchSize, Object result) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setBatch(batch);
+        info.setBatchSize(batchSize);
+        info.setResult(result);
+        return info;
+    }
+}
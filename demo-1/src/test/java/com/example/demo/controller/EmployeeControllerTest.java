@@ -1,19 +1,29 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.BulkDeleteResult;
+import com.example.demo.dto.EmployeePage;
+import com.example.demo.dto.EmployeeWriteStatus;
 import com.example.demo.model.Employee;
 import com.example.demo.rest.EmployeeController;
 import com.example.demo.service.EmployeeService;
+import com.example.demo.service.EmployeeWriteBehind;
+import com.example.demo.service.PatchOutcome;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.HttpStatus.*;
 
@@ -22,6 +32,9 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeService service;
 
+    @Mock
+    private EmployeeWriteBehind writeBehind;
+
     @InjectMocks
     private EmployeeController controller;
 
@@ -33,13 +46,37 @@ class EmployeeControllerTest {
     void testGetAllEmployees() {
         Employee employee = createMockEmployee();
 
-        when(service.findAll()).thenReturn(List.of(employee));
+        when(service.findPage(null, 100)).thenReturn(new EmployeePage<>(List.of(employee), null));
 
-        ResponseEntity<List<Employee>> response = controller.getAllEmployees();
+        ResponseEntity<EmployeePage<?>> response = controller.getAllEmployees(null, 100, null, null);
 
         assertNotNull(response);
         assertEquals(OK, response.getStatusCode());
-        assertEquals(1, response.getBody().size());
+        assertEquals(1, response.getBody().items().size());
+        assertNull(response.getBody().nextCursor());
+    }
+
+    @Test
+    void testGetAllEmployees_WithFields() {
+        List<String> fields = List.of("firstName");
+        EmployeePage<Map<String, Object>> page = new EmployeePage<>(List.of(Map.of("id", 1L, "firstName", "John")), 1L);
+
+        when(service.findPage(null, 1, fields)).thenReturn(page);
+
+        ResponseEntity<EmployeePage<?>> response = controller.getAllEmployees(null, 1, fields, null);
+
+        assertEquals(OK, response.getStatusCode());
+        assertSame(page, response.getBody());
+        verify(service, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void testGetAllEmployees_UnknownFieldIsBadRequest() {
+        when(service.findPage(null, 100, List.of("password"))).thenThrow(new IllegalArgumentException());
+
+        ResponseEntity<EmployeePage<?>> response = controller.getAllEmployees(null, 100, List.of("password"), null);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
     }
 
     @Test
@@ -48,18 +85,74 @@ class EmployeeControllerTest {
 
         when(service.getEmployeeById(1L)).thenReturn(employee);
 
-        ResponseEntity<Employee> response = controller.getEmployeeById(1L);
+        ResponseEntity<Employee> response = controller.getEmployeeById(1L, null);
 
         assertNotNull(response);
         assertEquals(OK, response.getStatusCode());
         assertEquals("John", response.getBody().getFirstName());
     }
 
+    @Test
+    void testGetEmployeeById_MatchingETagIsNotModified() {
+        Employee employee = createMockEmployee();
+        employee.setVersion(3L);
+
+        when(service.getEmployeeById(1L)).thenReturn(employee);
+
+        assertEquals("\"3\"", controller.getEmployeeById(1L, null).getHeaders().getETag());
+        ResponseEntity<Employee> response = controller.getEmployeeById(1L, "\"2\", W/\"3\"");
+
+        assertEquals(NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(OK, controller.getEmployeeById(1L, "\"2\"").getStatusCode());
+    }
+
+    @Test
+    void testGetAllEmployees_ETagChangesWithVersions() {
+        Employee employee = createMockEmployee();
+        employee.setId(1L);
+        employee.setVersion(0L);
+
+        when(service.findPage(null, 100)).thenReturn(new EmployeePage<>(List.of(employee), null));
+
+        String eTag = controller.getAllEmployees(null, 100, null, null).getHeaders().getETag();
+
+        assertEquals(NOT_MODIFIED, controller.getAllEmployees(null, 100, null, eTag).getStatusCode());
+        employee.setVersion(1L);
+        assertEquals(OK, controller.getAllEmployees(null, 100, null, eTag).getStatusCode());
+    }
+
+    @Test
+    void testGetChanges_InvalidWatermarkIsBadRequest() {
+        when(service.getChangesSince("yesterday", 100)).thenThrow(new IllegalArgumentException("Invalid watermark"));
+
+        assertEquals(BAD_REQUEST, controller.getChanges("yesterday", 100).getStatusCode());
+    }
+
+    @Test
+    void testGetEmployeesByIds_Success() {
+        Employee employee = createMockEmployee();
+
+        when(service.getEmployeesByIds(List.of(1L, 2L))).thenReturn(List.of(employee));
+
+        ResponseEntity<List<Employee>> response = controller.getEmployeesByIds(List.of(1L, 2L));
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(List.of(employee), response.getBody());
+    }
+
+    @Test
+    void testGetEmployeesByIds_TooManyIdsIsBadRequest() {
+        when(service.getEmployeesByIds(anyList())).thenThrow(new IllegalArgumentException("Too many IDs"));
+
+        assertEquals(BAD_REQUEST, controller.getEmployeesByIds(List.of(1L)).getStatusCode());
+    }
+
     @Test
     void testGetEmployeeById_NotFound() {
         when(service.getEmployeeById(1L)).thenThrow(new RuntimeException("Employee not found"));
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> controller.getEmployeeById(1L));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> controller.getEmployeeById(1L, null));
 
         assertEquals("Employee not found", exception.getMessage());
     }
@@ -70,11 +163,82 @@ class EmployeeControllerTest {
 
         when(service.save(employee)).thenReturn(employee);
 
-        ResponseEntity<Employee> response = controller.saveEmployee(employee);
+        ResponseEntity<?> response = controller.saveEmployee(employee, false);
 
         assertNotNull(response);
         assertEquals(CREATED, response.getStatusCode());
-        assertEquals("John", response.getBody().getFirstName());
+        assertEquals("John", ((Employee) response.getBody()).getFirstName());
+    }
+
+    @Test
+    void testSaveEmployee_IdWithoutVersionIsBadRequest() {
+        Employee employee = createMockEmployee();
+
+        when(service.save(employee)).thenThrow(new IllegalArgumentException("Employee 1 has no version"));
+
+        assertEquals(BAD_REQUEST, controller.saveEmployee(employee, false).getStatusCode());
+    }
+
+    @Test
+    void testSaveEmployee_StaleVersionIsConflict() {
+        Employee employee = createMockEmployee();
+
+        when(service.save(employee)).thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        assertEquals(CONFLICT, controller.saveEmployee(employee, false).getStatusCode());
+    }
+
+    @Test
+    void testSaveEmployee_WriteBehindReturnsTrackingId() {
+        Employee employee = createMockEmployee();
+        EmployeeWriteStatus queued = new EmployeeWriteStatus("t1", EmployeeWriteStatus.State.QUEUED, null, null);
+
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.submit(employee)).thenReturn(new EmployeeWriteBehind.Submission("t1", new CompletableFuture<>()));
+        when(writeBehind.status("t1")).thenReturn(queued);
+
+        ResponseEntity<?> response = controller.saveEmployee(employee, false);
+
+        assertEquals(ACCEPTED, response.getStatusCode());
+        assertEquals("/employees/writes/t1", response.getHeaders().getLocation().toString());
+        assertSame(queued, response.getBody());
+        verify(service, never()).save(any());
+    }
+
+    @Test
+    void testSaveEmployee_WriteBehindUpdateIsNotQueued() {
+        Employee employee = createMockEmployee();
+        employee.setId(1L);
+        employee.setVersion(2L);
+
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(service.save(employee)).thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        assertEquals(CONFLICT, controller.saveEmployee(employee, false).getStatusCode());
+        verify(writeBehind, never()).submit(any());
+    }
+
+    @Test
+    void testSaveEmployee_DurableWriteWaitsForCommit() {
+        Employee employee = createMockEmployee();
+
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.getDurableAckTimeout()).thenReturn(Duration.ofSeconds(1));
+        when(writeBehind.submit(employee)).thenReturn(
+                new EmployeeWriteBehind.Submission("t1", CompletableFuture.completedFuture(employee)));
+
+        ResponseEntity<?> response = controller.saveEmployee(employee, true);
+
+        assertEquals(CREATED, response.getStatusCode());
+        assertSame(employee, response.getBody());
+    }
+
+    @Test
+    void testSaveEmployee_FullQueueIsServiceUnavailable() {
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.submit(any())).thenThrow(new RejectedExecutionException("full"));
+
+        assertEquals(SERVICE_UNAVAILABLE, controller.saveEmployee(createMockEmployee(), false).getStatusCode());
     }
 
     @Test
@@ -113,20 +277,73 @@ class EmployeeControllerTest {
     }
 
     @Test
-    void testDeleteEmployee_Success() {
-        // Mock the service to do nothing for deleteById
-        doNothing().when(service).deleteById(1L);
+    void testPatchEmployee_Success() {
+        when(service.patchEmployee(1L, Map.of("telephone", "555"), 3L)).thenReturn(PatchOutcome.UPDATED);
+
+        ResponseEntity<Void> response = controller.patchEmployee(1L, Map.of("telephone", "555"), "\"3\"");
 
-        // Mock the service to return an empty Optional when findById is called
-        when(service.findById(1L)).thenReturn(Optional.empty());
+        assertEquals(NO_CONTENT, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testPatchEmployee_VersionFromBody() {
+        when(service.patchEmployee(1L, Map.of("salary", 1), 2L)).thenReturn(PatchOutcome.CONFLICT);
+
+        ResponseEntity<Void> response = controller.patchEmployee(1L, Map.of("salary", 1, "version", 2), null);
+
+        assertEquals(CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void testPatchEmployee_NotFound() {
+        when(service.patchEmployee(1L, Map.of("status", "Inactive"), null)).thenReturn(PatchOutcome.NOT_FOUND);
+
+        ResponseEntity<Void> response = controller.patchEmployee(1L, Map.of("status", "Inactive"), null);
+
+        assertEquals(NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testPatchEmployee_InvalidField() {
+        when(service.patchEmployee(1L, Map.of("id", 5), null)).thenThrow(new IllegalArgumentException("id"));
+
+        ResponseEntity<Void> response = controller.patchEmployee(1L, Map.of("id", 5), null);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testDeleteEmployee_Success() {
+        // Mock the service to report one deleted row
+        when(service.deleteEmployee(1L)).thenReturn(true);
 
         // Call the controller's deleteEmployee method
-        ResponseEntity<Boolean> response = controller.deleteEmployee(1L);
+        ResponseEntity<Void> response = controller.deleteEmployee(1L);
 
-        // Validate the response
+        // Validate the response: deleted in one statement, no follow-up lookup
         assertNotNull(response);
+        assertEquals(NO_CONTENT, response.getStatusCode());
+        verify(service, never()).findById(anyLong());
+    }
+
+    @Test
+    void testDeleteEmployee_NotFound() {
+        when(service.deleteEmployee(1L)).thenReturn(false);
+
+        ResponseEntity<Void> response = controller.deleteEmployee(1L);
+
+        assertEquals(NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testDeleteEmployees_ReportsDeletedCount() {
+        when(service.deleteEmployees(List.of(1L, 2L, 2L, 3L))).thenReturn(2);
+
+        ResponseEntity<BulkDeleteResult> response = controller.deleteEmployees(List.of(1L, 2L, 2L, 3L));
+
         assertEquals(OK, response.getStatusCode());
-        assertTrue(response.getBody());
+        assertEquals(new BulkDeleteResult(3, 2), response.getBody());
     }
 
 
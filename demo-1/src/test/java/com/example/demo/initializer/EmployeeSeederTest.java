@@ -0,0 +1,97 @@
+package com.example.demo.initializer;
+
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the producer threads commit their batches on their own connections
+@DataJpaTest
+@Import(EmployeeSeeder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSeederTest {
+
+    @Autowired
+    private EmployeeSeeder seeder;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employees");
+    }
+
+    @Test
+    void testSeed_InsertsGeneratedEmployeesAfterExistingIds() {
+        Employee existing = repository.save(employee("existing@example.com"));
+        assertTrue(seeder.hasEmployees());
+
+        // An uneven last batch, and more threads than some of them get batches
+        EmployeeSeeder.SeedReport report = seeder.seed(2_500, 3, 1_000, 42, Duration.ofMillis(10));
+
+        assertEquals(2_500, report.rows());
+        assertTrue(report.firstId() > existing.getId());
+        assertEquals(2_501, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class));
+        assertEquals(report.firstId() + 2_499,
+                jdbcTemplate.queryForObject("SELECT MAX(id) FROM employees", Long.class));
+        Employee expected = new SyntheticEmployeeGenerator(42).generate(report.firstId() + 7);
+        Employee seeded = repository.findById(report.firstId() + 7).orElseThrow();
+        assertEquals(expected.getEmail(), seeded.getEmail());
+        assertEquals(expected.getHireDate(), seeded.getHireDate());
+        assertEquals(0L, seeded.getVersion());
+    }
+
+    @Test
+    void testSeed_SequenceContinuesAfterSeededIds() {
+        EmployeeSeeder.SeedReport report = seeder.seed(120, 2, 50, 1, Duration.ofSeconds(1));
+
+        Employee saved = repository.save(employee("after@example.com"));
+
+        // Either from a block Hibernate reserved before the seeding, or from after the seeded range
+        assertFalse(saved.getId() >= report.firstId() && saved.getId() < report.firstId() + report.rows());
+    }
+
+    @Test
+    void testSeed_ConcurrentRunsReserveDisjointIds() throws Exception {
+        ExecutorService runs = Executors.newFixedThreadPool(2);
+        try {
+            Future<EmployeeSeeder.SeedReport> first = runs.submit(() -> seeder.seed(3_000, 2, 100, 1, Duration.ofSeconds(1)));
+            Future<EmployeeSeeder.SeedReport> second = runs.submit(() -> seeder.seed(3_000, 2, 100, 2, Duration.ofSeconds(1)));
+
+            assertEquals(3_000, first.get().rows());
+            assertEquals(3_000, second.get().rows());
+        } finally {
+            runs.shutdown();
+        }
+        assertEquals(6_000, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM employees", Long.class));
+    }
+
+    @Test
+    void testHasEmployees_FalseForEmptyTable() {
+        assertFalse(seeder.hasEmployees());
+    }
+
+    private Employee employee(String email) {
+        return new Employee("John", "M", "Doe", "New York", "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", "Developer",
+                LocalDate.of(2020, 1, 1), email, 60000.0, "Active");
+    }
+}
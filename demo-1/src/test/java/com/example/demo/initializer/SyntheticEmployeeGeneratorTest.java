@@ -0,0 +1,49 @@
+package com.example.demo.initializer;
+
+import com.example.demo.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticEmployeeGeneratorTest {
+
+    @Test
+    void testGenerate_SameSeedAndIdGiveSameEmployee() {
+        Employee first = new SyntheticEmployeeGenerator(7).generate(123);
+        Employee second = new SyntheticEmployeeGenerator(7).generate(123);
+
+        assertEquals(123L, first.getId());
+        assertEquals(first.getEmail(), second.getEmail());
+        assertEquals(first.getAddress(), second.getAddress());
+        assertEquals(first.getDateOfBirth(), second.getDateOfBirth());
+        assertEquals(first.getSalary(), second.getSalary());
+    }
+
+    @Test
+    void testGenerate_EmailsUniqueAndFieldsValid() {
+        SyntheticEmployeeGenerator generator = new SyntheticEmployeeGenerator(42);
+        Set<String> emails = new HashSet<>();
+        for (long id = 1; id <= 10_000; id++) {
+            Employee employee = generator.generate(id);
+            assertTrue(emails.add(employee.getEmail()), employee.getEmail());
+            assertTrue(employee.getSalary() > 0);
+            assertTrue(employee.getHireDate().isAfter(employee.getDateOfBirth().plusYears(20).minusDays(1)));
+        }
+    }
+
+    @Test
+    void testGenerate_DifferentSeedsGiveDifferentData() {
+        long differences = 0;
+        for (long id = 1; id <= 100; id++) {
+            Employee a = new SyntheticEmployeeGenerator(1).generate(id);
+            Employee b = new SyntheticEmployeeGenerator(2).generate(id);
+            if (!a.getEmail().equals(b.getEmail()) || !a.getSalary().equals(b.getSalary())) {
+                differences++;
+            }
+        }
+        assertTrue(differences > 90);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EmployeeBatchWriteTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testSaveAllAndFlush_InsertsAreBatched() {
+        List<Employee> employees = IntStream.range(0, 120).mapToObj(this::createEmployee).toList();
+
+        repository.saveAllAndFlush(employees);
+
+        // 120 rows with an ID block size of 50: 3 sequence calls, then one INSERT statement
+        // prepared once and executed in batches, instead of 120 sequence calls and 120 INSERTs
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testDeleteAllById_ReturnsOnlyTheDeletedIds() {
+        List<Employee> employees = repository.saveAllAndFlush(IntStream.range(0, 3).mapToObj(this::createEmployee).toList());
+        Long first = employees.get(0).getId();
+        Long second = employees.get(1).getId();
+
+        List<Employee> deleted = new EmployeeJdbcRepository(jdbcTemplate, 500, 1000)
+                .deleteAllById(List.of(first, second, second, -1L));
+
+        assertEquals(List.of(first, second), deleted.stream().map(Employee::getId).sorted().toList());
+        assertEquals(List.of("John0", "John1"), deleted.stream().map(Employee::getFirstName).sorted().toList());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void testUpdateColumns_ReturnsTheRowAsItWasBeforeTheUpdate() {
+        Employee employee = repository.saveAndFlush(createEmployee(0));
+        EmployeeJdbcRepository jdbcRepository = new EmployeeJdbcRepository(jdbcTemplate, 500, 1000);
+
+        Employee previous = jdbcRepository.updateColumns(employee.getId(), Map.of("location_city", "Boston"),
+                employee.getVersion()).orElseThrow();
+
+        assertEquals("New York", previous.getLocationCity());
+        assertEquals(employee.getVersion(), previous.getVersion());
+        assertEquals("Boston", jdbcTemplate.queryForObject("SELECT location_city FROM employees WHERE id = ?",
+                String.class, employee.getId()));
+        assertTrue(jdbcRepository.updateColumns(employee.getId(), Map.of("location_city", "Denver"),
+                employee.getVersion()).isEmpty());
+    }
+
+    @Test
+    void testFindByIdForUpdate_ReadsTheRow() {
+        Employee employee = repository.saveAndFlush(createEmployee(0));
+        EmployeeJdbcRepository jdbcRepository = new EmployeeJdbcRepository(jdbcTemplate, 500, 1000);
+
+        assertEquals("John0", jdbcRepository.findByIdForUpdate(employee.getId()).orElseThrow().getFirstName());
+        assertTrue(jdbcRepository.findByIdForUpdate(-1L).isEmpty());
+    }
+
+    private Employee createEmployee(int i) {
+        return new Employee("John" + i, "M", "Doe", "New York", "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", "Developer",
+                LocalDate.of(2020, 1, 1), "john.doe" + i + "@example.com", 60000.0, "Active");
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the lookups of {@link EmployeeRepository} are answered through the declared indexes.
+ */
+@DataJpaTest
+class EmployeeIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "email = 'a@example.com'                          | CONSTRAINT_INDEX",
+            "last_name = 'Doe'                                | IDX_EMPLOYEES_LAST_NAME",
+            "location_city = 'Chicago'                        | IDX_EMPLOYEES_LOCATION_CITY",
+            "status = 'Active'                                | IDX_EMPLOYEES_STATUS_CITY",
+            "status = 'Active' AND location_city = 'Chicago'  | IDX_EMPLOYEES_STATUS_CITY",
+            "position_title = 'Developer'                     | IDX_EMPLOYEES_POSITION_TITLE"
+    })
+    void testLookupUsesIndex(String condition, String index) {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM employees WHERE " + condition + " ORDER BY id", String.class);
+
+        assertTrue(plan.toUpperCase().contains(index), plan);
+    }
+}
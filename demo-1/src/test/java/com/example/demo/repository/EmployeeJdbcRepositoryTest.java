@@ -0,0 +1,92 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EmployeeJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new EmployeeJdbcRepository(jdbcTemplate, 500, 1000);
+    }
+
+    @Test
+    void testDeleteAllById_OneStatementPerChunk() {
+        List<Employee> employees = LongStream.rangeClosed(1, 2500).mapToObj(EmployeeJdbcRepositoryTest::employee).toList();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(employees.subList(0, 1000), employees.subList(1000, 2000), employees.subList(2000, 2500));
+
+        List<Employee> deleted = repository.deleteAllById(employees.stream().map(Employee::getId).toList());
+
+        assertEquals(employees, deleted);
+        verify(jdbcTemplate, times(3)).query(
+                startsWith("SELECT " + EmployeeRowMapper.COLUMNS + " FROM OLD TABLE (DELETE FROM employees WHERE id IN"),
+                any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void testDeleteAllById_DuplicatesAndNullsAreSkipped() {
+        Employee deleted = employee(1L);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(deleted));
+
+        assertEquals(List.of(deleted), repository.deleteAllById(Arrays.asList(1L, 1L, null, 2L)));
+
+        verify(jdbcTemplate, times(1)).query(eq("SELECT " + EmployeeRowMapper.COLUMNS
+                + " FROM OLD TABLE (DELETE FROM employees WHERE id IN (?, ?))"), any(RowMapper.class), eq(1L), eq(2L));
+    }
+
+    @Test
+    void testDeleteAllById_EmptyIssuesNoStatement() {
+        assertEquals(List.of(), repository.deleteAllById(List.of()));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testDeleteAll_SingleStatement() {
+        when(jdbcTemplate.update(startsWith("MERGE INTO employee_tombstones"), any(Object.class))).thenReturn(42);
+        when(jdbcTemplate.update("DELETE FROM employees")).thenReturn(42);
+
+        assertEquals(42, repository.deleteAll());
+        verify(jdbcTemplate, times(1)).update(startsWith("MERGE INTO employee_tombstones"), any(Object.class));
+        verify(jdbcTemplate, times(1)).update("DELETE FROM employees");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindAllById_OneStatementPerChunk() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        repository.findAllById(ids);
+
+        verify(jdbcTemplate, times(2)).query(contains("WHERE id IN"), any(RowMapper.class), any(Object[].class));
+    }
+
+    private static Employee employee(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EmployeeProjectionTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAllAndFlush(IntStream.range(0, 3).mapToObj(this::createEmployee).toList());
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindFieldsByIdGreaterThan_ReturnsOnlyRequestedFields() {
+        List<Map<String, Object>> rows = repository.findFieldsByIdGreaterThan(0L, 2, List.of("lastName", "hireDate"));
+
+        assertEquals(2, rows.size());
+        assertEquals(List.of("id", "lastName", "hireDate"), List.copyOf(rows.get(0).keySet()));
+        assertEquals("Doe0", rows.get(0).get("lastName"));
+        assertEquals(LocalDate.of(2020, 1, 1), rows.get(0).get("hireDate"));
+        assertTrue((Long) rows.get(1).get("id") > (Long) rows.get(0).get("id"));
+
+        // Rows are plain values: nothing was loaded into the persistence context
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testFindFieldsByIdGreaterThan_RejectsUnknownField() {
+        assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> repository.findFieldsByIdGreaterThan(0L, 10, List.of("lastName", "password")));
+    }
+
+    @Test
+    void testFindFieldsByIdGreaterThan_EverySelectableFieldIsReadable() {
+        List<String> fields = List.copyOf(EmployeeProjectionRepository.SELECTABLE_FIELDS);
+
+        Map<String, Object> row = repository.findFieldsByIdGreaterThan(0L, 1, fields).get(0);
+
+        assertEquals(EmployeeProjectionRepository.SELECTABLE_FIELDS, row.keySet());
+        assertEquals("john.doe0@example.com", row.get("email"));
+        assertNotNull(row.get("version"));
+    }
+
+    private Employee createEmployee(int i) {
+        return new Employee("John" + i, "M", "Doe" + i, "New York", "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", "Developer",
+                LocalDate.of(2020, 1, 1), "john.doe" + i + "@example.com", 60000.0, "Active");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Employee;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Writes commit, so that the R2DBC connection to the same in-memory database sees them
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:reactive-repository;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeReactiveRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final EmployeeReactiveRepository reactiveRepository = new EmployeeReactiveRepository(
+            DatabaseClient.create(ConnectionFactories.get(ConnectionFactoryOptions
+                    .parse("r2dbc:h2:mem:///reactive-repository")
+                    .mutate().option(ConnectionFactoryOptions.USER, "sa").build())), 50);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employee_tombstones");
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void testDeleteById_ReturnsTheDeletedRowAndRecordsTombstone() {
+        Employee employee = repository.save(new Employee("John", "M", "Doe", "New York", "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", "Developer", LocalDate.of(2020, 1, 1),
+                "john.doe@example.com", 60000.0, "Active"));
+
+        Employee deleted = reactiveRepository.deleteById(employee.getId()).block();
+
+        assertEquals(employee.getId(), deleted.getId());
+        assertEquals("New York", deleted.getLocationCity());
+        assertEquals(60000.0, deleted.getSalary());
+        assertFalse(repository.existsById(employee.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee_tombstones WHERE employee_id = ?",
+                Integer.class, employee.getId()));
+        assertNull(reactiveRepository.deleteById(employee.getId()).block());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.SalaryStats;
+import com.example.demo.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the GROUP BY projections of {@link EmployeeRepository} against a small known data set.
+ */
+@DataJpaTest
+class EmployeeSalaryStatsTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAllAndFlush(List.of(
+                employee(1, "Chicago", "Developer", "Active", 50000.0),
+                employee(2, "Chicago", "Manager", "Active", 70000.0),
+                employee(3, "Chicago", "Developer", "Inactive", 90000.0),
+                employee(4, "Boston", "Developer", "Active", 60000.0)));
+    }
+
+    @Test
+    void testSalaryStatsByLocationCity() {
+        List<SalaryStats> stats = repository.salaryStatsByLocationCity();
+
+        assertEquals(List.of(
+                new SalaryStats("Boston", 1L, 60000.0, 60000.0, 60000.0, 60000.0, 60000.0),
+                new SalaryStats("Chicago", 3L, 70000.0, 50000.0, 90000.0, 70000.0, 86000.0)), stats);
+    }
+
+    @Test
+    void testSalaryStatsByPositionTitleAndStatus() {
+        assertEquals(List.of("Developer", "Manager"),
+                repository.salaryStatsByPositionTitle().stream().map(SalaryStats::group).toList());
+        assertEquals(List.of(3L, 1L),
+                repository.salaryStatsByStatus().stream().map(SalaryStats::headcount).toList());
+    }
+
+    private static Employee employee(int n, String city, String title, String status, double salary) {
+        return new Employee("First" + n, null, "Last" + n, city, n + " Street", LocalDate.of(1990, 1, 1),
+                "555-000" + n, title, LocalDate.of(2020, 1, 1), "employee" + n + "@example.com", salary, status);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testGet_HitAndMissAreCounted() {
+        EmployeeCache cache = new EmployeeCache(10, Duration.ofMinutes(5), now::get);
+
+        assertNull(cache.get(1L));
+        cache.put(employee(1L), cache.epoch());
+        assertNotNull(cache.get(1L));
+
+        assertEquals(new EmployeeCache.Stats(1, 1, 0, 1), cache.stats());
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsedWhenFull() {
+        EmployeeCache cache = new EmployeeCache(2, Duration.ofMinutes(5), now::get);
+        cache.put(employee(1L), cache.epoch());
+        cache.put(employee(2L), cache.epoch());
+        cache.get(1L);
+
+        cache.put(employee(3L), cache.epoch());
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testGet_ExpiredEntryIsEvicted() {
+        EmployeeCache cache = new EmployeeCache(10, Duration.ofSeconds(1), now::get);
+        cache.put(employee(1L), cache.epoch());
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void testPut_SkippedWhenInvalidatedDuringLoad() {
+        EmployeeCache cache = new EmployeeCache(10, Duration.ofMinutes(5), now::get);
+        long epoch = cache.epoch();
+
+        // A write to the same row lands while the reader is still loading the old version
+        cache.invalidate(1L);
+        cache.put(employee(1L), epoch);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testInvalidateRange_RemovesOnlyTheRange() {
+        EmployeeCache cache = new EmployeeCache(10, Duration.ofMinutes(5), now::get);
+        for (long id = 1; id <= 5; id++) {
+            cache.put(employee(id), cache.epoch());
+        }
+        long epoch = cache.epoch();
+
+        cache.invalidateRange(2, 4);
+        cache.put(employee(3L), epoch);
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNull(cache.get(3L));
+        assertNull(cache.get(4L));
+        assertNotNull(cache.get(5L));
+    }
+
+    @Test
+    void testInvalidate_RepeatedWhenTransactionCompletes() {
+        EmployeeCache cache = new EmployeeCache(10, Duration.ofMinutes(5), now::get);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(1L);
+            cache.invalidateAll();
+            // Loaded after the invalidations, but before the write commits
+            cache.put(employee(1L), cache.epoch());
+            cache.put(employee(2L), cache.epoch());
+            assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+    }
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+}
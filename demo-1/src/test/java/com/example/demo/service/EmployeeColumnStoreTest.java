@@ -0,0 +1,210 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WorkforceStats;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmployeeColumnStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private final EmployeeJdbcRepository jdbcRepository = mock(EmployeeJdbcRepository.class);
+    private final EmployeeColumnStore store = new EmployeeColumnStore(jdbcRepository);
+
+    @Test
+    void testRebuild_LoadsAllRows() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(1L, 2L);
+        when(rs.getString(5)).thenReturn("Boston", "Denver");
+        when(rs.getString(9)).thenReturn("Developer", "Manager");
+        when(rs.getString(13)).thenReturn("Active", "Active");
+        when(rs.getDouble(12)).thenReturn(50000.0, 70000.0);
+        when(rs.getDate(7)).thenReturn(Date.valueOf("1985-01-01"), Date.valueOf("1995-01-01"));
+        when(rs.getDate(10)).thenReturn(Date.valueOf("2015-01-01"), Date.valueOf("2020-01-01"));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcRepository).streamRows(any(), any());
+
+        store.rebuild();
+
+        assertEquals(2, store.size());
+        WorkforceStats stats = store.aggregate(EmployeeColumnStore.Filter.NONE, null, TODAY).get(0);
+        assertEquals(2, stats.headcount());
+        assertEquals(60000.0, stats.averageSalary());
+        assertEquals(35.0, stats.averageAge(), 0.01);
+        assertEquals(7.5, stats.averageTenure(), 0.01);
+    }
+
+    @Test
+    void testRebuild_OverlappingRebuildsKeepNewestReplicaAndEveryWrite() throws Exception {
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString(9)).thenReturn("Developer");
+            when(rs.getString(13)).thenReturn("Active");
+            when(rs.getDouble(12)).thenReturn(50000.0);
+            when(rs.getDate(7)).thenReturn(Date.valueOf("1990-01-01"));
+            when(rs.getDate(10)).thenReturn(Date.valueOf("2020-01-01"));
+            if (calls.incrementAndGet() == 1) {
+                // The startup load reads employee 1 before it moved and before employee 2 was created
+                when(rs.getLong(1)).thenReturn(1L);
+                when(rs.getString(5)).thenReturn("Boston");
+                firstReading.countDown();
+                assertTrue(releaseFirst.await(10, TimeUnit.SECONDS));
+                handler.processRow(rs);
+            } else {
+                when(rs.getLong(1)).thenReturn(1L, 2L);
+                when(rs.getString(5)).thenReturn("Chicago", "Denver");
+                handler.processRow(rs);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcRepository).streamRows(any(), any());
+        CompletableFuture<Void> first = CompletableFuture.runAsync(store::rebuild);
+        assertTrue(firstReading.await(10, TimeUnit.SECONDS));
+
+        create(2L, "Denver", "Developer", "Active", 50000.0);
+        store.onEmployeeChanged(EmployeeChangedEvent.reset());
+        store.onEmployeeChanged(EmployeeChangedEvent.patched(withId(2L), Map.of("salary", 70000.0)));
+        releaseFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        List<WorkforceStats> byCity = store.aggregate(EmployeeColumnStore.Filter.NONE,
+                EmployeeGrouping.LOCATION_CITY, TODAY);
+        assertEquals(List.of("Chicago", "Denver"), byCity.stream().map(WorkforceStats::group).toList());
+        assertEquals(70000.0, byCity.get(1).averageSalary());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testAggregate_GroupsOrderedByValue() {
+        create(1L, "Denver", "Developer", "Active", 40000.0);
+        create(2L, "Boston", "Developer", "Active", 50000.0);
+        create(3L, "Boston", "Manager", "Inactive", 90000.0);
+
+        List<WorkforceStats> stats = store.aggregate(EmployeeColumnStore.Filter.NONE,
+                EmployeeGrouping.LOCATION_CITY, TODAY);
+
+        assertEquals(List.of("Boston", "Denver"), stats.stream().map(WorkforceStats::group).toList());
+        WorkforceStats boston = stats.get(0);
+        assertEquals(2, boston.headcount());
+        assertEquals(70000.0, boston.averageSalary());
+        assertEquals(50000.0, boston.minSalary());
+        assertEquals(90000.0, boston.maxSalary());
+    }
+
+    @Test
+    void testAggregate_FiltersCombine() {
+        create(1L, "Boston", "Developer", "Active", 40000.0);
+        create(2L, "Boston", "Developer", "Active", 60000.0);
+        create(3L, "Boston", "Developer", "Inactive", 60000.0);
+        create(4L, "Denver", "Developer", "Active", 60000.0);
+
+        EmployeeColumnStore.Filter filter = new EmployeeColumnStore.Filter("Active", "Boston", null,
+                50000.0, null, null, null, null, null);
+        WorkforceStats stats = store.aggregate(filter, null, TODAY).get(0);
+
+        assertEquals(1, stats.headcount());
+        assertEquals(60000.0, stats.averageSalary());
+    }
+
+    @Test
+    void testAggregate_DateRangesAndUnknownValues() {
+        create(1L, "Boston", "Developer", "Active", 40000.0);
+
+        EmployeeColumnStore.Filter hired = new EmployeeColumnStore.Filter(null, null, null, null, null,
+                LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 2), null, null);
+        EmployeeColumnStore.Filter bornLater = new EmployeeColumnStore.Filter(null, null, null, null, null,
+                null, null, LocalDate.of(1990, 1, 2), null);
+        EmployeeColumnStore.Filter unknownCity = new EmployeeColumnStore.Filter(null, "Paris", null, null, null,
+                null, null, null, null);
+
+        assertEquals(1, store.aggregate(hired, null, TODAY).get(0).headcount());
+        assertEquals(0, store.aggregate(bornLater, null, TODAY).get(0).headcount());
+        WorkforceStats none = store.aggregate(unknownCity, null, TODAY).get(0);
+        assertEquals(0, none.headcount());
+        assertNull(none.averageSalary());
+        assertEquals(List.of(), store.aggregate(unknownCity, EmployeeGrouping.STATUS, TODAY));
+    }
+
+    @Test
+    void testOnEmployeeChanged_UpdatesPatchesAndDeletes() {
+        create(1L, "Boston", "Developer", "Active", 40000.0);
+        create(2L, "Boston", "Developer", "Active", 50000.0);
+
+        store.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1L, "Denver", "Developer", "Active", 45000.0), null));
+        store.onEmployeeChanged(EmployeeChangedEvent.patched(withId(2L), Map.of("status", "Inactive", "salary", 55000.0,
+                "firstName", "Jane")));
+
+        List<WorkforceStats> byStatus = store.aggregate(EmployeeColumnStore.Filter.NONE, EmployeeGrouping.STATUS, TODAY);
+        assertEquals(List.of("Active", "Inactive"), byStatus.stream().map(WorkforceStats::group).toList());
+        assertEquals(45000.0, byStatus.get(0).averageSalary());
+        assertEquals(55000.0, byStatus.get(1).averageSalary());
+        assertEquals(2, store.size());
+
+        store.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(1L), withId(3L))));
+
+        assertEquals(1, store.size());
+        assertEquals(List.of("Boston"), store.aggregate(EmployeeColumnStore.Filter.NONE,
+                EmployeeGrouping.LOCATION_CITY, TODAY).stream().map(WorkforceStats::group).toList());
+    }
+
+    @Test
+    void testOnEmployeeChanged_GrowsAndCompacts() {
+        LongStream.rangeClosed(1, 30_000).forEach(id -> create(id, "Boston", "Developer", "Active", id));
+        store.onEmployeeChanged(EmployeeChangedEvent.deleted(
+                LongStream.rangeClosed(1, 25_000).mapToObj(EmployeeColumnStoreTest::withId).toList()));
+
+        assertEquals(5_000, store.size());
+        WorkforceStats stats = store.aggregate(EmployeeColumnStore.Filter.NONE, null, TODAY).get(0);
+        assertEquals(5_000, stats.headcount());
+        assertEquals(25_001.0, stats.minSalary());
+        assertEquals(30_000.0, stats.maxSalary());
+
+        // Rows moved by the compaction are still found by ID
+        store.onEmployeeChanged(EmployeeChangedEvent.patched(withId(30_000L), Map.of("salary", 1.0)));
+        assertEquals(1.0, store.aggregate(EmployeeColumnStore.Filter.NONE, null, TODAY).get(0).minSalary());
+    }
+
+    private void create(long id, String city, String position, String status, double salary) {
+        store.onEmployeeChanged(EmployeeChangedEvent.created(employee(id, city, position, status, salary)));
+    }
+
+    private Employee employee(long id, String city, String position, String status, double salary) {
+        Employee employee = new Employee("John", "M", "Doe", city, "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", position,
+                LocalDate.of(2020, 1, 1), "john" + id + "@example.com", salary, status);
+        employee.setId(id);
+        return employee;
+    }
+
+    // An employee known only by ID, for events whose listeners read nothing else
+    private static Employee withId(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExportReport;
+import com.example.demo.repository.EmployeeJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeExportServiceTest {
+
+    @Mock
+    private EmployeeJdbcRepository jdbcRepository;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private EmployeeExportService exportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        exportService = new EmployeeExportService(jdbcRepository, new EmployeeMetrics(new SimpleMeterRegistry()), "exports", 2);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcRepository).streamRows(isNull(), any());
+    }
+
+    @Test
+    void testExportCsv_QuotesValuesWithSeparators() throws Exception {
+        lenient().when(resultSet.getString(anyInt())).thenReturn("x");
+        when(resultSet.getString(6)).thenReturn("123 Street, Apt \"4\"");
+        when(resultSet.getString(3)).thenReturn(null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportReport report = exportService.export(out, EmployeeExportService.Format.CSV);
+
+        String[] lines = gunzip(out.toByteArray()).split("\n");
+        assertEquals(3, report.rowsExported());
+        assertEquals(4, lines.length);
+        assertEquals(String.join(",", EmployeeExportService.COLUMN_NAMES), lines[0]);
+        assertEquals("x,x,,x,x,\"123 Street, Apt \"\"4\"\"\",x,x,x,x,x,x,x", lines[1]);
+    }
+
+    @Test
+    void testExportColumnar_WritesRowGroups() throws Exception {
+        when(resultSet.getLong(1)).thenReturn(7L);
+        when(resultSet.getDouble(12)).thenReturn(60000.0);
+        when(resultSet.getDate(anyInt())).thenReturn(Date.valueOf(LocalDate.of(1990, 1, 1)));
+        when(resultSet.getString(anyInt())).thenReturn("s");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportReport report = exportService.export(out, EmployeeExportService.Format.COLUMNAR);
+
+        DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(3, report.rowsExported());
+        assertEquals("EMPC", new String(in.readNBytes(4), StandardCharsets.US_ASCII));
+        assertEquals(EmployeeExportService.ColumnarWriter.VERSION, in.readInt());
+        int columns = in.readInt();
+        for (int i = 0; i < columns; i++) {
+            in.readUTF();
+            in.readByte();
+        }
+        // Row group size 2: the first group holds two rows and starts with the id column
+        assertEquals(2, in.readInt());
+        assertEquals(7L, in.readLong());
+        assertEquals(7L, in.readLong());
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        return new String(new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
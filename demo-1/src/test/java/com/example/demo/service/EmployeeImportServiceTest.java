@@ -0,0 +1,122 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ImportReport;
+import com.example.demo.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+    private static final String HEADER = "firstName,middleName,lastName,locationCity,address,dateOfBirth,"
+            + "telephone,positionTitle,hireDate,email,salary,status\n";
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new EmployeeImportService(employeeService, new ObjectMapper().findAndRegisterModules(),
+                new SimpleAsyncTaskExecutor(), 2, 4, 10);
+    }
+
+    @Test
+    void testImportCsv_ReportsInvalidRows() throws Exception {
+        String csv = HEADER
+                + "John,A,Doe,New York,\"123 Street, Apt 4\",1990-01-01,123,Developer,2020-01-01,john@example.com,60000,Active\n"
+                + "Jane,,Smith,Chicago,456 Avenue,1985-02-02,098,Manager,2015-02-02,not-an-email,75000,Active\n"
+                + "Bob,,Brown,Boston,789 Road,not-a-date,555,Designer,2019-03-03,bob@example.com,50000,Active\n";
+
+        ImportReport report = importService.importEmployees(stream(csv), EmployeeImportService.Format.CSV);
+
+        assertEquals(3, report.rowsRead());
+        assertEquals(1, report.rowsImported());
+        assertEquals(2, report.rowsRejected());
+        assertEquals(3, report.errors().get(0).line());
+        assertEquals("email is invalid", report.errors().get(0).message());
+        assertEquals(4, report.errors().get(1).line());
+        verify(employeeService, times(1)).saveAllAndFlush(argThat(employees ->
+                ((List<Employee>) employees).get(0).getAddress().equals("123 Street, Apt 4")));
+    }
+
+    @Test
+    void testImportNdjson_BatchesRows() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            ndjson.append("{\"firstName\":\"E").append(i).append("\",\"lastName\":\"B\",\"locationCity\":\"LA\","
+                    + "\"address\":\"x\",\"dateOfBirth\":\"1992-03-15\",\"telephone\":\"1\",\"positionTitle\":\"D\","
+                    + "\"hireDate\":\"2022-06-01\",\"email\":\"e").append(i).append("@x.com\",\"salary\":1.0,"
+                    + "\"status\":\"Active\"}\n");
+        }
+
+        ImportReport report = importService.importEmployees(stream(ndjson.toString()),
+                EmployeeImportService.Format.NDJSON);
+
+        assertEquals(5, report.rowsImported());
+        assertTrue(report.errors().isEmpty());
+        // Batch size 2: two full batches and one partial batch
+        verify(employeeService, times(3)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testImport_FailedBatchIsRetriedRowByRow() throws Exception {
+        String csv = HEADER
+                + "John,,Doe,New York,1 Street,1990-01-01,1,Developer,2020-01-01,dup@example.com,1,Active\n"
+                + "Jane,,Doe,New York,2 Street,1990-01-01,2,Developer,2020-01-01,ok@example.com,1,Active\n";
+        when(employeeService.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+        when(employeeService.save(argThat(e -> e != null && "dup@example.com".equals(e.getEmail()))))
+                .thenThrow(new DataIntegrityViolationException("Unique index violation"));
+
+        ImportReport report = importService.importEmployees(stream(csv), EmployeeImportService.Format.CSV);
+
+        assertEquals(1, report.rowsImported());
+        assertEquals(1, report.rowsRejected());
+        assertEquals(2, report.errors().get(0).line());
+    }
+
+    @Test
+    @Timeout(10)
+    void testImport_NeedsOneExecutorThread() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.initialize();
+        try {
+            importService = new EmployeeImportService(employeeService, new ObjectMapper().findAndRegisterModules(),
+                    executor, 2, 4, 10);
+            String csv = HEADER + "John,,Doe,New York,1 Street,1990-01-01,1,Developer,2020-01-01,j@example.com,1,Active\n";
+
+            assertEquals(1, importService.importEmployees(stream(csv), EmployeeImportService.Format.CSV).rowsImported());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testParseCsvLine_HandlesQuotes() {
+        assertEquals(List.of("a", "b,c", "say \"hi\"", ""),
+                EmployeeImportService.parseCsvLine("a,\"b,c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeLoaderTest {
+
+    private final EmployeeJdbcRepository jdbcRepository = mock(EmployeeJdbcRepository.class);
+    private final EmployeeCache cache = new EmployeeCache(100, Duration.ofMinutes(5));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testLoad_ConcurrentLookupsOfSameIdShareOneQuery() throws Exception {
+        EmployeeLoader loader = loader(Duration.ZERO, 100);
+        // The query only returns once the other seven lookups are waiting for it
+        when(jdbcRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            await(() -> coalesced() == 7);
+            return List.of(employee(1L));
+        });
+
+        List<Future<Optional<Employee>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> loader.load(1L)));
+        }
+
+        for (Future<Optional<Employee>> result : results) {
+            assertEquals(1L, result.get(10, TimeUnit.SECONDS).orElseThrow().getId());
+        }
+        verify(jdbcRepository, times(1)).findAllById(anyCollection());
+        assertNotNull(cache.get(1L));
+        assertTrue(loader.inFlight().isEmpty());
+    }
+
+    @Test
+    void testLoad_DistinctIdsWithinWindowShareOneQuery() throws Exception {
+        // The window is long enough that only a full batch can end it while the first query runs
+        EmployeeLoader loader = loader(Duration.ofMinutes(1), 3);
+        CountDownLatch firstQueryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            firstQueryStarted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(employee(9L));
+        }).thenReturn(List.of(employee(1L), employee(3L)));
+        Future<Optional<Employee>> first = executor.submit(() -> loader.load(9L));
+        assertTrue(firstQueryStarted.await(10, TimeUnit.SECONDS));
+
+        List<Future<Optional<Employee>>> results = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            long employeeId = id;
+            results.add(executor.submit(() -> loader.load(employeeId)));
+        }
+
+        assertTrue(results.get(0).get(10, TimeUnit.SECONDS).isPresent());
+        assertTrue(results.get(1).get(10, TimeUnit.SECONDS).isEmpty());
+        assertTrue(results.get(2).get(10, TimeUnit.SECONDS).isPresent());
+        release.countDown();
+        assertTrue(first.get(10, TimeUnit.SECONDS).isPresent());
+        verify(jdbcRepository, times(1)).findAllById(argThat(ids ->
+                ids.containsAll(List.of(1L, 2L, 3L)) && ids.size() == 3));
+        assertEquals(3.0, registry.get("employee.loader.batch.size").summary().max());
+    }
+
+    @Test
+    void testLoad_SingleLookupIsNotDelayed() {
+        EmployeeLoader loader = loader(Duration.ofMinutes(1), 100);
+        when(jdbcRepository.findAllById(anyCollection())).thenReturn(List.of(employee(1L)));
+
+        // No other query is running, so the lookup does not wait for the window
+        Optional<Employee> employee = assertTimeout(Duration.ofSeconds(5), () -> loader.load(1L));
+
+        assertEquals(1L, employee.orElseThrow().getId());
+    }
+
+    @Test
+    void testLoad_WaitingBatchRunsWhenRunningQueryFinishes() throws Exception {
+        EmployeeLoader loader = loader(Duration.ofMinutes(1), 100);
+        CountDownLatch firstQueryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            firstQueryStarted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(employee(1L));
+        }).thenReturn(List.of(employee(2L)));
+        Future<Optional<Employee>> first = executor.submit(() -> loader.load(1L));
+        assertTrue(firstQueryStarted.await(10, TimeUnit.SECONDS));
+
+        Future<Optional<Employee>> second = executor.submit(() -> loader.load(2L));
+        await(() -> loader.inFlight().contains(2L));
+        release.countDown();
+
+        assertTrue(first.get(10, TimeUnit.SECONDS).isPresent());
+        // Well before the window ends
+        assertEquals(2L, second.get(10, TimeUnit.SECONDS).orElseThrow().getId());
+        verify(jdbcRepository, times(2)).findAllById(anyCollection());
+    }
+
+    @Test
+    void testLoad_WriteDuringQueryStartsNewQuery() throws Exception {
+        EmployeeLoader loader = loader(Duration.ZERO, 100);
+        CountDownLatch firstQueryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcRepository.findAllById(anyCollection()))
+                .thenAnswer(invocation -> {
+                    firstQueryStarted.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return List.of(employee(1L, "Old"));
+                })
+                .thenReturn(List.of(employee(1L, "New")));
+
+        Future<Optional<Employee>> before = executor.submit(() -> loader.load(1L));
+        assertTrue(firstQueryStarted.await(10, TimeUnit.SECONDS));
+        // The row is updated while the first query is still running
+        cache.invalidate(1L);
+
+        assertEquals("New", loader.load(1L).orElseThrow().getLastName());
+        release.countDown();
+
+        assertEquals("Old", before.get(10, TimeUnit.SECONDS).orElseThrow().getLastName());
+        verify(jdbcRepository, times(2)).findAllById(anyCollection());
+        assertEquals(0.0, coalesced());
+        // The stale result is not cached
+        assertEquals("New", cache.get(1L).getLastName());
+    }
+
+    @Test
+    void testLoad_DuringUncommittedUpdateIsNotCachedPastCommit() throws Exception {
+        EmployeeLoader loader = loader(Duration.ZERO, 100);
+        when(jdbcRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(employee(1L, "Old")))
+                .thenReturn(List.of(employee(1L, "New")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // The update invalidates inside its transaction, before the new row is committed
+            cache.invalidate(1L);
+            // A concurrent lookup still reads the committed old row
+            assertEquals("Old", executor.submit(() -> loader.load(1L)).get(10, TimeUnit.SECONDS)
+                    .orElseThrow().getLastName());
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cache.get(1L));
+        assertEquals("New", loader.load(1L).orElseThrow().getLastName());
+    }
+
+    @Test
+    void testLoad_FailureReachesEveryWaiter() throws Exception {
+        EmployeeLoader loader = loader(Duration.ZERO, 100);
+        when(jdbcRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            await(() -> coalesced() == 1);
+            throw new QueryTimeoutException("Statement was canceled");
+        });
+
+        Future<Optional<Employee>> first = executor.submit(() -> loader.load(1L));
+        Future<Optional<Employee>> second = executor.submit(() -> loader.load(1L));
+
+        for (Future<Optional<Employee>> result : List.of(first, second)) {
+            Exception e = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(QueryTimeoutException.class, e.getCause());
+        }
+        assertTrue(loader.inFlight().isEmpty());
+        assertNull(cache.get(1L));
+    }
+
+    private EmployeeLoader loader(Duration batchWindow, int maxBatchSize) {
+        return new EmployeeLoader(jdbcRepository, cache, new EmployeeMetrics(registry), registry,
+                batchWindow, maxBatchSize);
+    }
+
+    private double coalesced() {
+        return registry.get("employee.loader.coalesced").counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static Employee employee(Long id) {
+        return employee(id, "Doe");
+    }
+
+    private static Employee employee(Long id, String lastName) {
+        Employee employee = new Employee("John", "M", lastName, "Chicago", "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", "Developer",
+                LocalDate.of(2020, 1, 1), "john" + id + "@example.com", 50000.0, "Active");
+        employee.setId(id);
+        return employee;
+    }
+}
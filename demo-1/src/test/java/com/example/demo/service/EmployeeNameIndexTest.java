@@ -0,0 +1,174 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmployeeNameIndexTest {
+
+    private final EmployeeJdbcRepository jdbcRepository = mock(EmployeeJdbcRepository.class);
+    private final EmployeeNameIndex index = new EmployeeNameIndex(jdbcRepository, Runnable::run, false);
+
+    @Test
+    void testRebuild_IndexesAllRows() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(1L, 2L);
+        when(rs.getString(2)).thenReturn("John", "Jane");
+        when(rs.getString(3)).thenReturn(null, "Mary");
+        when(rs.getString(4)).thenReturn("Doe", "Johnson");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(0);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcRepository).streamNames(any());
+
+        index.rebuild();
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(2L), ids(index.search("mary", 10)));
+    }
+
+    @Test
+    void testRebuild_OverlappingRebuildsKeepNewestIndexAndEveryWrite() throws Exception {
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(0);
+            ResultSet rs = mock(ResultSet.class);
+            if (calls.incrementAndGet() == 1) {
+                // The startup build reads employee 1 before it was renamed and before employee 2 was created
+                when(rs.getLong(1)).thenReturn(1L);
+                when(rs.getString(2)).thenReturn("John");
+                when(rs.getString(4)).thenReturn("Doe");
+                firstReading.countDown();
+                assertTrue(releaseFirst.await(10, TimeUnit.SECONDS));
+                handler.processRow(rs);
+            } else {
+                when(rs.getLong(1)).thenReturn(1L, 2L);
+                when(rs.getString(2)).thenReturn("John", "Ann");
+                when(rs.getString(4)).thenReturn("Roe", "Lee");
+                handler.processRow(rs);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcRepository).streamNames(any());
+        CompletableFuture<Void> first = CompletableFuture.runAsync(index::rebuild);
+        assertTrue(firstReading.await(10, TimeUnit.SECONDS));
+
+        save(2L, "Ann", "Lee");
+        index.onEmployeeChanged(EmployeeChangedEvent.reset());
+        index.onEmployeeChanged(EmployeeChangedEvent.patched(withId(2L), Map.of("lastName", "Park")));
+        releaseFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1L), ids(index.search("roe", 10)));
+        assertTrue(index.search("doe", 10).isEmpty());
+        assertEquals(List.of(2L), ids(index.search("park", 10)));
+        assertTrue(index.search("lee", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testOnApplicationReady_BackgroundBuildRunsOnExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        EmployeeNameIndex backgroundIndex = new EmployeeNameIndex(jdbcRepository, tasks::add, true);
+
+        backgroundIndex.onApplicationReady();
+
+        verifyNoInteractions(jdbcRepository);
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        verify(jdbcRepository).streamNames(any());
+    }
+
+    @Test
+    void testSearch_RanksExactBeforePrefixBeforeSubstring() {
+        save(1L, "Mike", "Johnson");
+        save(2L, "John", "Doe");
+        save(3L, "Johnny", "Smith");
+
+        List<EmployeeNameIndex.Hit> hits = index.search("john", 10);
+
+        assertEquals(List.of(2L, 1L, 3L), ids(hits));
+        assertEquals(3, hits.get(0).score());
+    }
+
+    @Test
+    void testSearch_ShortTermsMatchPrefixesOnly() {
+        save(1L, "Bob", "Smith");
+        save(2L, "Ann", "Bobbins");
+        save(3L, "Carl", "Jacob");
+
+        assertEquals(List.of(1L, 2L), ids(index.search("bo", 10)));
+        assertTrue(index.search("ob", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_AllTermsMustMatch() {
+        save(1L, "John", "Doe");
+        save(2L, "John", "Smith");
+
+        assertEquals(List.of(2L), ids(index.search("john smi", 10)));
+        assertTrue(index.search("john xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_LimitKeepsBestHits() {
+        for (long id = 1; id <= 20; id++) {
+            save(id, "Anna", "Lee" + id);
+        }
+        save(21L, "Lee", "Park");
+
+        List<EmployeeNameIndex.Hit> hits = index.search("lee", 3);
+
+        assertEquals(List.of(21L, 1L, 2L), ids(hits));
+    }
+
+    @Test
+    void testEvents_PatchAndDeleteUpdateIndex() {
+        save(1L, "John", "Doe");
+        save(2L, "Jane", "Doe");
+
+        index.onEmployeeChanged(EmployeeChangedEvent.patched(withId(1L), Map.of("lastName", "Roe", "salary", 1.0)));
+        index.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(2L))));
+
+        assertTrue(index.search("doe", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("roe", 10)));
+        assertEquals("John", index.search("roe", 10).get(0).firstName());
+    }
+
+    private void save(long id, String firstName, String lastName) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        index.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+    }
+
+    private static List<Long> ids(List<EmployeeNameIndex.Hit> hits) {
+        return hits.stream().map(EmployeeNameIndex.Hit::id).toList();
+    }
+
+    // An employee known only by ID, for events whose listeners read nothing else
+    private static Employee withId(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+}
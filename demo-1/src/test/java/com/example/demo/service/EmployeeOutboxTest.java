@@ -0,0 +1,168 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EmployeeChangeBatch;
+import com.example.demo.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeOutboxTest {
+
+    private DataSourceTransactionManager transactionManager;
+
+    // The same database over R2DBC
+    private ConnectionFactory connectionFactory;
+
+    private EmployeeOutbox outbox;
+
+    private EmployeeReactiveOutboxAppender reactiveAppender;
+
+    @BeforeEach
+    void setUp() {
+        String database = "outbox-" + UUID.randomUUID();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse("r2dbc:h2:mem:///" + database)
+                .mutate().option(ConnectionFactoryOptions.USER, "sa").build());
+        outbox = newOutbox(new JdbcTemplate(dataSource), Duration.ofDays(7));
+        reactiveAppender = new EmployeeReactiveOutboxAppender(outbox, DatabaseClient.create(connectionFactory));
+    }
+
+    @Test
+    void testAppendedChangesAreReadInOffsetOrder() {
+        outbox.onEmployeeChanged(EmployeeChangedEvent.patched(withId(5L), Map.of("telephone", "555")));
+        outbox.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(6L), withId(7L))));
+
+        EmployeeChangeBatch batch = outbox.read(0, 10);
+
+        assertEquals(List.of(1L, 2L, 3L), batch.changes().stream().map(change -> change.offset()).toList());
+        assertEquals("{\"telephone\":\"555\"}", batch.changes().get(0).data());
+        assertEquals(7L, batch.changes().get(2).employeeId());
+        assertEquals(3L, batch.nextOffset());
+        assertEquals(2, outbox.read(1, 2).changes().size());
+    }
+
+    @Test
+    void testOpenTransactionHidesLaterOffsetsUntilItCompletes() throws Exception {
+        TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        outbox.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(1L))));
+        // Committed by another thread while offset 1 is still open
+        Executors.newSingleThreadExecutor().submit(() ->
+                outbox.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(2L))))).get();
+        CompletableFuture<Void> changed = outbox.awaitChanges(0);
+
+        assertTrue(outbox.read(0, 10).changes().isEmpty());
+        assertFalse(changed.isDone());
+
+        transactionManager.commit(transaction);
+
+        assertTrue(changed.isDone());
+        assertEquals(2, outbox.read(0, 10).changes().size());
+    }
+
+    @Test
+    void testRolledBackChangeIsNeverRead() {
+        TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        outbox.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(1L))));
+        transactionManager.rollback(transaction);
+        outbox.onEmployeeChanged(EmployeeChangedEvent.reset());
+
+        EmployeeChangeBatch batch = outbox.read(0, 10);
+
+        assertEquals(1, batch.changes().size());
+        assertEquals("RESET", batch.changes().get(0).type());
+        assertEquals(2L, batch.nextOffset());
+    }
+
+    @Test
+    void testReactiveAppendIsReadOnlyAfterItsTransactionCommits() {
+        TransactionalOperator transactions = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        Sinks.Empty<Void> commit = Sinks.empty();
+        transactions.transactional(reactiveAppender.append(EmployeeChangedEvent.deleted(List.of(withId(1L))))
+                        .then(commit.asMono()))
+                .subscribe();
+
+        assertTrue(outbox.read(0, 10).changes().isEmpty());
+
+        commit.tryEmitEmpty();
+
+        assertEquals(List.of(1L), outbox.read(0, 10).changes().stream().map(change -> change.employeeId()).toList());
+    }
+
+    @Test
+    void testReactiveAppendRollsBackWithItsTransaction() {
+        TransactionalOperator transactions = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        Mono<Void> failedWrite = reactiveAppender.append(EmployeeChangedEvent.deleted(List.of(withId(1L))))
+                .then(Mono.error(new IllegalStateException("write failed")));
+
+        assertThrows(IllegalStateException.class, () -> transactions.transactional(failedWrite).block());
+        outbox.onEmployeeChanged(EmployeeChangedEvent.reset());
+
+        EmployeeChangeBatch batch = outbox.read(0, 10);
+        assertEquals(List.of("RESET"), batch.changes().stream().map(change -> change.type()).toList());
+        assertEquals(2L, batch.nextOffset());
+    }
+
+    @Test
+    void testEventsAlreadyAppendedAreSkipped() {
+        outbox.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(1L))).asAppended());
+
+        assertTrue(outbox.read(0, 10).changes().isEmpty());
+    }
+
+    @Test
+    void testPrunedOffsetsAreReported() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        EmployeeOutbox expiring = newOutbox(new JdbcTemplate(dataSource), Duration.ZERO);
+        expiring.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(1L))));
+        expiring.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(withId(2L))));
+
+        expiring.prune();
+
+        assertTrue(expiring.isPruned(1));
+        assertFalse(expiring.isPruned(2));
+        assertThrows(IllegalStateException.class, () -> expiring.read(0, 10));
+    }
+
+    private static EmployeeOutbox newOutbox(JdbcTemplate jdbcTemplate, Duration retention) {
+        EmployeeOutbox outbox = new EmployeeOutbox(jdbcTemplate, new ObjectMapper(),
+                new SyncTaskExecutor(), retention, Duration.ofHours(1));
+        // Hibernate creates the table from EmployeeOutboxEntry in the application
+        jdbcTemplate.execute("CREATE TABLE employee_outbox (event_offset BIGINT PRIMARY KEY, type VARCHAR(16) NOT NULL, "
+                + "employee_id BIGINT, payload CHARACTER VARYING, created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL)");
+        outbox.loadOffsets();
+        return outbox;
+    }
+
+    // An employee known only by ID, for events whose listeners read nothing else
+    private static Employee withId(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+}
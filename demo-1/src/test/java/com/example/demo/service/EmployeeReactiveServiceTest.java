@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeReactiveServiceTest {
+
+    @Mock
+    private EmployeeReactiveRepository repository;
+
+    @Mock
+    private EmployeeCache cache;
+
+    @Mock
+    private EmployeeReactiveOutboxAppender outbox;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private EmployeeReactiveService service;
+
+    @BeforeEach
+    void setUp() {
+        // The transaction itself is covered by EmployeeOutboxTest
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(outbox.append(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void testCreate_AppendsToOutboxAndPublishesCreatedEventOnSubscribe() {
+        Employee employee = createMockEmployee();
+        when(repository.insert(employee)).thenAnswer(invocation -> {
+            employee.setId(7L);
+            return Mono.just(employee);
+        });
+
+        Mono<Employee> created = service.create(employee);
+
+        verifyNoInteractions(eventPublisher);
+        assertSame(employee, created.block());
+        verify(outbox, times(1)).append(EmployeeChangedEvent.created(employee));
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.created(employee).asAppended());
+    }
+
+    @Test
+    void testCreate_FailedOutboxAppendPublishesNothing() {
+        Employee employee = createMockEmployee();
+        when(repository.insert(employee)).thenAnswer(invocation -> {
+            employee.setId(7L);
+            return Mono.just(employee);
+        });
+        when(outbox.append(any())).thenReturn(Mono.error(new IllegalStateException("outbox")));
+
+        assertThrows(IllegalStateException.class, () -> service.create(employee).block());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdate_InvalidatesCacheAndPublishesUpdatedEvent() {
+        Employee employee = createMockEmployee();
+        when(repository.update(1L, employee, 3L)).thenReturn(Mono.just(1L));
+        when(repository.findById(1L)).thenReturn(Mono.just(employee));
+
+        assertSame(employee, service.update(1L, employee, 3L).block());
+        verify(cache, times(1)).invalidate(1L);
+        verify(outbox, times(1)).append(EmployeeChangedEvent.updated(employee, null));
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.updated(employee, null).asAppended());
+    }
+
+    @Test
+    void testUpdate_MissingRowIsEmpty() {
+        when(repository.update(eq(1L), any(), isNull())).thenReturn(Mono.just(0L));
+
+        assertNull(service.update(1L, createMockEmployee(), null).block());
+        verify(repository, never()).findById(anyLong());
+        verifyNoInteractions(outbox, eventPublisher);
+    }
+
+    @Test
+    void testUpdate_StaleVersionIsConflict() {
+        when(repository.update(eq(1L), any(), eq(3L))).thenReturn(Mono.just(0L));
+        when(repository.existsById(1L)).thenReturn(Mono.just(true));
+        when(repository.update(eq(2L), any(), eq(3L))).thenReturn(Mono.just(0L));
+        when(repository.existsById(2L)).thenReturn(Mono.just(false));
+
+        Employee employee = createMockEmployee();
+        assertThrows(OptimisticLockingFailureException.class, () -> service.update(1L, employee, 3L).block());
+        assertNull(service.update(2L, employee, 3L).block());
+        verifyNoInteractions(outbox, eventPublisher);
+    }
+
+    @Test
+    void testDelete_PublishesDeletedEventOnlyWhenDeleted() {
+        Employee employee = createMockEmployee();
+        when(repository.deleteById(1L)).thenReturn(Mono.just(employee));
+        when(repository.deleteById(2L)).thenReturn(Mono.empty());
+
+        assertTrue(service.delete(1L).block());
+        assertFalse(service.delete(2L).block());
+        verify(cache, times(1)).invalidate(1L);
+        verify(outbox, times(1)).append(EmployeeChangedEvent.deleted(List.of(employee)));
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.deleted(List.of(employee)).asAppended());
+        verifyNoMoreInteractions(outbox, eventPublisher);
+    }
+
+    private Employee createMockEmployee() {
+        Employee employee = new Employee("John", "M", "Doe", "New York", "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", "Developer",
+                LocalDate.of(2020, 1, 1), "john.doe@example.com", 60000.0, "Active");
+        employee.setId(1L);
+        return employee;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SalaryAdjustmentRequest;
+import com.example.demo.dto.SalaryAdjustmentRule;
+import com.example.demo.dto.SalaryAdjustmentStatus;
+import com.example.demo.dto.SalaryAdjustmentStatus.State;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Not transactional: each partition commits its own transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSalaryAdjusterTest {
+
+    private static final List<SalaryAdjustmentRule> RULES = List.of(
+            new SalaryAdjustmentRule("Active", "Chicago", "Developer", 10.0, null),
+            new SalaryAdjustmentRule(null, "Chicago", null, null, 500.0));
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final EmployeeCache cache = spy(new EmployeeCache(100, Duration.ofMinutes(1)));
+
+    private List<Employee> saved;
+
+    @BeforeEach
+    void setUp() {
+        saved = repository.saveAllAndFlush(List.of(
+                employee("a@example.com", "Chicago", "Developer", "Active", 50000.0),
+                employee("b@example.com", "Chicago", "Developer", "Inactive", 40000.0),
+                employee("c@example.com", "Boston", "Developer", "Active", 60000.0),
+                employee("d@example.com", "Chicago", "Manager", "Active", 70000.0),
+                employee("e@example.com", "Chicago", "Developer", "Active", 30000.0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employees");
+    }
+
+    @Test
+    void testAdjust_FirstMatchingRuleWinsInEveryPartition() {
+        SalaryAdjustmentStatus status = adjuster(jdbcTemplate)
+                .adjust(new SalaryAdjustmentRequest(RULES, null, null), false);
+
+        assertEquals(State.COMPLETED, status.state());
+        assertEquals(3, status.partitions().size());
+        assertTrue(status.partitions().stream().allMatch(p -> p.state() == State.COMPLETED));
+        assertEquals(4, status.employees());
+        assertEquals(9000.0, status.payrollDelta(), 0.001);
+        assertEquals(List.of(new SalaryAdjustmentStatus.RuleTotal(2, 8000.0),
+                new SalaryAdjustmentStatus.RuleTotal(2, 1000.0)), status.rules());
+
+        assertEquals(List.of(55000.0, 40500.0, 60000.0, 70500.0, 33000.0), salaries());
+        assertEquals(1L, repository.findById(saved.get(0).getId()).orElseThrow().getVersion());
+        assertEquals(0L, repository.findById(saved.get(2).getId()).orElseThrow().getVersion());
+        verify(eventPublisher).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @Test
+    void testAdjust_InvalidatesEachPartitionWhenItCommits() {
+        Employee cached = repository.findById(saved.get(0).getId()).orElseThrow();
+        cache.put(cached, cache.epoch());
+
+        SalaryAdjustmentStatus status = adjuster(jdbcTemplate)
+                .adjust(new SalaryAdjustmentRequest(RULES, null, null), false);
+
+        assertEquals(3, status.partitions().size());
+        status.partitions().forEach(p -> verify(cache).invalidateRange(p.fromId(), p.toId()));
+        verify(cache, never()).invalidateAll();
+        assertNull(cache.get(cached.getId()));
+    }
+
+    @Test
+    void testAdjust_DryRunChangesNothing() {
+        SalaryAdjustmentStatus status = adjuster(jdbcTemplate)
+                .adjust(new SalaryAdjustmentRequest(RULES, null, null), true);
+
+        assertTrue(status.dryRun());
+        assertEquals(4, status.employees());
+        assertEquals(9000.0, status.payrollDelta(), 0.001);
+        assertEquals(List.of(50000.0, 40000.0, 60000.0, 70000.0, 30000.0), salaries());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testAdjust_OnlyIdsInRange() {
+        SalaryAdjustmentStatus status = adjuster(jdbcTemplate).adjust(new SalaryAdjustmentRequest(RULES,
+                saved.get(3).getId(), null), false);
+
+        assertEquals(2, status.employees());
+        assertEquals(List.of(50000.0, 40000.0, 60000.0, 70500.0, 33000.0), salaries());
+    }
+
+    @Test
+    void testAdjust_RetriesFailedPartition() {
+        JdbcTemplate flaky = spy(jdbcTemplate);
+        doThrow(new CannotAcquireLockException("Timeout trying to lock table"))
+                .doCallRealMethod()
+                .when(flaky).query(contains("OLD TABLE"), any(RowCallbackHandler.class), any(Object[].class));
+
+        SalaryAdjustmentStatus status = adjuster(flaky).adjust(new SalaryAdjustmentRequest(RULES, null, null), false);
+
+        assertEquals(State.COMPLETED, status.state());
+        assertEquals(4, status.employees());
+        assertEquals(1, status.partitions().stream().filter(p -> p.attempts() == 2).count());
+        assertEquals(List.of(55000.0, 40500.0, 60000.0, 70500.0, 33000.0), salaries());
+    }
+
+    @Test
+    void testAdjust_ReportsPartitionFailingEveryAttempt() {
+        JdbcTemplate failing = spy(jdbcTemplate);
+        doThrow(new CannotAcquireLockException("Timeout trying to lock table"))
+                .when(failing).query(contains("OLD TABLE"), any(RowCallbackHandler.class), any(Object[].class));
+
+        EmployeeSalaryAdjuster adjuster = adjuster(failing);
+        SalaryAdjustmentStatus status = adjuster.adjust(new SalaryAdjustmentRequest(RULES, null, null), false);
+
+        assertEquals(State.FAILED, status.state());
+        assertTrue(status.partitions().stream().allMatch(p -> p.state() == State.FAILED && p.attempts() == 2));
+        assertEquals("Timeout trying to lock table", status.partitions().get(0).error());
+        assertEquals(0, status.employees());
+        assertEquals(status, adjuster.status(status.jobId()));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testAdjust_UnexpectedErrorStillFinishesTheJob() {
+        JdbcTemplate broken = spy(jdbcTemplate);
+        doThrow(new IllegalStateException("Unexpected"))
+                .doCallRealMethod()
+                .when(broken).query(contains("OLD TABLE"), any(RowCallbackHandler.class), any(Object[].class));
+
+        EmployeeSalaryAdjuster adjuster = adjuster(broken);
+        SalaryAdjustmentStatus status = adjuster.adjust(new SalaryAdjustmentRequest(RULES, null, null), false);
+
+        // Not retried: one partition failed, the others were adjusted
+        assertEquals(State.FAILED, status.state());
+        assertEquals(1, status.partitions().stream()
+                .filter(p -> p.state() == State.FAILED && p.attempts() == 1 && "Unexpected".equals(p.error())).count());
+        assertEquals(2, status.partitions().stream().filter(p -> p.state() == State.COMPLETED).count());
+        assertNotNull(status.elapsedMillis());
+        assertEquals(State.FAILED, adjuster.status(status.jobId()).state());
+    }
+
+    @Test
+    void testAdjust_InvalidRules() {
+        EmployeeSalaryAdjuster adjuster = adjuster(jdbcTemplate);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> adjuster.adjust(new SalaryAdjustmentRequest(List.of(), null, null), false));
+        assertThrows(IllegalArgumentException.class, () -> adjuster.adjust(new SalaryAdjustmentRequest(
+                List.of(new SalaryAdjustmentRule("Active", null, null, 3.0, 100.0)), null, null), false));
+        assertThrows(IllegalArgumentException.class, () -> adjuster.adjust(new SalaryAdjustmentRequest(
+                List.of(new SalaryAdjustmentRule("Active", null, null, -100.0, null)), null, null), false));
+        assertNull(adjuster.status("unknown"));
+    }
+
+    private EmployeeSalaryAdjuster adjuster(JdbcTemplate template) {
+        // Two IDs per partition, so the five employees are adjusted in three transactions
+        return new EmployeeSalaryAdjuster(template, transactionManager, cache, eventPublisher, 2, 2, 2, Duration.ZERO, 10);
+    }
+
+    private List<Double> salaries() {
+        return jdbcTemplate.queryForList("SELECT salary FROM employees ORDER BY id", Double.class);
+    }
+
+    private Employee employee(String email, String city, String position, String status, double salary) {
+        return new Employee("John", "M", "Doe", city, "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", position,
+                LocalDate.of(2020, 1, 1), email, salary, status);
+    }
+}
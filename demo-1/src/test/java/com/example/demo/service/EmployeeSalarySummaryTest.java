@@ -0,0 +1,143 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SalaryStats;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "employee.summary.enabled=true")
+@Import(EmployeeSalarySummary.class)
+class EmployeeSalarySummaryTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeSalarySummary summary;
+
+    @BeforeEach
+    void setUp() {
+        // The summary bean outlives each test's rolled back data
+        summary.onEmployeeChanged(EmployeeChangedEvent.reset());
+    }
+
+    @Test
+    void testSalaryStats_RebuiltFromTableAfterReset() {
+        repository.saveAllAndFlush(List.of(employee(1, "Chicago", 50000.0), employee(2, "Chicago", 70000.0)));
+
+        assertEquals(List.of(new SalaryStats("Chicago", 2L, 60000.0, 50000.0, 70000.0, null, null)),
+                summary.salaryStats(EmployeeGrouping.LOCATION_CITY));
+    }
+
+    @Test
+    void testOnEmployeeCreated_AddsToGroupsWithoutRebuild() {
+        summary.salaryStats(EmployeeGrouping.LOCATION_CITY);
+
+        // Not flushed: only the summary's own increment can make it visible
+        Employee created = repository.save(employee(1, "Boston", 40000.0));
+        summary.onEmployeeCreated(EmployeeChangedEvent.created(created));
+
+        assertEquals(List.of(new SalaryStats("Boston", 1L, 40000.0, 40000.0, 40000.0, null, null)),
+                summary.salaryStats(EmployeeGrouping.LOCATION_CITY));
+    }
+
+    @Test
+    void testOnEmployeeChanged_UpdateRecomputesOldAndNewGroups() {
+        Employee employee = repository.saveAndFlush(employee(1, "Chicago", 50000.0));
+        repository.saveAndFlush(employee(2, "Chicago", 70000.0));
+        summary.salaryStats(EmployeeGrouping.LOCATION_CITY);
+
+        Employee previous = employee(1, "Chicago", 50000.0);
+        employee.setLocationCity("Boston");
+        repository.saveAndFlush(employee);
+        summary.onEmployeeChanged(EmployeeChangedEvent.updated(employee, previous));
+
+        assertEquals(List.of(
+                new SalaryStats("Boston", 1L, 50000.0, 50000.0, 50000.0, null, null),
+                new SalaryStats("Chicago", 1L, 70000.0, 70000.0, 70000.0, null, null)),
+                summary.salaryStats(EmployeeGrouping.LOCATION_CITY));
+    }
+
+    @Test
+    void testOnEmployeeChanged_SalaryPatchRecomputesEmployeesGroups() {
+        Employee employee = repository.saveAndFlush(employee(1, "Chicago", 50000.0));
+        summary.salaryStats(EmployeeGrouping.STATUS);
+
+        Employee previous = employee(1, "Chicago", 50000.0);
+        previous.setId(employee.getId());
+        employee.setSalary(55000.0);
+        repository.saveAndFlush(employee);
+        summary.onEmployeeChanged(EmployeeChangedEvent.patched(previous, Map.of("salary", 55000.0)));
+
+        assertEquals(55000.0, summary.salaryStats(EmployeeGrouping.STATUS).get(0).maxSalary());
+    }
+
+    @Test
+    void testOnEmployeeChanged_CityPatchRecomputesOnlyOldAndNewCity() {
+        Employee employee = repository.saveAndFlush(employee(1, "Chicago", 50000.0));
+        repository.saveAndFlush(employee(2, "Chicago", 70000.0));
+        summary.salaryStats(EmployeeGrouping.LOCATION_CITY);
+        // Written without an event: only a rebuild would add it to the summary
+        repository.saveAndFlush(employee(3, "Denver", 30000.0));
+
+        Employee previous = employee(1, "Chicago", 50000.0);
+        previous.setId(employee.getId());
+        employee.setLocationCity("Boston");
+        repository.saveAndFlush(employee);
+        summary.onEmployeeChanged(EmployeeChangedEvent.patched(previous, Map.of("locationCity", "Boston")));
+
+        assertEquals(List.of(
+                new SalaryStats("Boston", 1L, 50000.0, 50000.0, 50000.0, null, null),
+                new SalaryStats("Chicago", 1L, 70000.0, 70000.0, 70000.0, null, null)),
+                summary.salaryStats(EmployeeGrouping.LOCATION_CITY));
+    }
+
+    @Test
+    void testOnEmployeeChanged_DeleteRecomputesOnlyDeletedEmployeesGroups() {
+        Employee deleted = repository.saveAndFlush(employee(1, "Chicago", 50000.0));
+        repository.saveAndFlush(employee(2, "Chicago", 70000.0));
+        repository.saveAndFlush(employee(3, "Boston", 40000.0));
+        summary.salaryStats(EmployeeGrouping.LOCATION_CITY);
+        // Written without an event: only a rebuild would add it to the summary
+        repository.saveAndFlush(employee(4, "Denver", 30000.0));
+
+        repository.delete(deleted);
+        repository.flush();
+        summary.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(deleted)));
+
+        assertEquals(List.of(
+                new SalaryStats("Boston", 1L, 40000.0, 40000.0, 40000.0, null, null),
+                new SalaryStats("Chicago", 1L, 70000.0, 70000.0, 70000.0, null, null)),
+                summary.salaryStats(EmployeeGrouping.LOCATION_CITY));
+    }
+
+    @Test
+    void testOnEmployeeChanged_DeletingLastEmployeeOfGroupRemovesIt() {
+        Employee deleted = repository.saveAndFlush(employee(1, "Chicago", 50000.0));
+        repository.saveAndFlush(employee(2, "Boston", 40000.0));
+        summary.salaryStats(EmployeeGrouping.LOCATION_CITY);
+
+        repository.delete(deleted);
+        repository.flush();
+        summary.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(deleted)));
+
+        assertEquals(List.of(new SalaryStats("Boston", 1L, 40000.0, 40000.0, 40000.0, null, null)),
+                summary.salaryStats(EmployeeGrouping.LOCATION_CITY));
+    }
+
+    private static Employee employee(int n, String city, double salary) {
+        return new Employee("First" + n, null, "Last" + n, city, n + " Street", LocalDate.of(1990, 1, 1),
+                "555-000" + n, "Developer", LocalDate.of(2020, 1, 1), "employee" + n + "@example.com", salary,
+                "Active");
+    }
+}
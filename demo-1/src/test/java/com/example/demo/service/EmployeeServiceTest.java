@@ -1,18 +1,31 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.EmployeeChanges;
+import com.example.demo.dto.EmployeePage;
+import com.example.demo.dto.SalaryStats;
 import com.example.demo.model.Employee;
+import com.example.demo.model.EmployeeTombstone;
+import com.example.demo.repository.EmployeeJdbcRepository;
 import com.example.demo.repository.EmployeeRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,6 +34,24 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository repository;
 
+    @Mock
+    private EmployeeJdbcRepository jdbcRepository;
+
+    @Mock
+    private EmployeeCache cache;
+
+    @Mock
+    private EmployeeLoader loader;
+
+    @Mock
+    private EmployeeNameIndex nameIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeMetrics metrics;
+
     @InjectMocks
     private EmployeeService service;
 
@@ -37,11 +68,57 @@ class EmployeeServiceTest {
         assertEquals("John", employees.get(0).getFirstName());
     }
 
+    @Test
+    void testFindPage_ReturnsCursorWhenMoreRowsExist() {
+        Employee first = createMockEmployee();
+        first.setId(1L);
+        Employee second = createMockEmployee();
+        second.setId(2L);
+
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        EmployeePage<Employee> page = service.findPage(null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(1L, page.nextCursor());
+    }
+
+    @Test
+    void testFindPage_LastPageHasNoCursor() {
+        Employee employee = createMockEmployee();
+        employee.setId(5L);
+
+        when(repository.findByIdGreaterThanOrderByIdAsc(4L, Limit.of(11))).thenReturn(List.of(employee));
+
+        EmployeePage<Employee> page = service.findPage(4L, 10);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testFindByIndexedFields_StatusAndCityUseCompositeIndex() {
+        Employee employee = createMockEmployee();
+
+        when(repository.findByStatusAndLocationCity("Active", "Chicago", PageRequest.of(0, 10, Sort.by("id"))))
+                .thenReturn(List.of(employee));
+
+        List<Employee> employees = service.findByIndexedFields(null, "Chicago", "Active", null, 0, 10);
+
+        assertEquals(1, employees.size());
+    }
+
+    @Test
+    void testFindByIndexedFields_RejectsUnindexedCombination() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findByIndexedFields("Doe", "Chicago", null, null, 0, 10));
+    }
+
     @Test
     void testGetEmployeeById_Success() {
         Employee employee = createMockEmployee();
 
-        when(repository.findById(1L)).thenReturn(Optional.of(employee));
+        when(loader.load(1L)).thenReturn(Optional.of(employee));
 
         Employee result = service.getEmployeeById(1L);
 
@@ -49,18 +126,57 @@ class EmployeeServiceTest {
         assertEquals("John", result.getFirstName());
     }
 
+    @Test
+    void testGetEmployeeById_CacheHitSkipsLoader() {
+        Employee employee = createMockEmployee();
+
+        when(cache.get(1L)).thenReturn(employee);
+
+        assertSame(employee, service.getEmployeeById(1L));
+        verify(loader, never()).load(anyLong());
+        verify(repository, never()).findById(anyLong());
+    }
+
     @Test
     void testGetEmployeeById_NotFound() {
-        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(loader.load(1L)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> service.getEmployeeById(1L));
 
         assertEquals("Employee not found", exception.getMessage());
     }
 
+    @Test
+    void testGetEmployeesByIds_LoadsMissesWithOneQueryInRequestOrder() {
+        Employee cached = createMockEmployee();
+        cached.setId(2L);
+        Employee loaded = createMockEmployee();
+        loaded.setId(3L);
+
+        when(cache.get(anyLong())).thenAnswer(invocation -> invocation.getArgument(0).equals(2L) ? cached : null);
+        when(cache.epoch()).thenReturn(7L);
+        when(jdbcRepository.findAllById(List.of(3L, 1L))).thenReturn(List.of(loaded));
+
+        List<Employee> employees = service.getEmployeesByIds(List.of(3L, 2L, 1L, 3L));
+
+        assertEquals(List.of(loaded, cached), employees);
+        verify(cache, times(1)).put(loaded, 7L);
+        verify(loader, never()).load(anyLong());
+    }
+
+    @Test
+    void testGetEmployeesByIds_RejectsTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, EmployeeService.MAX_PAGE_SIZE + 1)
+                .boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> service.getEmployeesByIds(ids));
+        verifyNoInteractions(jdbcRepository);
+    }
+
     @Test
     void testSaveEmployee() {
         Employee employee = createMockEmployee();
+        employee.setVersion(0L);
 
         when(repository.save(employee)).thenReturn(employee);
 
@@ -70,6 +186,16 @@ class EmployeeServiceTest {
         assertEquals("John", savedEmployee.getFirstName());
     }
 
+    @Test
+    void testSaveEmployee_IdWithoutVersionIsRejected() {
+        Employee employee = createMockEmployee();
+
+        // Without a version, the employee would be inserted again rather than update row 1
+        assertThrows(IllegalArgumentException.class, () -> service.save(employee));
+        assertThrows(IllegalArgumentException.class, () -> service.saveAll(List.of(employee)));
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void testUpdateEmployee_Success() {
         Employee existingEmployee = createMockEmployee();
@@ -83,6 +209,7 @@ class EmployeeServiceTest {
 
         assertNotNull(result);
         assertEquals("Updated Name", result.getFirstName());
+        verify(cache, times(1)).invalidate(1L);
     }
 
     @Test
@@ -96,18 +223,236 @@ class EmployeeServiceTest {
         assertEquals("Employee not found", exception.getMessage());
     }
 
+    @Test
+    void testUpdateEmployee_CopiesAllFields() {
+        Employee existingEmployee = createMockEmployee();
+        Employee updatedEmployee = createMockEmployee();
+        updatedEmployee.setPositionTitle("Manager");
+        updatedEmployee.setSalary(80000.0);
+        updatedEmployee.setStatus("Inactive");
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existingEmployee));
+        when(repository.save(existingEmployee)).thenReturn(existingEmployee);
+
+        Employee result = service.updateEmployee(1L, updatedEmployee);
+
+        assertEquals("Manager", result.getPositionTitle());
+        assertEquals(80000.0, result.getSalary());
+        assertEquals("Inactive", result.getStatus());
+    }
+
+    @Test
+    void testPatchEmployee_UpdatesOnlyChangedColumns() {
+        Employee previous = createMockEmployee();
+        when(jdbcRepository.updateColumns(1L, Map.of("telephone", "555"), 3L)).thenReturn(Optional.of(previous));
+
+        assertEquals(PatchOutcome.UPDATED, service.patchEmployee(1L, Map.of("telephone", "555"), 3L));
+        verify(repository, never()).findById(anyLong());
+        verify(jdbcRepository, never()).existsById(anyLong());
+        verify(cache, times(1)).invalidate(1L);
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.patched(previous, Map.of("telephone", "555")));
+    }
+
+    @Test
+    void testPatchEmployee_StaleVersionIsConflict() {
+        when(jdbcRepository.updateColumns(eq(1L), anyMap(), eq(3L))).thenReturn(Optional.empty());
+        when(jdbcRepository.existsById(1L)).thenReturn(true);
+
+        assertEquals(PatchOutcome.CONFLICT, service.patchEmployee(1L, Map.of("salary", 1), 3L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testCreateEmployee_PublishesCreatedEvent() {
+        Employee employee = createMockEmployee();
+        when(repository.save(employee)).thenReturn(employee);
+
+        service.createEmployee(employee);
+
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.created(employee));
+    }
+
+    @Test
+    void testGetSalaryStats_DispatchesOnGroupingField() {
+        List<SalaryStats> stats = List.of(new SalaryStats("Active", 2L, 1.0, 1.0, 1.0, 1.0, 1.0));
+        when(repository.salaryStatsByStatus()).thenReturn(stats);
+
+        assertSame(stats, service.getSalaryStats("status"));
+        assertThrows(IllegalArgumentException.class, () -> service.getSalaryStats("salary"));
+    }
+
+    @Test
+    void testGetSummarizedSalaryStats_EmptyWhenSummaryDisabled() {
+        assertTrue(service.getSummarizedSalaryStats("locationCity").isEmpty());
+    }
+
+    @Test
+    void testFindPageWithFields_CursorFromLastRow() {
+        List<String> fields = List.of("email");
+        when(repository.findFieldsByIdGreaterThan(0L, 2, fields)).thenReturn(List.of(
+                Map.of("id", 4L, "email", "a@example.com"), Map.of("id", 9L, "email", "b@example.com")));
+
+        EmployeePage<Map<String, Object>> page = service.findPage(null, 1, fields);
+
+        assertEquals(1, page.items().size());
+        assertEquals(4L, page.nextCursor());
+        assertThrows(IllegalArgumentException.class, () -> service.findPage(null, 1, List.of("password")));
+    }
+
+    @Test
+    void testSearchByName_CapsLimit() {
+        when(nameIndex.search("jo", EmployeeService.MAX_PAGE_SIZE)).thenReturn(List.of());
+
+        assertTrue(service.searchByName("jo", 1_000_000).isEmpty());
+    }
+
+    @Test
+    void testPatchEmployee_MissingRowIsNotFound() {
+        when(jdbcRepository.updateColumns(eq(1L), anyMap(), isNull())).thenReturn(Optional.empty());
+        when(jdbcRepository.existsById(1L)).thenReturn(false);
+
+        assertEquals(PatchOutcome.NOT_FOUND, service.patchEmployee(1L, Map.of("status", "Inactive"), null));
+    }
+
+    @Test
+    void testPatchEmployee_RejectsUnknownField() {
+        assertThrows(IllegalArgumentException.class, () -> service.patchEmployee(1L, Map.of("id", 5), null));
+
+        verifyNoInteractions(jdbcRepository);
+    }
+
     @Test
     void testDeleteEmployee() {
-        doNothing().when(repository).deleteById(1L);
+        Employee employee = createMockEmployee();
+        when(jdbcRepository.deleteById(1L)).thenReturn(Optional.of(employee));
 
         service.deleteById(1L);
 
-        verify(repository, times(1)).deleteById(1L);
+        verify(jdbcRepository, times(1)).insertTombstones(List.of(1L));
+        verify(cache, times(1)).invalidate(1L);
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.deleted(List.of(employee)));
+    }
+
+    @Test
+    void testDeleteById_MissingEmployeeLeavesNoTombstone() {
+        when(jdbcRepository.deleteById(1L)).thenReturn(Optional.empty());
+
+        service.deleteById(1L);
+
+        verify(jdbcRepository, never()).insertTombstones(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testDeleteAllByIdInBatch_DelegatesToSetBasedDelete() {
+        when(jdbcRepository.deleteAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(createMockEmployee()));
+
+        service.deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+
+        verify(jdbcRepository, times(1)).deleteAllById(List.of(1L, 2L, 3L));
+        verify(repository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    void testDeleteEmployees_TombstonesOnlyTheDeletedIds() {
+        // 2 is repeated and 9 does not exist
+        List<Long> ids = List.of(1L, 2L, 2L, 9L);
+        Employee first = createMockEmployee();
+        Employee second = createMockEmployee();
+        second.setId(2L);
+        when(jdbcRepository.deleteAllById(ids)).thenReturn(List.of(first, second));
+
+        assertEquals(2, service.deleteEmployees(ids));
+
+        verify(jdbcRepository, times(1)).insertTombstones(List.of(1L, 2L));
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.deleted(List.of(first, second)));
+    }
+
+    @Test
+    void testDeleteEmployees_NothingDeletedLeavesNoTombstone() {
+        when(jdbcRepository.deleteAllById(List.of(9L))).thenReturn(List.of());
+
+        assertEquals(0, service.deleteEmployees(List.of(9L)));
+
+        verify(jdbcRepository, never()).insertTombstones(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testFindAllById_UsesJdbcLookup() {
+        Employee employee = createMockEmployee();
+
+        when(jdbcRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+
+        List<Employee> employees = service.findAllById(List.of(1L));
+
+        assertEquals(1, employees.size());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void testDeleteEmployee_SingleStatement() {
+        when(jdbcRepository.deleteById(1L)).thenReturn(Optional.of(createMockEmployee()));
+
+        assertTrue(service.deleteEmployee(1L));
+        verify(repository, never()).deleteById(anyLong());
+        verify(cache, times(1)).invalidate(1L);
+    }
+
+    @Test
+    void testDeleteEmployee_RecordsTombstone() {
+        when(jdbcRepository.deleteById(1L)).thenReturn(Optional.of(createMockEmployee()));
+
+        service.deleteEmployee(1L);
+
+        verify(jdbcRepository, times(1)).insertTombstones(List.of(1L));
+    }
+
+    @Test
+    void testGetChangesSince_MergesUpdatesAndDeletesInOrder() {
+        Instant t0 = Instant.parse("2024-01-01T00:00:00Z");
+        Employee first = createMockEmployee();
+        first.setLastModified(t0.plusSeconds(1));
+        Employee third = createMockEmployee();
+        third.setId(3L);
+        third.setLastModified(t0.plusSeconds(3));
+        EmployeeTombstone second = new EmployeeTombstone(2L, t0.plusSeconds(2));
+
+        when(jdbcRepository.findModifiedSince(eq(t0), eq(0L), any(), eq(3))).thenReturn(List.of(first, third));
+        when(jdbcRepository.findTombstonesSince(eq(t0), eq(0L), any(), eq(3))).thenReturn(List.of(second));
+
+        EmployeeChanges changes = service.getChangesSince(t0.toString(), 2);
+
+        assertEquals(List.of(first), changes.modified());
+        assertEquals(List.of(second), changes.deleted());
+        assertEquals("2024-01-01T00:00:02Z~2", changes.watermark());
+        assertTrue(changes.hasMore());
+    }
+
+    @Test
+    void testGetChangesSince_ResumesFromWatermark() {
+        Instant t0 = Instant.parse("2024-01-01T00:00:02Z");
+
+        EmployeeChanges changes = service.getChangesSince("2024-01-01T00:00:02Z~2", 10);
+
+        verify(jdbcRepository, times(1)).findModifiedSince(eq(t0), eq(2L), any(), eq(11));
+        assertEquals("2024-01-01T00:00:02Z~2", changes.watermark());
+        assertFalse(changes.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> service.getChangesSince("yesterday", 10));
+    }
+
+    @Test
+    void testDeleteEmployee_NotFound() {
+        when(jdbcRepository.deleteById(1L)).thenReturn(Optional.empty());
+
+        assertFalse(service.deleteEmployee(1L));
     }
 
     private Employee createMockEmployee() {
-        return new Employee("John", "M", "Doe", "New York", "123 Street",
+        Employee employee = new Employee("John", "M", "Doe", "New York", "123 Street",
                 LocalDate.of(1990, 1, 1), "1234567890", "Developer",
                 LocalDate.of(2020, 1, 1), "john.doe@example.com", 60000.0, "Active");
+        employee.setId(1L);
+        return employee;
     }
 }
@@ -0,0 +1,182 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SnapshotReport;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.EmployeeIdBlocks;
+import com.example.demo.repository.EmployeeJdbcRepository;
+import com.example.demo.repository.EmployeeReactiveRepository;
+import com.example.demo.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Not transactional: a restore commits its own transaction
+@DataJpaTest
+@Import(EmployeeJdbcRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSnapshotServiceTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeJdbcRepository jdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final EmployeeReactiveRepository reactiveRepository = mock(EmployeeReactiveRepository.class);
+
+    @TempDir
+    private Path directory;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private EmployeeSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new EmployeeSnapshotService(jdbcRepository, jdbcTemplate, transactionManager,
+                Jackson2ObjectMapperBuilder.json().build(), new EmployeeCache(100, Duration.ofMinutes(1)),
+                eventPublisher, new EmployeeIdBlocks(jdbcTemplate, entityManagerFactory, reactiveRepository, 50),
+                directory.toString(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employees");
+        jdbcTemplate.update("DELETE FROM employee_tombstones");
+    }
+
+    @Test
+    void testRestore_ReplacesTableWithSnapshot() throws Exception {
+        List<Employee> saved = repository.saveAllAndFlush(List.of(
+                employee("a@example.com"), employee("b@example.com"), employee("c@example.com")));
+        SnapshotReport snapshot = snapshotService.snapshot();
+        assertEquals(3, snapshot.rows());
+        assertEquals(List.of(snapshot.file()), snapshotService.listSnapshots());
+
+        jdbcTemplate.update("UPDATE employees SET salary = 1, version = version + 1 WHERE id = ?", saved.get(0).getId());
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", saved.get(1).getId());
+        Employee added = repository.saveAndFlush(employee("d@example.com"));
+
+        SnapshotReport restore = snapshotService.restore(snapshot.file());
+
+        assertEquals(3, restore.rows());
+        assertEquals(1, restore.rowsDeleted());
+        Employee first = repository.findById(saved.get(0).getId()).orElseThrow();
+        assertEquals(60000.0, first.getSalary());
+        // Newer than any version handed out before the restore
+        assertEquals(2L, first.getVersion());
+        assertTrue(repository.existsById(saved.get(1).getId()));
+        assertFalse(repository.existsById(added.getId()));
+        assertEquals(List.of(added.getId()),
+                jdbcTemplate.queryForList("SELECT employee_id FROM employee_tombstones", Long.class));
+        verify(eventPublisher).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @Test
+    void testRestore_EmailTakenByAnotherId() throws Exception {
+        Employee original = repository.saveAndFlush(employee("a@example.com"));
+        SnapshotReport snapshot = snapshotService.snapshot();
+        repository.deleteById(original.getId());
+        Employee recreated = repository.saveAndFlush(employee("a@example.com"));
+
+        snapshotService.restore(snapshot.file());
+
+        assertEquals("a@example.com", repository.findById(original.getId()).orElseThrow().getEmail());
+        assertFalse(repository.existsById(recreated.getId()));
+        assertEquals(List.of(recreated.getId()),
+                jdbcTemplate.queryForList("SELECT employee_id FROM employee_tombstones", Long.class));
+    }
+
+    @Test
+    void testRestore_NewEmployeesDoNotReuseRestoredIds() throws Exception {
+        // JPA now holds the rest of this employee's block of IDs
+        long held = repository.saveAndFlush(employee("a@example.com")).getId();
+        long beyond = held + 1000;
+        // A snapshot of another database, with IDs the sequence has not handed out here
+        String file = "employees-20250101-000000-000.ndjson.gz";
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve(file)))) {
+            out.write((snapshotLine(held + 1, "b@example.com") + snapshotLine(beyond, "c@example.com"))
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        snapshotService.restore(file);
+        Employee created = repository.saveAndFlush(employee("d@example.com"));
+
+        assertTrue(created.getId() > beyond);
+        assertEquals(3, repository.count());
+        verify(reactiveRepository).discardIdBlock();
+    }
+
+    @Test
+    void testRestore_InvalidSnapshotChangesNothing() throws Exception {
+        Employee existing = repository.saveAndFlush(employee("a@example.com"));
+        String file = "employees-20250101-000000-000.ndjson.gz";
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve(file)))) {
+            out.write(("{\"id\":100,\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"locationCity\":\"Boston\","
+                    + "\"address\":\"1 Street\",\"dateOfBirth\":\"1990-01-01\",\"telephone\":\"555\","
+                    + "\"positionTitle\":\"Developer\",\"hireDate\":\"2020-01-01\",\"email\":\"jane@example.com\","
+                    + "\"salary\":50000,\"status\":\"Active\",\"version\":0}\n"
+                    + "{\"id\":101,\"firstName\":\"No\",\"lastName\":\"Email\",\"version\":0}\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> snapshotService.restore(file));
+
+        assertEquals(List.of(existing.getId()),
+                jdbcTemplate.queryForList("SELECT id FROM employees", Long.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testRestore_OnlySnapshotFilesInDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> snapshotService.restore("../employees.ndjson.gz"));
+        assertThrows(NoSuchFileException.class,
+                () -> snapshotService.restore("employees-20250101-000000-000.ndjson.gz"));
+    }
+
+    private static String snapshotLine(long id, String email) {
+        return "{\"id\":" + id + ",\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"locationCity\":\"Boston\","
+                + "\"address\":\"1 Street\",\"dateOfBirth\":\"1990-01-01\",\"telephone\":\"555\","
+                + "\"positionTitle\":\"Developer\",\"hireDate\":\"2020-01-01\",\"email\":\"" + email + "\","
+                + "\"salary\":50000,\"status\":\"Active\",\"version\":0}\n";
+    }
+
+    private Employee employee(String email) {
+        return new Employee("John", "M", "Doe", "New York", "123 Street",
+                LocalDate.of(1990, 1, 1), "1234567890", "Developer",
+                LocalDate.of(2020, 1, 1), email, 60000.0, "Active");
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EmployeeWriteStatus;
+import com.example.demo.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWriteBehindTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private EmployeeWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeBehind.stop();
+    }
+
+    @Test
+    void testSubmit_FlushesQueuedEmployeesInOneBatch() throws Exception {
+        writeBehind = writeBehind(true, Duration.ofMillis(200));
+        when(employeeService.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Employee> batch = invocation.getArgument(0);
+            long id = 1;
+            for (Employee employee : batch) {
+                employee.setId(id++);
+            }
+            return batch;
+        });
+        writeBehind.start();
+
+        EmployeeWriteBehind.Submission first = writeBehind.submit(employee("a@example.com"));
+        EmployeeWriteBehind.Submission second = writeBehind.submit(employee("b@example.com"));
+
+        assertEquals(2L, second.committed().get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1L, first.committed().get(5, TimeUnit.SECONDS).getId());
+        verify(employeeService, times(1)).saveAllAndFlush(anyList());
+        assertEquals(new EmployeeWriteStatus(first.trackingId(), EmployeeWriteStatus.State.COMMITTED, 1L, null),
+                writeBehind.status(first.trackingId()));
+        assertEquals(2.0, registry.get("employee.write.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void testFlush_FailedBatchIsRetriedRowByRow() {
+        writeBehind = writeBehind(false, Duration.ZERO);
+        Employee good = employee("a@example.com");
+        Employee duplicate = employee("b@example.com");
+        when(employeeService.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+        when(employeeService.save(any())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == duplicate) {
+                throw new DataIntegrityViolationException("duplicate email");
+            }
+            return invocation.getArgument(0);
+        });
+        EmployeeWriteBehind.QueuedWrite goodWrite = write("t1", good);
+        EmployeeWriteBehind.QueuedWrite duplicateWrite = write("t2", duplicate);
+
+        writeBehind.flush(List.of(goodWrite, duplicateWrite));
+
+        verify(employeeService, times(1)).save(good);
+        assertTrue(goodWrite.committed().isDone() && !goodWrite.committed().isCompletedExceptionally());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> duplicateWrite.committed().get());
+        assertEquals("duplicate email", e.getCause().getMessage());
+        assertEquals(EmployeeWriteStatus.State.FAILED, writeBehind.status("t2").state());
+    }
+
+    @Test
+    void testSubmit_RejectsInvalidEmployeeAndStoppedQueue() {
+        writeBehind = writeBehind(false, Duration.ZERO);
+
+        assertThrows(IllegalArgumentException.class, () -> writeBehind.submit(new Employee()));
+        assertThrows(RejectedExecutionException.class, () -> writeBehind.submit(employee("a@example.com")));
+        verifyNoInteractions(employeeService);
+    }
+
+    private EmployeeWriteBehind writeBehind(boolean enabled, Duration maxDelay) {
+        return new EmployeeWriteBehind(employeeService, registry, enabled, 100, 10, maxDelay,
+                Duration.ofSeconds(5), Duration.ofSeconds(5), 1000);
+    }
+
+    private static EmployeeWriteBehind.QueuedWrite write(String trackingId, Employee employee) {
+        return new EmployeeWriteBehind.QueuedWrite(trackingId, employee, new CompletableFuture<>(), System.nanoTime());
+    }
+
+    private static Employee employee(String email) {
+        return new Employee("John", "M", "Doe", "New York", "123 Street", LocalDate.of(1990, 1, 1),
+                "1234567890", "Developer", LocalDate.of(2020, 1, 1), email, 60000.0, "Active");
+    }
+}